@@ -19,28 +19,36 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
+import java.util.Map;
+
 /**
  * This is the status of the ApicurioStudio API.
  * @author laurent.broudoux@gmail.com
  */
-@JsonPropertyOrder({"state", "error", "message", "studioUrl", "apiUrl", "wsUrl", "keycloakUrl",
-        "apiModule", "wsModule", "uiModule", "keycloakModule", "databaseModule"})
+@JsonPropertyOrder({"state", "phase", "observedGeneration", "error", "message", "studioUrl", "apiUrl", "wsUrl", "keycloakUrl", "timeToReadySeconds",
+        "appliedHashes", "appliedGenerations", "apiModule", "wsModule", "uiModule", "keycloakModule", "databaseModule", "databaseReplicaModule"})
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class ApicurioStudioStatus {
 
     private State state = State.UNKNOWN;
+    private Phase phase;
+    private Long observedGeneration;
     private boolean error;
     private String message;
     private String studioUrl;
     private String apiUrl;
     private String wsUrl;
     private String keycloakUrl;
+    private Long timeToReadySeconds;
+    private Map<String, String> appliedHashes;
+    private Map<String, Long> appliedGenerations;
 
     private ModuleStatus apiModule = new ModuleStatus(State.UNKNOWN);
     private ModuleStatus wsModule = new ModuleStatus(State.UNKNOWN);
     private ModuleStatus uiModule = new ModuleStatus(State.UNKNOWN);
     private ModuleStatus keycloakModule = new ModuleStatus(State.UNKNOWN);
     private ModuleStatus databaseModule = new ModuleStatus(State.UNKNOWN);
+    private ModuleStatus databaseReplicaModule;
 
     public enum State {
         PREEXISTING,
@@ -50,9 +58,32 @@ public class ApicurioStudioStatus {
         UNKNOWN
     }
 
+    /** Provisioning phases, each one being done by a distinct reconciliation. */
+    public enum Phase {
+        INGRESS,
+        AUTH,
+        DATABASE,
+        MODULES,
+        VERIFY,
+        DONE;
+
+        /** @return The phase following this one, DONE being the last one. */
+        public Phase next() {
+            return this == DONE ? DONE : values()[ordinal() + 1];
+        }
+    }
+
     public ApicurioStudioStatus() {
     }
 
+    public Phase getPhase() {
+        return phase;
+    }
+
+    public void setPhase(Phase phase) {
+        this.phase = phase;
+    }
+
     public String getStudioUrl() {
         return studioUrl;
     }
@@ -69,6 +100,38 @@ public class ApicurioStudioStatus {
         this.keycloakUrl = keycloakUrl;
     }
 
+    public Long getObservedGeneration() {
+        return observedGeneration;
+    }
+
+    public void setObservedGeneration(Long observedGeneration) {
+        this.observedGeneration = observedGeneration;
+    }
+
+    public Long getTimeToReadySeconds() {
+        return timeToReadySeconds;
+    }
+
+    public void setTimeToReadySeconds(Long timeToReadySeconds) {
+        this.timeToReadySeconds = timeToReadySeconds;
+    }
+
+    public Map<String, String> getAppliedHashes() {
+        return appliedHashes;
+    }
+
+    public void setAppliedHashes(Map<String, String> appliedHashes) {
+        this.appliedHashes = appliedHashes;
+    }
+
+    public Map<String, Long> getAppliedGenerations() {
+        return appliedGenerations;
+    }
+
+    public void setAppliedGenerations(Map<String, Long> appliedGenerations) {
+        this.appliedGenerations = appliedGenerations;
+    }
+
     public String getApiUrl() {
         return apiUrl;
     }
@@ -149,6 +212,14 @@ public class ApicurioStudioStatus {
         this.databaseModule = databaseModule;
     }
 
+    public ModuleStatus getDatabaseReplicaModule() {
+        return databaseReplicaModule;
+    }
+
+    public void setDatabaseReplicaModule(ModuleStatus databaseReplicaModule) {
+        this.databaseReplicaModule = databaseReplicaModule;
+    }
+
     @JsonIgnore
     public boolean isDeploying() {
         return getState().equals(ApicurioStudioStatus.State.DEPLOYING);
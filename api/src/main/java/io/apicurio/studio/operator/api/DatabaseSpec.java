@@ -16,8 +16,12 @@
 package io.apicurio.studio.operator.api;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceRequirements;
 import io.sundr.builder.annotations.Buildable;
 
+import java.util.Map;
+
 /**
  * This is the specification of the Database module of Apicurio Studio.
  * @author laurent.broudoux@gmail.com
@@ -35,11 +39,27 @@ public class DatabaseSpec {
     private String database = "apicuriodb";
     private String url;
     private String volumeSize = "1Gi";
+    private String storageClassName;
+    private String walVolumeSize;
+    private String walStorageClassName;
     private String user;
     private String password;
     private String rootPassword;
+    private PoolerSpec pooler = new PoolerSpec();
+    private ReadReplicasSpec readReplicas = new ReadReplicasSpec();
+    private ResourceRequirements resources;
 
     public DatabaseSpec() {
+        resources = new ResourceRequirements(
+              Map.of(
+                    "cpu", new Quantity("1"),
+                    "memory", new Quantity("512Mi")
+              ), // Default limits.
+              Map.of(
+                    "cpu", new Quantity("100m"),
+                    "memory", new Quantity("256Mi")
+              ) // Default requests.
+        );
     }
 
     public boolean isInstall() {
@@ -113,4 +133,52 @@ public class DatabaseSpec {
     public void setRootPassword(String rootPassword) {
         this.rootPassword = rootPassword;
     }
+
+    public PoolerSpec getPooler() {
+        return pooler;
+    }
+
+    public void setPooler(PoolerSpec pooler) {
+        this.pooler = pooler;
+    }
+
+    public ResourceRequirements getResources() {
+        return resources;
+    }
+
+    public void setResources(ResourceRequirements resources) {
+        this.resources = resources;
+    }
+
+    public ReadReplicasSpec getReadReplicas() {
+        return readReplicas;
+    }
+
+    public void setReadReplicas(ReadReplicasSpec readReplicas) {
+        this.readReplicas = readReplicas;
+    }
+
+    public String getStorageClassName() {
+        return storageClassName;
+    }
+
+    public void setStorageClassName(String storageClassName) {
+        this.storageClassName = storageClassName;
+    }
+
+    public String getWalVolumeSize() {
+        return walVolumeSize;
+    }
+
+    public void setWalVolumeSize(String walVolumeSize) {
+        this.walVolumeSize = walVolumeSize;
+    }
+
+    public String getWalStorageClassName() {
+        return walStorageClassName;
+    }
+
+    public void setWalStorageClassName(String walStorageClassName) {
+        this.walStorageClassName = walStorageClassName;
+    }
 }
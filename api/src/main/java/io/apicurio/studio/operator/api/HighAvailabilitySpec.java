@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.sundr.builder.annotations.Buildable;
+
+/**
+ * This is the specification of the highly available mode of Keycloak module. When enabled, Keycloak data are
+ * stored into a dedicated schema of the managed Database and replicas form a cluster.
+ * @author laurent.broudoux@gmail.com
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Buildable(
+      editableEnabled = false,
+      builderPackage = "io.fabric8.kubernetes.api.builder"
+)
+public class HighAvailabilitySpec {
+
+    private boolean enabled = false;
+    private int replicas = 2;
+    private String schema = "keycloak";
+    private int cacheOwners = 2;
+
+    public HighAvailabilitySpec() {
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getReplicas() {
+        return replicas;
+    }
+
+    public void setReplicas(int replicas) {
+        this.replicas = replicas;
+    }
+
+    public String getSchema() {
+        return schema;
+    }
+
+    public void setSchema(String schema) {
+        this.schema = schema;
+    }
+
+    public int getCacheOwners() {
+        return cacheOwners;
+    }
+
+    public void setCacheOwners(int cacheOwners) {
+        this.cacheOwners = cacheOwners;
+    }
+}
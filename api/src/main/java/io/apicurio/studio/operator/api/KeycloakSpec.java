@@ -33,9 +33,12 @@ public class KeycloakSpec {
     private String realm = "apicurio";
     private String url;
     private String volumeSize = "500Mi";
+    private String storageClassName;
     private String user;
     private String password;
     private IngressSpec ingress;
+    private HighAvailabilitySpec highAvailability = new HighAvailabilitySpec();
+    private ProbeSpec probes;
 
     public KeycloakSpec() {
     }
@@ -95,4 +98,28 @@ public class KeycloakSpec {
     public void setIngress(IngressSpec ingress) {
         this.ingress = ingress;
     }
+
+    public String getStorageClassName() {
+        return storageClassName;
+    }
+
+    public void setStorageClassName(String storageClassName) {
+        this.storageClassName = storageClassName;
+    }
+
+    public HighAvailabilitySpec getHighAvailability() {
+        return highAvailability;
+    }
+
+    public void setHighAvailability(HighAvailabilitySpec highAvailability) {
+        this.highAvailability = highAvailability;
+    }
+
+    public ProbeSpec getProbes() {
+        return probes;
+    }
+
+    public void setProbes(ProbeSpec probes) {
+        this.probes = probes;
+    }
 }
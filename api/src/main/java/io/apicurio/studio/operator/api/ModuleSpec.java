@@ -33,6 +33,8 @@ public class ModuleSpec {
    private String image;
    private IngressSpec ingress;
    private ResourceRequirements resources;
+   private ProbeSpec probes;
+   private RolloutSpec rollout = new RolloutSpec();
 
    /** Default empty constructor for deserializer. */
    public ModuleSpec() {
@@ -69,4 +71,20 @@ public class ModuleSpec {
    public void setResources(ResourceRequirements resources) {
       this.resources = resources;
    }
+
+   public ProbeSpec getProbes() {
+      return probes;
+   }
+
+   public void setProbes(ProbeSpec probes) {
+      this.probes = probes;
+   }
+
+   public RolloutSpec getRollout() {
+      return rollout;
+   }
+
+   public void setRollout(RolloutSpec rollout) {
+      this.rollout = rollout;
+   }
 }
@@ -15,8 +15,10 @@
  */
 package io.apicurio.studio.operator.api;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
@@ -32,6 +34,14 @@ public class ModuleStatus {
     private boolean error;
     private String message;
     private String lastTransitionTime;
+    private Long replicationLagSeconds;
+    private Long timeToReadySeconds;
+    private Long latencyMillis;
+    private Double errorRate;
+    private Integer rolloutProgress;
+    private Integer restarts;
+    private String lastTerminationReason;
+    private Boolean crashLooping;
 
     public ModuleStatus() {
     }
@@ -81,6 +91,87 @@ public class ModuleStatus {
         this.lastTransitionTime = lastTransitionTime;
     }
 
+    public Long getReplicationLagSeconds() {
+        return replicationLagSeconds;
+    }
+
+    public void setReplicationLagSeconds(Long replicationLagSeconds) {
+        this.replicationLagSeconds = replicationLagSeconds;
+    }
+
+    public Long getTimeToReadySeconds() {
+        return timeToReadySeconds;
+    }
+
+    public void setTimeToReadySeconds(Long timeToReadySeconds) {
+        this.timeToReadySeconds = timeToReadySeconds;
+    }
+
+    public Long getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    public void setLatencyMillis(Long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    public Double getErrorRate() {
+        return errorRate;
+    }
+
+    public void setErrorRate(Double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    public Integer getRolloutProgress() {
+        return rolloutProgress;
+    }
+
+    public void setRolloutProgress(Integer rolloutProgress) {
+        this.rolloutProgress = rolloutProgress;
+    }
+
+    public Integer getRestarts() {
+        return restarts;
+    }
+
+    public void setRestarts(Integer restarts) {
+        this.restarts = restarts;
+    }
+
+    public String getLastTerminationReason() {
+        return lastTerminationReason;
+    }
+
+    public void setLastTerminationReason(String lastTerminationReason) {
+        this.lastTerminationReason = lastTerminationReason;
+    }
+
+    public Boolean getCrashLooping() {
+        return crashLooping;
+    }
+
+    public void setCrashLooping(Boolean crashLooping) {
+        this.crashLooping = crashLooping;
+    }
+
+    /**
+     * Compute the number of seconds elapsed since last transition, typically from DEPLOYING to now.
+     * @return The elapsed seconds or null if last transition time is unknown
+     */
+    @JsonIgnore
+    public Long getSecondsSinceLastTransition() {
+        if (lastTransitionTime == null) {
+            return null;
+        }
+        try {
+            LocalDateTime since = LocalDateTime.parse(lastTransitionTime, DateTimeFormatter.ISO_DATE_TIME);
+            return Math.max(0, Duration.between(since, LocalDateTime.now()).getSeconds());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
     @JsonIgnore
     public void updateLastTransitionTime() {
         this.lastTransitionTime = LocalDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME);
@@ -107,7 +198,15 @@ public class ModuleStatus {
         return "ModuleStatus{state=" + state + ","
               + "error=" + error + ","
               + "message=" + message + ","
-              + "lastTransitionTime=" + lastTransitionTime + "}";
+              + "lastTransitionTime=" + lastTransitionTime + ","
+              + "replicationLagSeconds=" + replicationLagSeconds + ","
+              + "timeToReadySeconds=" + timeToReadySeconds + ","
+              + "latencyMillis=" + latencyMillis + ","
+              + "errorRate=" + errorRate + ","
+              + "rolloutProgress=" + rolloutProgress + ","
+              + "restarts=" + restarts + ","
+              + "lastTerminationReason=" + lastTerminationReason + ","
+              + "crashLooping=" + crashLooping + "}";
 
     }
 }
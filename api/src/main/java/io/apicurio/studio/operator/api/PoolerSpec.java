@@ -0,0 +1,80 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.sundr.builder.annotations.Buildable;
+
+/**
+ * This is the specification of the connection pooler placed in front of the managed Database.
+ * @author laurent.broudoux@gmail.com
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Buildable(
+      editableEnabled = false,
+      builderPackage = "io.fabric8.kubernetes.api.builder"
+)
+public class PoolerSpec {
+
+    private boolean enabled = false;
+    private String image = "edoburu/pgbouncer:1.15.0";
+    private String poolMode = "transaction";
+    private int replicas = 1;
+    private Integer maxClientConnections;
+
+    public PoolerSpec() {
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getImage() {
+        return image;
+    }
+
+    public void setImage(String image) {
+        this.image = image;
+    }
+
+    public String getPoolMode() {
+        return poolMode;
+    }
+
+    public void setPoolMode(String poolMode) {
+        this.poolMode = poolMode;
+    }
+
+    public int getReplicas() {
+        return replicas;
+    }
+
+    public void setReplicas(int replicas) {
+        this.replicas = replicas;
+    }
+
+    public Integer getMaxClientConnections() {
+        return maxClientConnections;
+    }
+
+    public void setMaxClientConnections(Integer maxClientConnections) {
+        this.maxClientConnections = maxClientConnections;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.sundr.builder.annotations.Buildable;
+
+/**
+ * This is the specification of health probes timings of a module. A startup probe with a generous failure
+ * budget protects slow starting containers so that readiness and liveness probes can be tight. Unset values
+ * fall back to module defaults when probes are built.
+ * @author laurent.broudoux@gmail.com
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Buildable(
+      editableEnabled = false,
+      builderPackage = "io.fabric8.kubernetes.api.builder"
+)
+public class ProbeSpec {
+
+   private Integer startupPeriodSeconds;
+   private Integer startupFailureThreshold;
+   private Integer readinessPeriodSeconds;
+   private Integer livenessPeriodSeconds;
+   private Integer timeoutSeconds;
+   private Integer failureThreshold;
+
+   /** Default empty constructor for deserializer. */
+   public ProbeSpec() {
+   }
+
+   public Integer getStartupPeriodSeconds() {
+      return startupPeriodSeconds;
+   }
+
+   public void setStartupPeriodSeconds(Integer startupPeriodSeconds) {
+      this.startupPeriodSeconds = startupPeriodSeconds;
+   }
+
+   public Integer getStartupFailureThreshold() {
+      return startupFailureThreshold;
+   }
+
+   public void setStartupFailureThreshold(Integer startupFailureThreshold) {
+      this.startupFailureThreshold = startupFailureThreshold;
+   }
+
+   public Integer getReadinessPeriodSeconds() {
+      return readinessPeriodSeconds;
+   }
+
+   public void setReadinessPeriodSeconds(Integer readinessPeriodSeconds) {
+      this.readinessPeriodSeconds = readinessPeriodSeconds;
+   }
+
+   public Integer getLivenessPeriodSeconds() {
+      return livenessPeriodSeconds;
+   }
+
+   public void setLivenessPeriodSeconds(Integer livenessPeriodSeconds) {
+      this.livenessPeriodSeconds = livenessPeriodSeconds;
+   }
+
+   public Integer getTimeoutSeconds() {
+      return timeoutSeconds;
+   }
+
+   public void setTimeoutSeconds(Integer timeoutSeconds) {
+      this.timeoutSeconds = timeoutSeconds;
+   }
+
+   public Integer getFailureThreshold() {
+      return failureThreshold;
+   }
+
+   public void setFailureThreshold(Integer failureThreshold) {
+      this.failureThreshold = failureThreshold;
+   }
+}
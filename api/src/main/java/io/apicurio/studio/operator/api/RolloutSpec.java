@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.sundr.builder.annotations.Buildable;
+
+/**
+ * This is the specification of the rollout of a module Deployment: how many pods may be added or missing
+ * during a rolling update and how long a terminating pod keeps serving to drain its clients. An unset drain
+ * delay falls back to the module default when the Deployment is built.
+ * @author laurent.broudoux@gmail.com
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Buildable(
+      editableEnabled = false,
+      builderPackage = "io.fabric8.kubernetes.api.builder"
+)
+public class RolloutSpec {
+
+   private String maxSurge = "1";
+   private String maxUnavailable = "0";
+   private int minReadySeconds = 5;
+   private Integer preStopDelaySeconds;
+
+   /** Default empty constructor for deserializer. */
+   public RolloutSpec() {
+   }
+
+   public String getMaxSurge() {
+      return maxSurge;
+   }
+
+   public void setMaxSurge(String maxSurge) {
+      this.maxSurge = maxSurge;
+   }
+
+   public String getMaxUnavailable() {
+      return maxUnavailable;
+   }
+
+   public void setMaxUnavailable(String maxUnavailable) {
+      this.maxUnavailable = maxUnavailable;
+   }
+
+   public int getMinReadySeconds() {
+      return minReadySeconds;
+   }
+
+   public void setMinReadySeconds(int minReadySeconds) {
+      this.minReadySeconds = minReadySeconds;
+   }
+
+   public Integer getPreStopDelaySeconds() {
+      return preStopDelaySeconds;
+   }
+
+   public void setPreStopDelaySeconds(Integer preStopDelaySeconds) {
+      this.preStopDelaySeconds = preStopDelaySeconds;
+   }
+}
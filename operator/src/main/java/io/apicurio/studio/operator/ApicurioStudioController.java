@@ -22,27 +22,67 @@ import io.apicurio.studio.operator.api.ApicurioStudioSpec;
 import io.apicurio.studio.operator.api.ApicurioStudioStatus;
 import io.apicurio.studio.operator.api.IngressSpec;
 import io.apicurio.studio.operator.api.ModuleStatus;
+import io.apicurio.studio.operator.health.HealthCheckEvent;
+import io.apicurio.studio.operator.health.HealthCheckEventSource;
+import io.apicurio.studio.operator.health.HealthStats;
+import io.apicurio.studio.operator.health.HealthTargets;
+import io.apicurio.studio.operator.health.ReplicationLagEvent;
+import io.apicurio.studio.operator.health.ReplicationLagEventSource;
+import io.apicurio.studio.operator.logging.Lazy;
+import io.apicurio.studio.operator.logging.LogContext;
+import io.apicurio.studio.operator.logging.LogSampler;
+import io.apicurio.studio.operator.module.ModuleDescriptor;
+import io.apicurio.studio.operator.module.ModulePipeline;
+import io.apicurio.studio.operator.module.ModuleRegistry;
+import io.apicurio.studio.operator.reconcile.FairReconcileQueue;
+import io.apicurio.studio.operator.reconcile.ReconcileExecutor;
+import io.apicurio.studio.operator.reconcile.StartupPlan;
+import io.apicurio.studio.operator.resource.AppliedHashUtil;
+import io.apicurio.studio.operator.resource.ChildResourceSnapshot;
 import io.apicurio.studio.operator.resource.DatabaseResources;
 import io.apicurio.studio.operator.resource.IngressSpecUtil;
 import io.apicurio.studio.operator.resource.KeycloakResources;
+import io.apicurio.studio.operator.resource.SecretPatchUtil;
+import io.apicurio.studio.operator.status.DeploymentRollout;
+import io.apicurio.studio.operator.status.MemoryLimitPolicy;
+import io.apicurio.studio.operator.status.ModuleTransitions;
+import io.apicurio.studio.operator.status.StatusWriter;
 import io.apicurio.studio.operator.watcher.DeploymentEvent;
 import io.apicurio.studio.operator.watcher.DeploymentEventSource;
+import io.apicurio.studio.operator.watcher.PodEvent;
+import io.apicurio.studio.operator.watcher.PodEventSource;
+import io.apicurio.studio.operator.watcher.PodSummary;
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.EnvVar;
+import io.fabric8.kubernetes.api.model.KubernetesResourceList;
+import io.fabric8.kubernetes.api.model.ListOptionsBuilder;
 import io.fabric8.kubernetes.api.model.OwnerReference;
 import io.fabric8.kubernetes.api.model.OwnerReferenceBuilder;
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
+import io.fabric8.kubernetes.api.model.PodSpec;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceRequirements;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.Service;
 import io.fabric8.kubernetes.api.model.networking.v1.Ingress;
+import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.kubernetes.client.Watcher.Action;
 import io.fabric8.openshift.api.model.Route;
 import io.fabric8.openshift.client.OpenShiftClient;
 import io.javaoperatorsdk.operator.processing.event.Event;
 import io.javaoperatorsdk.operator.processing.event.internal.CustomResourceEvent;
+import io.javaoperatorsdk.operator.processing.event.internal.TimerEventSource;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
 import io.apicurio.studio.operator.resource.ApicurioStudioResources;
+import io.apicurio.studio.operator.resource.ChecksumUtil;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.javaoperatorsdk.operator.api.Context;
 import io.javaoperatorsdk.operator.api.Controller;
@@ -51,9 +91,22 @@ import io.javaoperatorsdk.operator.api.ResourceController;
 import io.javaoperatorsdk.operator.api.UpdateControl;
 import io.javaoperatorsdk.operator.processing.event.EventSourceManager;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is the Operator controller that managed the reconciliation loop.
@@ -68,86 +121,271 @@ public class ApicurioStudioController implements ResourceController<ApicurioStud
    @Inject
    KubernetesClient client;
 
+   @Inject
+   MeterRegistry meterRegistry;
+
    private boolean isOpenShift = false;
 
    private DeploymentEventSource deploymentEventSource;
 
+   private HealthCheckEventSource healthCheckEventSource;
+
+   private ReplicationLagEventSource replicationLagEventSource;
+
+   private PodEventSource podEventSource;
+
+   private TimerEventSource<ApicurioStudio> timerEventSource;
+
+   private StartupPlan startupPlan;
+
+   private StatusWriter statusWriter;
+
+   private ReconcileExecutor reconcileExecutor;
+
+   private FairReconcileQueue<PendingReconcile> reconcileQueue;
+
+   @ConfigProperty(name = "apicurio-studio-operator.reconcile.virtual-threads", defaultValue = "false")
+   boolean reconcileVirtualThreads;
+
+   @ConfigProperty(name = "apicurio-studio-operator.reconcile.max-concurrency", defaultValue = "32")
+   int reconcileMaxConcurrency;
+
+   @ConfigProperty(name = "apicurio-studio-operator.reconcile.fair-queue.enabled", defaultValue = "false")
+   boolean reconcileFairQueueEnabled;
+
+   @ConfigProperty(name = "apicurio-studio-operator.reconcile.phase-requeue-millis", defaultValue = "1000")
+   long reconcilePhaseRequeueMillis;
+
+   @ConfigProperty(name = "apicurio-studio-operator.reconcile.phase-verify-millis", defaultValue = "30000")
+   long reconcilePhaseVerifyMillis;
+
+   /** The managed modules, in reconciliation order. */
+   private final ModuleRegistry moduleRegistry = buildModuleRegistry();
+
+   @ConfigProperty(name = "apicurio-studio-operator.startup.page-size", defaultValue = "100")
+   long startupPageSize;
+
+   @ConfigProperty(name = "apicurio-studio-operator.startup.max-concurrency", defaultValue = "10")
+   int startupMaxConcurrency;
+
+   @ConfigProperty(name = "apicurio-studio-operator.startup.batch-interval-millis", defaultValue = "2000")
+   long startupBatchIntervalMillis;
+
+   @ConfigProperty(name = "apicurio-studio-operator.startup.warm-up-window-seconds", defaultValue = "300")
+   long startupWarmUpWindowSeconds;
+
+   private final LogSampler logSampler = new LogSampler();
+
+   /** Uids of studios having been checked against live state since operator start. */
+   private final Set<String> warmStartedUids = ConcurrentHashMap.newKeySet();
+
+   private ModulePipeline modulePipeline;
+
+   @ConfigProperty(name = "apicurio-studio-operator.oom-policy.enabled", defaultValue = "false")
+   boolean oomPolicyEnabled;
+
+   @ConfigProperty(name = "apicurio-studio-operator.oom-policy.restarts-threshold", defaultValue = "2")
+   int oomPolicyRestartsThreshold;
+
+   @ConfigProperty(name = "apicurio-studio-operator.oom-policy.step-percent", defaultValue = "25")
+   int oomPolicyStepPercent;
+
+   @ConfigProperty(name = "apicurio-studio-operator.oom-policy.max-memory", defaultValue = "4Gi")
+   String oomPolicyMaxMemory;
+
+   @ConfigProperty(name = "apicurio-studio-operator.health-check.enabled", defaultValue = "true")
+   boolean healthCheckEnabled;
+
+   @ConfigProperty(name = "apicurio-studio-operator.health-check.interval-seconds", defaultValue = "10")
+   int healthCheckIntervalSeconds;
+
+   @ConfigProperty(name = "apicurio-studio-operator.health-check.timeout-millis", defaultValue = "2000")
+   long healthCheckTimeoutMillis;
+
+   @ConfigProperty(name = "apicurio-studio-operator.health-check.max-concurrency", defaultValue = "8")
+   int healthCheckMaxConcurrency;
+
+   @ConfigProperty(name = "apicurio-studio-operator.health-check.window-size", defaultValue = "6")
+   int healthCheckWindowSize;
+
+   @ConfigProperty(name = "apicurio-studio-operator.health-check.max-error-rate", defaultValue = "0.5")
+   double healthCheckMaxErrorRate;
+
+   @ConfigProperty(name = "apicurio-studio-operator.replication-lag.interval-seconds", defaultValue = "30")
+   int replicationLagIntervalSeconds;
+
+   @ConfigProperty(name = "apicurio-studio-operator.replication-lag.timeout-millis", defaultValue = "5000")
+   long replicationLagTimeoutMillis;
+
    @Override
    public void init(EventSourceManager eventSourceManager) {
-      this.deploymentEventSource = DeploymentEventSource.createAndRegisterWatch(this, client);
+      this.statusWriter = new StatusWriter(client, meterRegistry);
+      ExecutorService virtualThreads = reconcileVirtualThreads ? ReconcileExecutor.newVirtualThreadExecutor() : null;
+      if (reconcileVirtualThreads && virtualThreads == null) {
+         logger.warnf("Virtual threads are not supported by this runtime, reconciling on platform threads");
+      }
+      // Unless forked stages are bounded by the reconcile executor permits, modules run in dependency order
+      // on the reconciling thread: forking would escape the concurrency bound, and blocking a bounded pool
+      // on its own stages could starve it.
+      this.modulePipeline = new ModulePipeline(moduleRegistry, Runnable::run);
+      if (reconcileFairQueueEnabled) {
+         // Workers of the queue bound the concurrency and serialize reconciliations of a same studio.
+         ExecutorService workers = virtualThreads != null ? virtualThreads : Executors.newFixedThreadPool(reconcileMaxConcurrency);
+         this.reconcileQueue = new FairReconcileQueue<>(PendingReconcile::merge, meterRegistry);
+         this.reconcileQueue.start(reconcileMaxConcurrency, workers, pending -> reconcile(pending.cr, pending.events));
+      } else if (virtualThreads != null) {
+         this.reconcileExecutor = new ReconcileExecutor(virtualThreads, reconcileMaxConcurrency);
+         // Independent modules fork on virtual threads, each one holding a permit of the executor.
+         this.modulePipeline = new ModulePipeline(moduleRegistry, reconcileExecutor.stageExecutor());
+      }
+      this.timerEventSource = new TimerEventSource<>();
+      eventSourceManager.registerEventSource("timer-event-source", this.timerEventSource);
+      this.startupPlan = buildStartupPlan();
+      this.deploymentEventSource = DeploymentEventSource.create(this, client, meterRegistry);
       eventSourceManager.registerEventSource("deployment-event-source", this.deploymentEventSource);
+      this.deploymentEventSource.startWatch();
+      this.podEventSource = PodEventSource.create(client, meterRegistry);
+      eventSourceManager.registerEventSource("pod-event-source", this.podEventSource);
+      this.podEventSource.startWatch();
+      if (healthCheckEnabled) {
+         this.healthCheckEventSource = new HealthCheckEventSource(healthCheckIntervalSeconds, healthCheckTimeoutMillis,
+               healthCheckMaxConcurrency, healthCheckWindowSize, healthCheckMaxErrorRate);
+         eventSourceManager.registerEventSource("health-check-event-source", this.healthCheckEventSource);
+      }
+      this.replicationLagEventSource = new ReplicationLagEventSource(client, replicationLagIntervalSeconds, replicationLagTimeoutMillis);
+      eventSourceManager.registerEventSource("replication-lag-event-source", this.replicationLagEventSource);
    }
 
    @Override
    public UpdateControl<ApicurioStudio> createOrUpdateResource(ApicurioStudio apicurioStudio,
                                                                Context<ApicurioStudio> context) {
+      final List<Event> events = new ArrayList<>(context.getEvents().getList());
+      if (reconcileQueue != null) {
+         reconcileQueue.submit(apicurioStudio.getMetadata().getUid(), getReconcilePriority(events),
+               new PendingReconcile(apicurioStudio, events));
+         return UpdateControl.noUpdate();
+      }
+      if (reconcileExecutor != null) {
+         // Status is written by the reconciliation itself, nothing to return to the framework.
+         reconcileExecutor.submit(apicurioStudio.getMetadata().getUid(), () -> reconcile(apicurioStudio, events))
+               .exceptionally(t -> {
+                  logger.errorf(t, "Caught a Throwable while reconciling %s", apicurioStudio.getMetadata().getName());
+                  return null;
+               });
+         return UpdateControl.noUpdate();
+      }
+      return reconcile(apicurioStudio, events);
+   }
+
+   /**
+    * Reconcile a studio custom resource.
+    * @param apicurioStudio The studio custom resource.
+    * @param events The events having triggered this reconciliation.
+    * @return The update to do on custom resource.
+    */
+   private UpdateControl<ApicurioStudio> reconcile(ApicurioStudio apicurioStudio, List<Event> events) {
+      // Every log line of this reconciliation carries the studio identity.
+      try (LogContext ignored = LogContext.of(apicurioStudio)) {
+         return reconcileInContext(apicurioStudio, events);
+      }
+   }
 
+   private UpdateControl<ApicurioStudio> reconcileInContext(ApicurioStudio apicurioStudio, List<Event> events) {
       final ApicurioStudioSpec spec = apicurioStudio.getSpec();
       logger.infof("Starting CreateOrUpdate reconcile operation for '%s'", spec.getName());
-      logger.infof("Context events: " + context.getEvents().getList());
+      logger.debugf("Context events: %s", events);
 
       isOpenShift = client.isAdaptable(OpenShiftClient.class);
       final String ns = apicurioStudio.getMetadata().getNamespace();
-      final List<OwnerReference> refs = List.of(getOwnerReference(apicurioStudio));
+      final ChildResourceSnapshot snapshot = new ChildResourceSnapshot(client, ns, spec.getName());
+      statusWriter.remember(apicurioStudio);
 
-      Optional<CustomResourceEvent> latestCREvent = context.getEvents().getLatestOfType(CustomResourceEvent.class);
-      if (latestCREvent.isPresent()) {
-         Action action = latestCREvent.get().getAction();
-         logger.infof("Latest CR event action is: " + latestCREvent.get().getAction());
+      // Register health checks, including after an operator restart on an already ready studio.
+      if (healthCheckEventSource != null) {
+         HealthTargets.getHealthEndpoints(apicurioStudio).forEach((module, uri) ->
+               healthCheckEventSource.watch(apicurioStudio.getMetadata().getUid(), module, uri));
+      }
+      if (DatabaseResources.isReadReplicasEnabled(spec)) {
+         replicationLagEventSource.watch(apicurioStudio.getMetadata().getUid(), ns,
+               Map.of("app", spec.getName(), "module", DatabaseResources.APICURIO_STUDIO_DB_REPLICA_MODULE));
+      } else {
+         replicationLagEventSource.unwatch(apicurioStudio.getMetadata().getUid());
+      }
 
-         if (apicurioStudio.getStatus() == null) {
-            apicurioStudio.setStatus(new ApicurioStudioStatus());
+      if (apicurioStudio.getStatus() == null) {
+         apicurioStudio.setStatus(new ApicurioStudioStatus());
+      }
+      Optional<CustomResourceEvent> latestCREvent = getLatestCustomResourceEvent(events);
+      boolean deferred = false;
+      boolean startupTurn = false;
+      final String uid = apicurioStudio.getMetadata().getUid();
+      if (startupPlan != null && startupPlan.isPlanned(uid)) {
+         long delay = startupPlan.getRemainingDelay(uid, System.currentTimeMillis());
+         if (delay > 0) {
+            if (latestCREvent.isPresent()) {
+               // Not its turn yet, other events are still handled below.
+               logger.infof("Deferring startup reconciliation of '%s' by %d ms", spec.getName(), delay);
+               timerEventSource.scheduleOnce(apicurioStudio, delay);
+               deferred = true;
+               latestCREvent = Optional.empty();
+            }
+         } else {
+            startupTurn = startupPlan.release(uid);
          }
-         if (apicurioStudio.getStatus().isReady()) {
+      }
+      if (latestCREvent.isPresent() || startupTurn) {
+         latestCREvent.ifPresent(e -> logger.infof("Latest CR event action is: %s", e.getAction()));
+
+         boolean warmStart = warmStartedUids.add(uid);
+         boolean specChanged = !AppliedHashUtil.isGenerationObserved(apicurioStudio,
+               apicurioStudio.getStatus().getObservedGeneration());
+         if (apicurioStudio.getStatus().isReady() && specChanged) {
+            // Custom resource has been edited since it was provisioned, provision again.
+            logger.infof("ApicurioStudio '%s' spec changed to generation %d, provisioning again",
+                  spec.getName(), apicurioStudio.getMetadata().getGeneration());
+            apicurioStudio.getStatus().setPhase(null);
+         } else if (apicurioStudio.getStatus().isReady() && warmStart && isDiverging(apicurioStudio)) {
+            // Operator has been restarted and something changed meanwhile, provision again.
+            apicurioStudio.getStatus().setPhase(null);
+         } else if (apicurioStudio.getStatus().isReady()) {
             // Maybe operator has been restarted...
             logger.infof("ApicurioStudio '%s' seems to be ready, exiting reconciliation loop.", spec.getName());
             return UpdateControl.noUpdate();
          }
-
-         // First thing is to retrieve the UI module Host that is needed by Keycloak.
-         if (isOpenShift) {
-            // Create an OpenShift Route...
-            logger.infof("Creating a new Route for apicurio-studio-ui, named '%s'", ApicurioStudioResources.getUIDeploymentName(spec));
-            Route uiRoute = ApicurioStudioResources.prepareUIRoute(spec);
-            uiRoute.getMetadata().setOwnerReferences(refs);
-            uiRoute = client.adapt(OpenShiftClient.class).routes().inNamespace(ns).createOrReplace(uiRoute);
-
-            apicurioStudio.getStatus().setStudioUrl(uiRoute.getSpec().getHost());
-         } else {
-            // Create a Secret for Ingress certs if needed.
-            createIngressSecretIfNeeded(apicurioStudio, spec.getStudioModule().getIngress(),
-                  ApicurioStudioResources.APICURIO_STUDIO_UI_MODULE_DEFAULT_INGRESS_SECRET,
-                  ApicurioStudioResources.APICURIO_STUDIO_UI_MODULE,
-                  ApicurioStudioResources.getUIIngressHost(spec));
-
-            // Create a vanilla Kubernetes Ingress...
-            logger.infof("Creating a new Ingress for apicurio-studio-ui, named '%s'", ApicurioStudioResources.getUIDeploymentName(spec));
-            Ingress uiIngress = ApicurioStudioResources.prepareUIIngress(spec);
-            uiIngress.getMetadata().setOwnerReferences(refs);
-            uiIngress = client.network().v1().ingresses().inNamespace(ns).createOrReplace(uiIngress);
-
-            logger.infof("Updating studioUrl in status with '%s'", uiIngress.getSpec().getRules().get(0).getHost());
-            apicurioStudio.getStatus().setStudioUrl(uiIngress.getSpec().getRules().get(0).getHost());
+         ApicurioStudioStatus.Phase phase = apicurioStudio.getStatus().getPhase();
+         if (phase == null || phase == ApicurioStudioStatus.Phase.DONE || specChanged) {
+            // Start provisioning from the beginning, an in-progress one just goes on unless spec changed
+            // meanwhile as its already done phases would miss the change.
+            apicurioStudio.getStatus().setPhase(ApicurioStudioStatus.Phase.INGRESS);
+            apicurioStudio.getStatus().setState(ApicurioStudioStatus.State.DEPLOYING);
+            apicurioStudio.getStatus().setObservedGeneration(apicurioStudio.getMetadata().getGeneration());
          }
+      }
 
+      ApicurioStudioStatus.Phase phase = apicurioStudio.getStatus().getPhase();
+      if (!deferred && phase != null && phase != ApicurioStudioStatus.Phase.DONE) {
          try {
-            createOrUpdateKeycloakResources(apicurioStudio);
-            createOrUpdateDatabaseResources(apicurioStudio);
-            createOrUpdateApicurioStudioResources(apicurioStudio);
-            apicurioStudio.getStatus().setState(ApicurioStudioStatus.State.DEPLOYING);
-            logger.infof("Finishing the reconciliation loop with update of Status");
-            return UpdateControl.updateStatusSubResource(apicurioStudio);
+            long requeueDelay = runProvisioningPhase(apicurioStudio, snapshot, phase);
+            recordAppliedHashes(apicurioStudio, snapshot);
+            logger.infof("Finishing phase '%s' of '%s' with update of Status", phase, spec.getName());
+            statusWriter.write(apicurioStudio);
+            if (apicurioStudio.getStatus().getPhase() != ApicurioStudioStatus.Phase.DONE) {
+               timerEventSource.scheduleOnce(apicurioStudio, requeueDelay);
+            }
          } catch (Throwable t) {
-            t.printStackTrace();
-            logger.error("Caught a Throwable", t);
+            logger.errorf(t, "Caught a Throwable during phase %s", phase);
+            // Phase is left unchanged so that it's retried later.
+            timerEventSource.scheduleOnce(apicurioStudio, reconcilePhaseVerifyMillis);
+         }
+         if (latestCREvent.isPresent() || startupTurn) {
+            return UpdateControl.noUpdate();
          }
       }
 
-      List<Event> allEvents = context.getEvents().getList();
-      for (Event event : allEvents) {
+      for (Event event : events) {
          if (event instanceof DeploymentEvent) {
             DeploymentEvent depEvent = (DeploymentEvent) event;
-            logger.infof("Got a Deployment event for action '%s' on resource '%s'",
+            logger.debugf("Got a Deployment event for action '%s' on resource '%s'",
                   depEvent.getAction(), depEvent.getDeployment().getMetadata().getName());
 
             switch (depEvent.getAction()) {
@@ -158,43 +396,148 @@ public class ApicurioStudioController implements ResourceController<ApicurioStud
                   handleDeletedDeployment(depEvent.getDeployment());
                   break;
             }
+         } else if (event instanceof PodEvent) {
+            handlePodEvent(apicurioStudio, (PodEvent) event);
+         } else if (event instanceof HealthCheckEvent) {
+            handleHealthCheck(apicurioStudio, (HealthCheckEvent) event);
+         } else if (event instanceof ReplicationLagEvent) {
+            handleReplicationLag(apicurioStudio, (ReplicationLagEvent) event);
          }
       }
 
-      logger.infof("Finishing the reconciliation loop with no update");
+      logger.debugf("Finishing the reconciliation loop with no update");
       return UpdateControl.noUpdate();
    }
 
    @Override
    public DeleteControl deleteResource(ApicurioStudio resource, Context<ApicurioStudio> context) {
-      logger.infof("Deleting ApicurioStudio object {}", resource.getMetadata().getName());
+      logger.infof("Deleting ApicurioStudio object %s", resource.getMetadata().getName());
+      if (healthCheckEventSource != null) {
+         healthCheckEventSource.unwatch(resource.getMetadata().getUid());
+      }
+      replicationLagEventSource.unwatch(resource.getMetadata().getUid());
+      statusWriter.forget(resource.getMetadata().getUid());
+      warmStartedUids.remove(resource.getMetadata().getUid());
+      if (startupPlan != null) {
+         startupPlan.release(resource.getMetadata().getUid());
+      }
       // Nothing to do here...
       // Framework takes care of deleting the ApicurioStudio object.
       // k8s takes care of deleting resources and pods because of ownerreference set.
       return DeleteControl.DEFAULT_DELETE;
    }
 
+   /**
+    * Run a provisioning phase of a studio and advance its status to the next phase when done.
+    * @param cr The studio custom resource.
+    * @param snapshot The snapshot of studio child resources for this reconciliation.
+    * @param phase The phase to run.
+    * @return The delay in milliseconds before running the next phase.
+    */
+   private long runProvisioningPhase(ApicurioStudio cr, ChildResourceSnapshot snapshot, ApicurioStudioStatus.Phase phase) {
+      logger.infof("Running provisioning phase '%s' for '%s'", phase, cr.getSpec().getName());
+      switch (phase) {
+         case INGRESS:
+            // First thing is to retrieve the UI module Host that is needed by Keycloak.
+            createOrUpdateStudioIngress(cr, snapshot);
+            break;
+         case AUTH:
+            awaitModules(modulePipeline.reconcile(cr, snapshot, Set.of(KeycloakResources.APICURIO_STUDIO_AUTH_MODULE)));
+            break;
+         case DATABASE:
+            awaitModules(modulePipeline.reconcile(cr, snapshot, Set.of(DatabaseResources.APICURIO_STUDIO_DB_MODULE,
+                  DatabaseResources.APICURIO_STUDIO_DB_POOLER_MODULE, DatabaseResources.APICURIO_STUDIO_DB_REPLICA_MODULE)));
+            break;
+         case MODULES:
+            // Independent modules are provisioned concurrently, dependent ones wait for their dependencies.
+            awaitModules(modulePipeline.reconcile(cr, snapshot, Set.of(ApicurioStudioResources.APICURIO_STUDIO_API_MODULE,
+                  ApicurioStudioResources.APICURIO_STUDIO_WS_MODULE, ApicurioStudioResources.APICURIO_STUDIO_UI_MODULE)));
+            break;
+         case VERIFY:
+            // Readiness is computed from module statuses, that may be ready since a previous provisioning.
+            updateGlobalStateIfNeeded(cr.getMetadata().getName());
+            ApicurioStudio latest = statusWriter.read(cr.getMetadata().getNamespace(), cr.getMetadata().getName());
+            if (latest != null && latest.getStatus() != null) {
+               cr.setStatus(latest.getStatus());
+            }
+            if (!cr.getStatus().isReady()) {
+               // Deployment events will make the studio ready, just check again later.
+               cr.getStatus().setMessage("Waiting for module deployments to be ready");
+               return reconcilePhaseVerifyMillis;
+            }
+            break;
+         default:
+            return reconcilePhaseVerifyMillis;
+      }
+      cr.getStatus().setPhase(phase.next());
+      return reconcilePhaseRequeueMillis;
+   }
+
+   /** Wait for forked module stages, lending the reconcile executor permit of this reconciliation meanwhile. */
+   private void awaitModules(CompletableFuture<Void> stages) {
+      if (reconcileExecutor != null) {
+         reconcileExecutor.await(stages);
+      } else {
+         stages.join();
+      }
+   }
+
+   /**
+    * Manage creation of the Route or Ingress exposing the studio UI and record its host in status.
+    * @param cr The studio custom resource.
+    * @param snapshot The snapshot of studio child resources for this reconciliation.
+    */
+   public void createOrUpdateStudioIngress(ApicurioStudio cr, ChildResourceSnapshot snapshot) {
+      final ApicurioStudioSpec spec = cr.getSpec();
+      final String ns = cr.getMetadata().getNamespace();
+      final List<OwnerReference> refs = List.of(getOwnerReference(cr));
+      if (isOpenShift) {
+         // Create an OpenShift Route...
+         logger.infof("Creating a new Route for apicurio-studio-ui, named '%s'", ApicurioStudioResources.getUIDeploymentName(spec));
+         Route uiRoute = ApicurioStudioResources.prepareUIRoute(spec);
+         uiRoute.getMetadata().setOwnerReferences(refs);
+         uiRoute = client.adapt(OpenShiftClient.class).routes().inNamespace(ns).createOrReplace(uiRoute);
+
+         cr.getStatus().setStudioUrl(uiRoute.getSpec().getHost());
+      } else {
+         // Create a Secret for Ingress certs if needed.
+         createIngressSecretIfNeeded(cr, snapshot, spec.getStudioModule().getIngress(),
+               ApicurioStudioResources.APICURIO_STUDIO_UI_MODULE_DEFAULT_INGRESS_SECRET,
+               ApicurioStudioResources.APICURIO_STUDIO_UI_MODULE,
+               ApicurioStudioResources.getUIIngressHost(spec));
+
+         // Create a vanilla Kubernetes Ingress...
+         logger.infof("Creating a new Ingress for apicurio-studio-ui, named '%s'", ApicurioStudioResources.getUIDeploymentName(spec));
+         Ingress uiIngress = ApicurioStudioResources.prepareUIIngress(spec);
+         uiIngress.getMetadata().setOwnerReferences(refs);
+         uiIngress = client.network().v1().ingresses().inNamespace(ns).createOrReplace(uiIngress);
+
+         logger.infof("Updating studioUrl in status with '%s'", uiIngress.getSpec().getRules().get(0).getHost());
+         cr.getStatus().setStudioUrl(uiIngress.getSpec().getRules().get(0).getHost());
+      }
+   }
+
    /**
     * Manage creation of Ingress Secret if required.
     * @param cr The studio custom resource.
+    * @param snapshot The snapshot of studio child resources for this reconciliation.
     * @param spec The IngressSpec that may be null
     * @param secretName The name of secret to generate if any
     * @param module The name of the module of this secret
     * @param host The host for certificate in the secret
     */
-   public void createIngressSecretIfNeeded(ApicurioStudio cr, IngressSpec spec, String secretName, String module, String host) {
+   public void createIngressSecretIfNeeded(ApicurioStudio cr, ChildResourceSnapshot snapshot, IngressSpec spec, String secretName, String module, String host) {
       if (IngressSpecUtil.generateCertificateSecret(spec)) {
          final String ns = cr.getMetadata().getNamespace();
          final List<OwnerReference> refs = List.of(getOwnerReference(cr));
 
          Map<String, String> labels = Map.of("app", cr.getSpec().getName(), "module", module);
 
-         Secret secret = client.secrets().inNamespace(ns).withName(secretName).get();
-         if (secret == null) {
+         if (snapshot.getSecret(secretName) == null) {
             logger.infof("Creating a new Ingress Secret for %s, named '%s'", module, secretName);
             Secret certSecret = IngressSpecUtil.generateSelfSignedCertificateSecret(secretName, labels, host);
             certSecret.getMetadata().setOwnerReferences(refs);
-            client.secrets().inNamespace(ns).create(certSecret);
+            snapshot.put(client.secrets().inNamespace(ns).create(certSecret));
          }
       }
    }
@@ -202,24 +545,27 @@ public class ApicurioStudioController implements ResourceController<ApicurioStud
    /**
     * Manage Keycloak related resources.
     * @param cr The studio custom resource.
+    * @param snapshot The snapshot of studio child resources for this reconciliation.
     */
-   public void createOrUpdateKeycloakResources(ApicurioStudio cr) {
+   public void createOrUpdateKeycloakResources(ApicurioStudio cr, ChildResourceSnapshot snapshot) {
       final ApicurioStudioSpec spec = cr.getSpec();
       final String ns = cr.getMetadata().getNamespace();
       final List<OwnerReference> refs = List.of(getOwnerReference(cr));
 
       if (spec.getKeycloak().isInstall()) {
-         logger.infof("Creating a new Secret for apicurio-studio-auth, named '%s'", KeycloakResources.getKeycloakSecretName(spec));
-         Secret authSecret = KeycloakResources.prepareKeycloakSecret(spec);
-         authSecret.getMetadata().setOwnerReferences(refs);
-         client.secrets().inNamespace(ns).createOrReplace(authSecret);
-
-         String kcPVCName = KeycloakResources.getKeycloakPVCName(spec);
-         if (client.persistentVolumeClaims().inNamespace(ns).withName(kcPVCName).get() == null) {
-            logger.infof("Creating a new PersistentVolumeClaim for apicurio-studio-auth, named '%s'", kcPVCName);
-            PersistentVolumeClaim authPVC = KeycloakResources.prepareKeycloakDbPVC(spec);
-            authPVC.getMetadata().setOwnerReferences(refs);
-            client.persistentVolumeClaims().inNamespace(ns).createOrReplace(authPVC);
+         createOrPatchSecret(ns, KeycloakResources.prepareKeycloakSecret(spec),
+               KeycloakResources.getKeycloakSecretExplicitData(spec), refs, "apicurio-studio-auth", snapshot);
+
+         if (KeycloakResources.isHighAvailabilityEnabled(spec)) {
+            logger.infof("Creating a new headless Service for apicurio-studio-auth, named '%s'", KeycloakResources.getKeycloakPingServiceName(spec));
+            Service pingService = KeycloakResources.prepareKeycloakPingService(spec);
+            pingService.getMetadata().setOwnerReferences(refs);
+            client.services().inNamespace(ns).createOrReplace(pingService);
+         } else {
+            if (spec.getKeycloak().getHighAvailability() != null && spec.getKeycloak().getHighAvailability().isEnabled()) {
+               logger.warnf("Keycloak highAvailability requires database to be installed by operator, deploying a single instance");
+            }
+            createOrExpandPVC(ns, KeycloakResources.prepareKeycloakDbPVC(spec), refs, "apicurio-studio-auth", snapshot);
          }
 
          logger.infof("Creating a new Service for apicurio-studio-auth, named '%s'", KeycloakResources.getKeycloakDeploymentName(spec));
@@ -249,10 +595,9 @@ public class ApicurioStudioController implements ResourceController<ApicurioStud
 
          logger.infof("Creating a new Deployment for apicurio-studio-auth, named '%s'", KeycloakResources.getKeycloakDeploymentName(spec));
          Deployment authDeployment = KeycloakResources.prepareKeycloakDeployment(client, spec, cr.getStatus());
-         authDeployment.getMetadata().setOwnerReferences(refs);
-         client.apps().deployments().inNamespace(ns).createOrReplace(authDeployment);
+         applyDeployment(cr, authDeployment, refs, snapshot);
 
-         cr.getStatus().setKeycloakModule(new ModuleStatus(ApicurioStudioStatus.State.DEPLOYING));
+         cr.getStatus().setKeycloakModule(getAppliedModuleStatus(cr.getStatus().getKeycloakModule(), authDeployment, snapshot));
       } else {
          logger.infof("Re-using an existing Keycloak instance, setting keycloakUrl to '%s' in status", spec.getKeycloak().getUrl());
          cr.getStatus().setKeycloakUrl(spec.getKeycloak().getUrl());
@@ -261,28 +606,29 @@ public class ApicurioStudioController implements ResourceController<ApicurioStud
    }
 
    /**
-    * Manage Database related resources.
-    * @param cr The studio custom resource.s
+    * Manage resources of the primary Database module.
+    * @param cr The studio custom resource.
+    * @param snapshot The snapshot of studio child resources for this reconciliation.
     */
-   public void createOrUpdateDatabaseResources(ApicurioStudio cr) {
+   public void createOrUpdateDatabaseModule(ApicurioStudio cr, ChildResourceSnapshot snapshot) {
       final ApicurioStudioSpec spec = cr.getSpec();
       final String ns = cr.getMetadata().getNamespace();
       final List<OwnerReference> refs = List.of(getOwnerReference(cr));
 
       if (spec.getDatabase().isInstall()) {
-         logger.infof("Creating a new Secret for apicurio-studio-db, named '%s'", DatabaseResources.getDatabaseSecretName(spec));
-         Secret dbSecret = DatabaseResources.prepareDatabaseSecret(spec);
-         dbSecret.getMetadata().setOwnerReferences(refs);
-         client.secrets().inNamespace(ns).createOrReplace(dbSecret);
-
-         String dbPVCName = DatabaseResources.getDatabasePVCName(spec);
-         if (client.persistentVolumeClaims().inNamespace(ns).withName(dbPVCName).get() == null) {
-            logger.infof("Creating a new PersistentVolumeClaim for apicurio-studio-db, named '%s'", dbPVCName);
-            PersistentVolumeClaim dbPVC = DatabaseResources.prepareDatabasePVC(spec);
-            dbPVC.getMetadata().setOwnerReferences(refs);
-            client.persistentVolumeClaims().inNamespace(ns).createOrReplace(dbPVC);
+         createOrPatchSecret(ns, DatabaseResources.prepareDatabaseSecret(spec),
+               DatabaseResources.getDatabaseSecretExplicitData(spec), refs, "apicurio-studio-db", snapshot);
+
+         createOrExpandPVC(ns, DatabaseResources.prepareDatabasePVC(spec), refs, "apicurio-studio-db", snapshot);
+         if (DatabaseResources.isWalVolumeEnabled(spec)) {
+            createOrExpandPVC(ns, DatabaseResources.prepareDatabaseWalPVC(spec), refs, "apicurio-studio-db", snapshot);
          }
 
+         logger.infof("Creating a new ConfigMap for apicurio-studio-db, named '%s'", DatabaseResources.getDatabaseConfigName(spec));
+         ConfigMap dbConfig = DatabaseResources.prepareDatabaseConfigMap(spec);
+         dbConfig.getMetadata().setOwnerReferences(refs);
+         client.configMaps().inNamespace(ns).createOrReplace(dbConfig);
+
          logger.infof("Creating a new Service for apicurio-studio-db, named '%s'", DatabaseResources.getDatabaseDeploymentName(spec));
          Service dbService = DatabaseResources.prepareDatabaseService(spec);
          dbService.getMetadata().setOwnerReferences(refs);
@@ -290,25 +636,86 @@ public class ApicurioStudioController implements ResourceController<ApicurioStud
 
          logger.infof("Creating a new Deployment for apicurio-studio-db, named '%s'", DatabaseResources.getDatabaseDeploymentName(spec));
          Deployment dbDeployment = DatabaseResources.prepareDatabaseDeployment(client, spec);
-         dbDeployment.getMetadata().setOwnerReferences(refs);
-         client.apps().deployments().inNamespace(ns).createOrReplace(dbDeployment);
+         applyDeployment(cr, dbDeployment, refs, snapshot);
 
-         cr.getStatus().setDatabaseModule(new ModuleStatus(ApicurioStudioStatus.State.DEPLOYING));
+         cr.getStatus().setDatabaseModule(getAppliedModuleStatus(cr.getStatus().getDatabaseModule(), dbDeployment, snapshot));
       } else {
          cr.getStatus().setDatabaseModule(new ModuleStatus(ApicurioStudioStatus.State.PREEXISTING));
       }
    }
 
    /**
-    * Manage the Apicurio Studio own resources.
+    * Manage resources of the Database connection pooler module.
     * @param cr The studio custom resource.
+    * @param snapshot The snapshot of studio child resources for this reconciliation.
     */
-   public void createOrUpdateApicurioStudioResources(ApicurioStudio cr) {
+   public void createOrUpdateDatabasePoolerModule(ApicurioStudio cr, ChildResourceSnapshot snapshot) {
+      final ApicurioStudioSpec spec = cr.getSpec();
+      final String ns = cr.getMetadata().getNamespace();
+      final List<OwnerReference> refs = List.of(getOwnerReference(cr));
+
+      if (spec.getDatabase().isInstall()) {
+         if (DatabaseResources.isPoolerEnabled(spec)) {
+            logger.infof("Creating a new Service for apicurio-studio-db-pooler, named '%s'", DatabaseResources.getDatabasePoolerName(spec));
+            Service poolerService = DatabaseResources.prepareDatabasePoolerService(spec);
+            poolerService.getMetadata().setOwnerReferences(refs);
+            client.services().inNamespace(ns).createOrReplace(poolerService);
+
+            logger.infof("Creating a new Deployment for apicurio-studio-db-pooler, named '%s'", DatabaseResources.getDatabasePoolerName(spec));
+            Deployment poolerDeployment = DatabaseResources.prepareDatabasePoolerDeployment(spec);
+            applyDeployment(cr, poolerDeployment, refs, snapshot);
+         } else if (spec.getDatabase().getPooler() != null && spec.getDatabase().getPooler().isEnabled()) {
+            logger.warnf("Connection pooler is only supported for '%s' driver, ignoring it for '%s'",
+                  DatabaseResources.POSTGRESQL_TYPE, spec.getName());
+         }
+      }
+   }
+
+   /**
+    * Manage resources of the Database read replicas module.
+    * @param cr The studio custom resource.
+    * @param snapshot The snapshot of studio child resources for this reconciliation.
+    */
+   public void createOrUpdateDatabaseReplicaModule(ApicurioStudio cr, ChildResourceSnapshot snapshot) {
+      final ApicurioStudioSpec spec = cr.getSpec();
+      final String ns = cr.getMetadata().getNamespace();
+      final List<OwnerReference> refs = List.of(getOwnerReference(cr));
+
+      if (spec.getDatabase().isInstall()) {
+         if (DatabaseResources.isReadReplicasEnabled(spec)) {
+            logger.infof("Creating a new Service for apicurio-studio-db-replica, named '%s'", DatabaseResources.getDatabaseReadServiceName(spec));
+            Service readService = DatabaseResources.prepareDatabaseReadService(spec);
+            readService.getMetadata().setOwnerReferences(refs);
+            client.services().inNamespace(ns).createOrReplace(readService);
+
+            logger.infof("Creating a new Deployment for apicurio-studio-db-replica, named '%s'", DatabaseResources.getDatabaseReplicaName(spec));
+            Deployment replicaDeployment = DatabaseResources.prepareDatabaseReplicaDeployment(client, spec);
+            applyDeployment(cr, replicaDeployment, refs, snapshot);
+
+            cr.getStatus().setDatabaseReplicaModule(getAppliedModuleStatus(cr.getStatus().getDatabaseReplicaModule(),
+                  replicaDeployment, snapshot));
+         } else {
+            if (spec.getDatabase().getReadReplicas() != null && spec.getDatabase().getReadReplicas().getReplicas() > 0) {
+               logger.warnf("Read replicas are only supported for '%s' driver, ignoring them for '%s'",
+                     DatabaseResources.POSTGRESQL_TYPE, spec.getName());
+            }
+            cr.getStatus().setDatabaseReplicaModule(null);
+         }
+      } else {
+         cr.getStatus().setDatabaseReplicaModule(null);
+      }
+   }
+
+   /**
+    * Manage resources of the Apicurio Studio Api module.
+    * @param cr The studio custom resource.
+    * @param snapshot The snapshot of studio child resources for this reconciliation.
+    */
+   public void createOrUpdateApiModule(ApicurioStudio cr, ChildResourceSnapshot snapshot) {
       final ApicurioStudioSpec spec = cr.getSpec();
       final String ns = cr.getMetadata().getNamespace();
       final List<OwnerReference> refs = List.of(getOwnerReference(cr));
 
-      // Dealing with resources of Api module.
       logger.infof("Creating a new Service for apicurio-studio-api, named '%s'", ApicurioStudioResources.getAPIDeploymentName(spec));
       Service apiService = ApicurioStudioResources.prepareAPIService(spec);
       apiService.getMetadata().setOwnerReferences(refs);
@@ -325,7 +732,7 @@ public class ApicurioStudioController implements ResourceController<ApicurioStud
          cr.getStatus().setApiUrl(apiRoute.getSpec().getHost());
       } else {
          // Create a Secret for Ingress certs if needed.
-         createIngressSecretIfNeeded(cr, spec.getApiModule().getIngress(),
+         createIngressSecretIfNeeded(cr, snapshot, spec.getApiModule().getIngress(),
                ApicurioStudioResources.APICURIO_STUDIO_API_MODULE_DEFAULT_INGRESS_SECRET,
                ApicurioStudioResources.APICURIO_STUDIO_API_MODULE,
                ApicurioStudioResources.getAPIIngressHost(spec));
@@ -342,12 +749,21 @@ public class ApicurioStudioController implements ResourceController<ApicurioStud
 
       logger.infof("Creating a new Deployment for apicurio-studio-api, named '%s'", ApicurioStudioResources.getAPIDeploymentName(spec));
       Deployment apiDeployment = ApicurioStudioResources.prepareAPIDeployment(spec, cr.getStatus());
-      apiDeployment.getMetadata().setOwnerReferences(refs);
-      client.apps().deployments().inNamespace(ns).createOrReplace(apiDeployment);
+      applyDeployment(cr, apiDeployment, refs, snapshot);
+
+      cr.getStatus().setApiModule(getAppliedModuleStatus(cr.getStatus().getApiModule(), apiDeployment, snapshot));
+   }
 
-      cr.getStatus().setApiModule(new ModuleStatus(ApicurioStudioStatus.State.DEPLOYING));
+   /**
+    * Manage resources of the Apicurio Studio Ws module.
+    * @param cr The studio custom resource.
+    * @param snapshot The snapshot of studio child resources for this reconciliation.
+    */
+   public void createOrUpdateWsModule(ApicurioStudio cr, ChildResourceSnapshot snapshot) {
+      final ApicurioStudioSpec spec = cr.getSpec();
+      final String ns = cr.getMetadata().getNamespace();
+      final List<OwnerReference> refs = List.of(getOwnerReference(cr));
 
-      // Dealing with resources of Ws module.
       logger.infof("Creating a new Service for apicurio-studio-ws, named '%s'", ApicurioStudioResources.getWSDeploymentName(spec));
       Service wsService = ApicurioStudioResources.prepareWSService(spec);
       wsService.getMetadata().setOwnerReferences(refs);
@@ -364,7 +780,7 @@ public class ApicurioStudioController implements ResourceController<ApicurioStud
          cr.getStatus().setWsUrl(wsRoute.getSpec().getHost());
       } else {
          // Create a Secret for Ingress certs if needed.
-         createIngressSecretIfNeeded(cr, spec.getWsModule().getIngress(),
+         createIngressSecretIfNeeded(cr, snapshot, spec.getWsModule().getIngress(),
                ApicurioStudioResources.APICURIO_STUDIO_WS_MODULE_DEFAULT_INGRESS_SECRET,
                ApicurioStudioResources.APICURIO_STUDIO_WS_MODULE,
                ApicurioStudioResources.getWSIngressHost(spec));
@@ -381,12 +797,21 @@ public class ApicurioStudioController implements ResourceController<ApicurioStud
 
       logger.infof("Creating a new Deployment for apicurio-studio-ws, named '%s'", ApicurioStudioResources.getWSDeploymentName(spec));
       Deployment wsDeployment = ApicurioStudioResources.prepareWSDeployment(spec);
-      wsDeployment.getMetadata().setOwnerReferences(refs);
-      client.apps().deployments().inNamespace(ns).createOrReplace(wsDeployment);
+      applyDeployment(cr, wsDeployment, refs, snapshot);
 
-      cr.getStatus().setWsModule(new ModuleStatus(ApicurioStudioStatus.State.DEPLOYING));
+      cr.getStatus().setWsModule(getAppliedModuleStatus(cr.getStatus().getWsModule(), wsDeployment, snapshot));
+   }
+
+   /**
+    * Manage resources of the Apicurio Studio UI module.
+    * @param cr The studio custom resource.
+    * @param snapshot The snapshot of studio child resources for this reconciliation.
+    */
+   public void createOrUpdateUiModule(ApicurioStudio cr, ChildResourceSnapshot snapshot) {
+      final ApicurioStudioSpec spec = cr.getSpec();
+      final String ns = cr.getMetadata().getNamespace();
+      final List<OwnerReference> refs = List.of(getOwnerReference(cr));
 
-      // Dealing with resources of UI module.
       logger.infof("Creating a new Service for apicurio-studio-ui, named '%s'", ApicurioStudioResources.getUIDeploymentName(spec));
       Service uiService = ApicurioStudioResources.prepareUIService(spec);
       uiService.getMetadata().setOwnerReferences(refs);
@@ -394,10 +819,9 @@ public class ApicurioStudioController implements ResourceController<ApicurioStud
 
       logger.infof("Creating a new Deployment for apicurio-studio-ui, named '%s'", ApicurioStudioResources.getUIDeploymentName(spec));
       Deployment uiDeployment = ApicurioStudioResources.prepareUIDeployment(spec, cr.getStatus());
-      uiDeployment.getMetadata().setOwnerReferences(refs);
-      client.apps().deployments().inNamespace(ns).createOrReplace(uiDeployment);
+      applyDeployment(cr, uiDeployment, refs, snapshot);
 
-      cr.getStatus().setUiModule(new ModuleStatus(ApicurioStudioStatus.State.DEPLOYING));
+      cr.getStatus().setUiModule(getAppliedModuleStatus(cr.getStatus().getUiModule(), uiDeployment, snapshot));
    }
 
    /**
@@ -406,25 +830,29 @@ public class ApicurioStudioController implements ResourceController<ApicurioStud
     * @param deployment The deployment that has been modified.
     */
    public void handleDeletedDeployment(Deployment deployment) {
+      logSampler.forget(deployment.getMetadata().getName());
       // Retrieve owning custom resource.
       String crName = deployment.getMetadata().getOwnerReferences().get(0).getName();
-      ApicurioStudio apicurioStudio = client.customResources(ApicurioStudio.class)
-            .inNamespace(client.getNamespace()).withName(crName).get();
+      ApicurioStudio apicurioStudio = statusWriter.read(client.getNamespace(), crName);
 
-      if (apicurioStudio != null && !apicurioStudio.isMarkedForDeletion()) {
+      if (apicurioStudio != null && apicurioStudio.getStatus() != null && !apicurioStudio.isMarkedForDeletion()) {
          String moduleName = deployment.getMetadata().getLabels().get("module");
-         switch (moduleName) {
-            case ApicurioStudioResources.APICURIO_STUDIO_API_MODULE:
-            case ApicurioStudioResources.APICURIO_STUDIO_WS_MODULE:
-            case ApicurioStudioResources.APICURIO_STUDIO_UI_MODULE:
-               createOrUpdateApicurioStudioResources(apicurioStudio);
-               break;
-            case KeycloakResources.APICURIO_STUDIO_AUTH_MODULE:
-               createOrUpdateKeycloakResources(apicurioStudio);
-               break;
-            case DatabaseResources.APICURIO_STUDIO_DB_MODULE:
-               createOrUpdateDatabaseResources(apicurioStudio);
-               break;
+         ModuleDescriptor module = moduleRegistry.get(moduleName);
+         if (module == null) {
+            logger.warnf("Deleted Deployment '%s' does not belong to a known module, ignoring it", deployment.getMetadata().getName());
+            return;
+         }
+         // Only repair the affected module, others are left untouched.
+         logger.infof("Repairing module '%s' of '%s'", moduleName, crName);
+         // Children are labelled with the studio spec name, not the custom resource one.
+         ChildResourceSnapshot snapshot = new ChildResourceSnapshot(client, apicurioStudio.getMetadata().getNamespace(),
+               apicurioStudio.getSpec().getName());
+         module.reconcile(apicurioStudio, snapshot);
+         // Recreated Deployment starts a new generation, record it so that it's not seen as diverging.
+         recordAppliedHashes(apicurioStudio, snapshot);
+         if (module.hasStatus() || !snapshot.getAppliedHashes().isEmpty()) {
+            statusWriter.write(apicurioStudio);
+            updateGlobalStateIfNeeded(crName);
          }
       }
    }
@@ -436,32 +864,79 @@ public class ApicurioStudioController implements ResourceController<ApicurioStud
    public void handleModifiedDeployment(Deployment deployment) {
       // Retrieve owning custom resource.
       String crName = deployment.getMetadata().getOwnerReferences().get(0).getName();
-      ApicurioStudio apicurioStudio = client.customResources(ApicurioStudio.class)
-            .inNamespace(client.getNamespace()).withName(crName).get();
+      ApicurioStudio apicurioStudio = statusWriter.read(client.getNamespace(), crName);
 
       // Maybe CR is null if deleted...
       // Maybe status is still null as the main loop is not yet finished...
       if (apicurioStudio != null && apicurioStudio.getStatus() != null) {
-         logger.infof("Handling modified Deployment for CR: " + ToStringBuilder.reflectionToString(apicurioStudio.getStatus()));
+         final ApicurioStudioStatus crStatus = apicurioStudio.getStatus();
+         if (logger.isDebugEnabled()) {
+            logger.debugf("Handling modified Deployment for CR: %s", Lazy.of(() -> ToStringBuilder.reflectionToString(crStatus)));
+         }
 
          if (!apicurioStudio.isMarkedForDeletion()) {
             ModuleStatus status = findModuleStatus(apicurioStudio.getStatus(), deployment.getMetadata().getLabels().get("module"));
-            logger.info("Got a ModuleStatus ? " + status);
+            logger.debugf("Got a ModuleStatus ? %s", status);
             if (status != null) {
-               logger.infof("Looking if something has to be updated for '%s'", deployment.getMetadata().getLabels().get("module"));
+               logger.debugf("Looking if something has to be updated for '%s'", deployment.getMetadata().getLabels().get("module"));
                boolean updated = false;
 
                if (!deployment.isMarkedForDeletion()) {
-                  logger.info("Status.isReady() ? " + status.isReady() + " - " + status.getState());
-                  logger.info("ReadyReplicas: " + deployment.getStatus().getReadyReplicas());
-                  if (!status.isReady() && deployment.getStatus().getReadyReplicas() != null
-                        && deployment.getStatus().getReadyReplicas() > 0) {
-                     status.setState(ApicurioStudioStatus.State.READY);
-                     status.setError(false);
-                     status.setMessage(deployment.getStatus().getReadyReplicas() + " ready replica(s)");
-                     status.updateLastTransitionTime();
+                  logger.debugf("Status.isReady() ? %s - %s", status.isReady(), status.getState());
+                  DeploymentRollout rollout = DeploymentRollout.evaluate(deployment);
+                  // Progress of a rollout is reported on every replica change, only log some of it.
+                  long suppressed = rollout.getPhase() == DeploymentRollout.Phase.PROGRESSING ?
+                        logSampler.sample(deployment.getMetadata().getName()) : 0;
+                  if (suppressed >= 0) {
+                     logger.infof("Rollout of '%s' is %s (%d%%): %s (%d similar lines suppressed)", deployment.getMetadata().getName(),
+                           rollout.getPhase(), rollout.getProgress(), rollout.getMessage(), suppressed);
+                  }
+                  if (!Objects.equals(rollout.getProgress(), status.getRolloutProgress())) {
+                     status.setRolloutProgress(rollout.getProgress());
                      updated = true;
                   }
+                  switch (rollout.getPhase()) {
+                     case COMPLETE:
+                        if (!status.isReady() && isPassingHealthChecks(deployment)) {
+                           boolean wasDeploying = status.isDeploying();
+                           ModuleTransitions.markReady(status, rollout.getMessage());
+                           if (wasDeploying) {
+                              logger.infof("Module '%s' got ready in %d seconds", deployment.getMetadata().getLabels().get("module"),
+                                    status.getTimeToReadySeconds());
+                           }
+                           updated = true;
+                        }
+                        break;
+                     case PROGRESSING:
+                        // An upgrade is rolling out, module is no longer at its desired state.
+                        if (status.isReady()) {
+                           status.setState(ApicurioStudioStatus.State.DEPLOYING);
+                           status.setMessage(rollout.getMessage());
+                           status.updateLastTransitionTime();
+                           updated = true;
+                        } else if (status.isDeploying() && !Objects.equals(rollout.getMessage(), status.getMessage())) {
+                           status.setMessage(rollout.getMessage());
+                           updated = true;
+                        }
+                        break;
+                     case FAILED:
+                        if (status.getState() != ApicurioStudioStatus.State.ERROR) {
+                           status.setState(ApicurioStudioStatus.State.ERROR);
+                           status.setError(true);
+                           status.setMessage(rollout.getMessage());
+                           status.updateLastTransitionTime();
+                           updated = true;
+                        }
+                        break;
+                  }
+                  if (DatabaseResources.APICURIO_STUDIO_DB_REPLICA_MODULE.equals(deployment.getMetadata().getLabels().get("module"))) {
+                     // Lag is sampled out of the event path, just report the latest cached value.
+                     Long lag = replicationLagEventSource.getLagSeconds(apicurioStudio.getMetadata().getUid());
+                     if (lag != null && !Objects.equals(lag, status.getReplicationLagSeconds())) {
+                        status.setReplicationLagSeconds(lag);
+                        updated = true;
+                     }
+                  }
                } else {
                   status.setState(ApicurioStudioStatus.State.ERROR);
                   status.setError(true);
@@ -472,41 +947,427 @@ public class ApicurioStudioController implements ResourceController<ApicurioStud
 
                // Now just re-update the status if necessary.
                if (updated) {
-                  client.customResources(ApicurioStudio.class)
-                        .inNamespace(client.getNamespace()).withName(crName).updateStatus(apicurioStudio);
+                  statusWriter.write(apicurioStudio);
                }
             }
 
             // Should you update global status?
-            // Refresh our local version before checking.
-            apicurioStudio = client.customResources(ApicurioStudio.class).inNamespace(client.getNamespace()).withName(crName).get();
-            if (apicurioStudio.getStatus().getState() != ApicurioStudioStatus.State.READY) {
-               ApicurioStudioStatus st = apicurioStudio.getStatus();
-               if (st.getApiModule() != null && st.getApiModule().isReady()
-                     && st.getWsModule() != null && st.getWsModule().isReady()
-                     && st.getUiModule() != null && st.getUiModule().isReady()
-                     && st.getKeycloakModule() != null && (st.getKeycloakModule().isReady() || st.getKeycloakModule().isPreexisting())
-                     && st.getDatabaseModule() != null && (st.getDatabaseModule().isReady() || st.getDatabaseModule().isPreexisting())) {
-                  st.setState(ApicurioStudioStatus.State.READY);
-                  st.setMessage("All module deployments are ready");
-                  client.customResources(ApicurioStudio.class)
-                        .inNamespace(client.getNamespace()).updateStatus(apicurioStudio);
-               }
-            } else {
-               ApicurioStudioStatus st = apicurioStudio.getStatus();
-               if (st.getApiModule() == null || !st.getApiModule().isReady()
-                     || st.getWsModule() == null || !st.getWsModule().isReady()
-                     || st.getUiModule() == null || !st.getUiModule().isReady()
-                     || st.getKeycloakModule() == null || (!st.getKeycloakModule().isReady() && !st.getKeycloakModule().isPreexisting())
-                     || st.getDatabaseModule() == null || (!st.getDatabaseModule().isReady() && !st.getDatabaseModule().isPreexisting())) {
-                  st.setState(ApicurioStudioStatus.State.DEPLOYING);
-                  st.setMessage("Currently reconciliating...");
-                  client.customResources(ApicurioStudio.class)
-                        .inNamespace(client.getNamespace()).updateStatus(apicurioStudio);
+            updateGlobalStateIfNeeded(crName);
+         }
+      }
+   }
+
+   /**
+    * Handle fresh health check results of a module and the update of CR Status. A READY module whose
+    * checks mostly fail is put in ERROR, and comes back to READY once checks recover. A DEPLOYING module
+    * whose rollout completed before its checks were passing is made READY by the first passing check.
+    * Latency and error rate are only written when they cross a bucket, so that the steady stream of
+    * checks of healthy modules does not cost any API call.
+    * @param cr The studio custom resource.
+    * @param event The health check event
+    */
+   public void handleHealthCheck(ApicurioStudio cr, HealthCheckEvent event) {
+      String crName = cr.getMetadata().getName();
+      Deployment deployment = getKnownModuleDeployment(cr, event.getModule());
+      DeploymentRollout rollout = deployment != null ? DeploymentRollout.evaluate(deployment) : null;
+      ModuleStatus known = cr.getStatus() != null ? findModuleStatus(cr.getStatus(), event.getModule()) : null;
+      if (known != null && !ModuleTransitions.isHealthCheckTransition(known, event.isHealthy(), rollout)
+            && !ModuleTransitions.isHealthMetricsChange(known, event.getLatencyMillis(), event.getErrorRate())) {
+         // Check confirms what the status already says, spare reading and writing it.
+         return;
+      }
+
+      ApicurioStudio apicurioStudio = statusWriter.read(client.getNamespace(), crName);
+      if (apicurioStudio == null || apicurioStudio.getStatus() == null || apicurioStudio.isMarkedForDeletion()) {
+         return;
+      }
+      ModuleStatus status = findModuleStatus(apicurioStudio.getStatus(), event.getModule());
+      if (status == null) {
+         return;
+      }
+      boolean metricsChanged = ModuleTransitions.applyHealthMetrics(status, event.getLatencyMillis(), event.getErrorRate());
+      boolean stateChanged = ModuleTransitions.applyHealthCheck(status, event.isHealthy(), event.getErrorRate(), rollout);
+      if (stateChanged) {
+         if (status.isReady()) {
+            logger.infof("Module '%s' is passing health checks", event.getModule());
+         } else {
+            logger.warnf("Module '%s' is failing health checks: %s", event.getModule(), event);
+         }
+      }
+      if (metricsChanged || stateChanged) {
+         statusWriter.write(apicurioStudio);
+      }
+      if (stateChanged) {
+         updateGlobalStateIfNeeded(crName);
+      }
+   }
+
+   /**
+    * Handle a fresh replication lag sample of the database read replicas and the update of CR Status.
+    * @param cr The studio custom resource.
+    * @param event The replication lag event
+    */
+   public void handleReplicationLag(ApicurioStudio cr, ReplicationLagEvent event) {
+      ApicurioStudio apicurioStudio = statusWriter.read(client.getNamespace(), cr.getMetadata().getName());
+      if (apicurioStudio == null || apicurioStudio.getStatus() == null || apicurioStudio.isMarkedForDeletion()) {
+         return;
+      }
+      ModuleStatus status = apicurioStudio.getStatus().getDatabaseReplicaModule();
+      if (status != null && !Objects.equals(event.getLagSeconds(), status.getReplicationLagSeconds())) {
+         status.setReplicationLagSeconds(event.getLagSeconds());
+         statusWriter.write(apicurioStudio);
+      }
+   }
+
+   /**
+    * Handle a change of containers state in module pods and the update of CR Status. Crash looping
+    * modules are put in ERROR; once containers stop crash looping, they're restored to READY or DEPLOYING
+    * depending on their Deployment rollout.
+    * @param cr The studio custom resource.
+    * @param event The pod event
+    */
+   public void handlePodEvent(ApicurioStudio cr, PodEvent event) {
+      String crName = cr.getMetadata().getName();
+      String module = event.getSummary().getModule();
+      ApicurioStudio apicurioStudio = statusWriter.read(client.getNamespace(), crName);
+      if (apicurioStudio == null || apicurioStudio.getStatus() == null || apicurioStudio.isMarkedForDeletion()) {
+         return;
+      }
+      ModuleStatus status = findModuleStatus(apicurioStudio.getStatus(), module);
+      if (status == null) {
+         return;
+      }
+
+      List<PodSummary> pods = podEventSource.getModulePods(apicurioStudio.getMetadata().getUid(), module);
+      int restarts = pods.stream().mapToInt(PodSummary::getRestarts).sum();
+      boolean crashLooping = pods.stream().anyMatch(PodSummary::isCrashLooping);
+      // Prefer reporting OOMKills as they're actionable.
+      String lastTerminationReason = pods.stream().filter(PodSummary::isOOMKilled).findFirst()
+            .or(() -> pods.stream().filter(pod -> pod.getLastTerminationReason() != null).findFirst())
+            .map(PodSummary::getLastTerminationReason).orElse(status.getLastTerminationReason());
+
+      boolean updated = false;
+      if (!Objects.equals(restarts, status.getRestarts())) {
+         status.setRestarts(restarts);
+         updated = true;
+      }
+      if (!Objects.equals(lastTerminationReason, status.getLastTerminationReason())) {
+         status.setLastTerminationReason(lastTerminationReason);
+         updated = true;
+      }
+      if (!Objects.equals(crashLooping, status.getCrashLooping())) {
+         status.setCrashLooping(crashLooping);
+         updated = true;
+      }
+      Deployment deployment = getKnownModuleDeployment(apicurioStudio, module);
+      DeploymentRollout rollout = deployment != null ? DeploymentRollout.evaluate(deployment) : null;
+      if (ModuleTransitions.applyCrashLoop(status, crashLooping, lastTerminationReason, rollout)) {
+         if (crashLooping) {
+            logger.warnf("Module '%s' is crash looping, last termination reason: %s", module, lastTerminationReason);
+         } else {
+            logger.infof("Module '%s' is no longer crash looping, back to %s", module, status.getState());
+         }
+         updated = true;
+      }
+
+      if (updated) {
+         statusWriter.write(apicurioStudio);
+         updateGlobalStateIfNeeded(crName);
+      }
+      if (oomPolicyEnabled) {
+         raiseMemoryLimitIfNeeded(apicurioStudio, module, pods);
+      }
+   }
+
+   /** Raise memory limit of a module Deployment by a bounded step when its pods are repeatedly OOMKilled. */
+   private void raiseMemoryLimitIfNeeded(ApicurioStudio cr, String module, List<PodSummary> pods) {
+      Optional<PodSummary> oomKilled = pods.stream()
+            .filter(pod -> pod.isOOMKilled() && pod.getRestarts() >= oomPolicyRestartsThreshold && pod.getMemoryLimit() != null)
+            .findFirst();
+      if (oomKilled.isEmpty()) {
+         return;
+      }
+      final String ns = cr.getMetadata().getNamespace();
+      List<Deployment> deployments = client.apps().deployments().inNamespace(ns)
+            .withLabel("app", cr.getSpec().getName()).withLabel("module", module).list().getItems();
+      if (deployments.isEmpty()) {
+         return;
+      }
+      Deployment deployment = deployments.get(0);
+      Container container = deployment.getSpec().getTemplate().getSpec().getContainers().get(0);
+      Quantity current = container.getResources() != null && container.getResources().getLimits() != null ?
+            container.getResources().getLimits().get("memory") : null;
+      Quantity podLimit = new Quantity(oomKilled.get().getMemoryLimit());
+      // Only raise once per limit: pods of a previous raise may still be around.
+      if (current == null || Quantity.getAmountInBytes(current).compareTo(Quantity.getAmountInBytes(podLimit)) != 0) {
+         return;
+      }
+      Quantity next = MemoryLimitPolicy.nextLimit(current, oomPolicyStepPercent, new Quantity(oomPolicyMaxMemory));
+      if (next == null) {
+         logger.warnf("Module '%s' is OOMKilled but memory limit already reached maximum of %s", module, oomPolicyMaxMemory);
+         return;
+      }
+      logger.infof("Module '%s' is repeatedly OOMKilled, raising memory limit from %s to %s", module, current, next);
+      client.apps().deployments().inNamespace(ns).withName(deployment.getMetadata().getName()).edit(existing -> {
+         Deployment raised = new DeploymentBuilder(existing)
+               .editMetadata()
+                  .addToAnnotations(Constants.MEMORY_LIMIT_OVERRIDE_ANNOTATION, next.toString())
+               .endMetadata()
+               .build();
+         setMemoryLimit(raised, next);
+         return raised;
+      });
+   }
+
+   /** Get the Deployment of a studio module as last watched, null if not known. */
+   private Deployment getKnownModuleDeployment(ApicurioStudio cr, String module) {
+      return deploymentEventSource.findKnownResource(deployment ->
+            deployment.getMetadata().getLabels() != null
+                  && module.equals(deployment.getMetadata().getLabels().get("module"))
+                  && deployment.getMetadata().getOwnerReferences() != null
+                  && deployment.getMetadata().getOwnerReferences().stream()
+                        .anyMatch(ref -> cr.getMetadata().getUid().equals(ref.getUid())));
+   }
+
+   /** Tell if module of this deployment is not failing active health checks (or is not checked). */
+   private boolean isPassingHealthChecks(Deployment deployment) {
+      if (healthCheckEventSource == null) {
+         return true;
+      }
+      HealthStats stats = healthCheckEventSource.getStats(deployment.getMetadata().getOwnerReferences().get(0).getUid(),
+            deployment.getMetadata().getLabels().get("module"));
+      return stats == null || stats.isHealthy(healthCheckMaxErrorRate);
+   }
+
+   /**
+    * Compute global state from module statuses and update it if it changed.
+    * @param crName The name of studio custom resource
+    */
+   private void updateGlobalStateIfNeeded(String crName) {
+      // Refresh our local version before checking.
+      ApicurioStudio apicurioStudio = statusWriter.read(client.getNamespace(), crName);
+      if (apicurioStudio.getStatus().getState() != ApicurioStudioStatus.State.READY) {
+         ApicurioStudioStatus st = apicurioStudio.getStatus();
+         if (st.getApiModule() != null && st.getApiModule().isReady()
+               && st.getWsModule() != null && st.getWsModule().isReady()
+               && st.getUiModule() != null && st.getUiModule().isReady()
+               && st.getKeycloakModule() != null && (st.getKeycloakModule().isReady() || st.getKeycloakModule().isPreexisting())
+               && st.getDatabaseModule() != null && (st.getDatabaseModule().isReady() || st.getDatabaseModule().isPreexisting())) {
+            st.setState(ApicurioStudioStatus.State.READY);
+            st.setMessage("All module deployments are ready");
+            if (st.getPhase() == ApicurioStudioStatus.Phase.VERIFY) {
+               st.setPhase(ApicurioStudioStatus.Phase.DONE);
+            }
+            if (st.getTimeToReadySeconds() == null && apicurioStudio.getMetadata().getCreationTimestamp() != null) {
+               // Only record the first time, when whole studio is provisioned.
+               st.setTimeToReadySeconds(Duration.between(Instant.parse(apicurioStudio.getMetadata().getCreationTimestamp()),
+                     Instant.now()).getSeconds());
+            }
+            statusWriter.write(apicurioStudio);
+         }
+      } else {
+         ApicurioStudioStatus st = apicurioStudio.getStatus();
+         if (st.getApiModule() == null || !st.getApiModule().isReady()
+               || st.getWsModule() == null || !st.getWsModule().isReady()
+               || st.getUiModule() == null || !st.getUiModule().isReady()
+               || st.getKeycloakModule() == null || (!st.getKeycloakModule().isReady() && !st.getKeycloakModule().isPreexisting())
+               || st.getDatabaseModule() == null || (!st.getDatabaseModule().isReady() && !st.getDatabaseModule().isPreexisting())) {
+            st.setState(ApicurioStudioStatus.State.DEPLOYING);
+            st.setMessage("Currently reconciliating...");
+            statusWriter.write(apicurioStudio);
+         }
+      }
+   }
+
+   /**
+    * Derive the status of a module from the live rollout of its just applied Deployment, rather than assuming
+    * it's deploying: an unchanged Deployment does not roll out and would not raise any event to get ready again.
+    * @param previous The current module status
+    * @param deployment The applied Deployment
+    * @param snapshot The snapshot holding the live Deployment
+    * @return The module status to record
+    */
+   private ModuleStatus getAppliedModuleStatus(ModuleStatus previous, Deployment deployment, ChildResourceSnapshot snapshot) {
+      Deployment live = snapshot.getDeployment(deployment.getMetadata().getName());
+      return ModuleTransitions.applyRollout(previous, DeploymentRollout.evaluate(live), isPassingHealthChecks(live));
+   }
+
+   /**
+    * Create a Deployment if missing or patch an existing one in place. Patching (rather than replacing)
+    * lets Kubernetes roll pods gradually according to the Deployment strategy, and is a no-op
+    * when nothing has changed.
+    */
+   private void applyDeployment(ApicurioStudio cr, Deployment deployment, List<OwnerReference> refs, ChildResourceSnapshot snapshot) {
+      final String ns = cr.getMetadata().getNamespace();
+      String name = deployment.getMetadata().getName();
+      deployment.getMetadata().setOwnerReferences(refs);
+      // Make pods watchable and traceable back to their studio.
+      deployment.getSpec().getTemplate().getMetadata().getLabels().put(Constants.MANAGED_BY_LABEL, Constants.OPERATOR_ID);
+      if (deployment.getSpec().getTemplate().getMetadata().getAnnotations() == null) {
+         deployment.getSpec().getTemplate().getMetadata().setAnnotations(new HashMap<>());
+      }
+      deployment.getSpec().getTemplate().getMetadata().getAnnotations().put(Constants.OWNER_UID_ANNOTATION, refs.get(0).getUid());
+      // Roll pods only when credentials they consume actually change.
+      String secretsChecksum = getSecretsChecksum(ns, deployment, snapshot);
+      if (secretsChecksum != null) {
+         deployment.getSpec().getTemplate().getMetadata().getAnnotations().put(Constants.SECRET_CHECKSUM_ANNOTATION, secretsChecksum);
+      }
+      // Hash the desired spec so that an unchanged Deployment is not written again.
+      String appliedHash = AppliedHashUtil.hash(deployment);
+      if (deployment.getMetadata().getAnnotations() == null) {
+         deployment.getMetadata().setAnnotations(new HashMap<>());
+      }
+      deployment.getMetadata().getAnnotations().put(Constants.APPLIED_HASH_ANNOTATION, appliedHash);
+
+      Deployment current = snapshot.getDeployment(name);
+      if (current == null) {
+         Deployment created = client.apps().deployments().inNamespace(ns).create(deployment);
+         snapshot.put(created);
+         snapshot.putApplied(name, appliedHash, created.getMetadata().getGeneration());
+         return;
+      }
+      // Generation is bumped on any spec change, so a matching one means nobody edited it since.
+      Long appliedGeneration = cr.getStatus().getAppliedGenerations() != null ?
+            cr.getStatus().getAppliedGenerations().get(name) : null;
+      if (AppliedHashUtil.isApplied(current, appliedHash, appliedGeneration)) {
+         logger.debugf("Deployment '%s' is already applied with hash %s, skipping it", name, appliedHash);
+         snapshot.putApplied(name, appliedHash, appliedGeneration);
+         return;
+      }
+      if (appliedGeneration != null && appliedHash.equals(AppliedHashUtil.getAppliedHash(current))) {
+         logger.infof("Deployment '%s' has been changed out of the operator, applying it again", name);
+      }
+      // Keep memory limit raised after OOMKills, spec would bring it back otherwise.
+      String memoryOverride = current.getMetadata().getAnnotations() != null ?
+            current.getMetadata().getAnnotations().get(Constants.MEMORY_LIMIT_OVERRIDE_ANNOTATION) : null;
+      if (memoryOverride != null) {
+         setMemoryLimit(deployment, new Quantity(memoryOverride));
+      }
+      // Selector is immutable, only update what we own.
+      Deployment edited = client.apps().deployments().inNamespace(ns).withName(name).edit(existing -> new DeploymentBuilder(existing)
+            .editMetadata()
+               .addToLabels(deployment.getMetadata().getLabels())
+               .addToAnnotations(Constants.APPLIED_HASH_ANNOTATION, appliedHash)
+               .withOwnerReferences(refs)
+            .endMetadata()
+            .editSpec()
+               .withReplicas(deployment.getSpec().getReplicas())
+               .withStrategy(deployment.getSpec().getStrategy())
+               .withMinReadySeconds(deployment.getSpec().getMinReadySeconds())
+               .withTemplate(deployment.getSpec().getTemplate())
+            .endSpec()
+            .build());
+      snapshot.put(edited);
+      snapshot.putApplied(name, appliedHash, edited.getMetadata().getGeneration());
+   }
+
+   /** Compute a checksum of the Secrets referenced by containers environment, null if none. */
+   private String getSecretsChecksum(String ns, Deployment deployment, ChildResourceSnapshot snapshot) {
+      Set<String> secretNames = new TreeSet<>();
+      PodSpec podSpec = deployment.getSpec().getTemplate().getSpec();
+      List<Container> containers = new ArrayList<>(podSpec.getContainers());
+      if (podSpec.getInitContainers() != null) {
+         containers.addAll(podSpec.getInitContainers());
+      }
+      for (Container container : containers) {
+         if (container.getEnv() != null) {
+            for (EnvVar env : container.getEnv()) {
+               if (env.getValueFrom() != null && env.getValueFrom().getSecretKeyRef() != null) {
+                  secretNames.add(env.getValueFrom().getSecretKeyRef().getName());
                }
             }
          }
       }
+      if (secretNames.isEmpty()) {
+         return null;
+      }
+      StringBuilder content = new StringBuilder();
+      for (String secretName : secretNames) {
+         Secret secret = snapshot.getSecret(secretName);
+         if (secret == null) {
+            // Not managed by us (eg. credentials of a pre-existing database), fetch it directly.
+            secret = client.secrets().inNamespace(ns).withName(secretName).get();
+         }
+         if (secret != null) {
+            content.append(secretName).append('=').append(SecretPatchUtil.checksum(secret)).append('\n');
+         }
+      }
+      return ChecksumUtil.checksum(content.toString());
+   }
+
+   /**
+    * Create a credentials Secret if missing. An existing Secret is only patched for entries explicitly set
+    * in spec that differ, or for entries it's missing, so that generated credentials are never rotated.
+    */
+   private void createOrPatchSecret(String ns, Secret secret, Map<String, String> explicitData, List<OwnerReference> refs, String module,
+                                    ChildResourceSnapshot snapshot) {
+      String name = secret.getMetadata().getName();
+      Secret existing = snapshot.getSecret(name);
+      if (existing == null) {
+         logger.infof("Creating a new Secret for %s, named '%s'", module, name);
+         secret.getMetadata().setOwnerReferences(refs);
+         snapshot.put(client.secrets().inNamespace(ns).create(secret));
+         return;
+      }
+
+      Map<String, String> patch = SecretPatchUtil.getDataPatch(existing, secret, explicitData);
+      if (!patch.isEmpty()) {
+         logger.infof("Patching Secret for %s, named '%s', entries: %s", module, name, patch.keySet());
+         snapshot.put(client.secrets().inNamespace(ns).withName(name).edit(s -> SecretPatchUtil.applyDataPatch(s, patch)));
+      }
+   }
+
+   /** Set the memory limit of main container, lowering memory request if it would exceed the limit. */
+   private void setMemoryLimit(Deployment deployment, Quantity limit) {
+      Container container = deployment.getSpec().getTemplate().getSpec().getContainers().get(0);
+      if (container.getResources() == null) {
+         container.setResources(new ResourceRequirements());
+      }
+      if (container.getResources().getLimits() == null) {
+         container.getResources().setLimits(new HashMap<>());
+      }
+      container.getResources().getLimits().put("memory", limit);
+      Map<String, Quantity> requests = container.getResources().getRequests();
+      if (requests != null && requests.get("memory") != null
+            && Quantity.getAmountInBytes(requests.get("memory")).compareTo(Quantity.getAmountInBytes(limit)) > 0) {
+         requests.put("memory", limit);
+      }
+   }
+
+   /**
+    * Create a PersistentVolumeClaim if missing or expand an existing one when requested size grows.
+    * Shrinking or changing storage class is not supported by Kubernetes and is just reported.
+    */
+   private void createOrExpandPVC(String ns, PersistentVolumeClaim pvc, List<OwnerReference> refs, String module, ChildResourceSnapshot snapshot) {
+      String name = pvc.getMetadata().getName();
+      PersistentVolumeClaim existing = snapshot.getPersistentVolumeClaim(name);
+      if (existing == null) {
+         logger.infof("Creating a new PersistentVolumeClaim for %s, named '%s'", module, name);
+         pvc.getMetadata().setOwnerReferences(refs);
+         snapshot.put(client.persistentVolumeClaims().inNamespace(ns).create(pvc));
+         return;
+      }
+
+      String storageClass = pvc.getSpec().getStorageClassName();
+      if (storageClass != null && !storageClass.equals(existing.getSpec().getStorageClassName())) {
+         logger.warnf("StorageClass of PersistentVolumeClaim '%s' cannot be changed from '%s' to '%s', ignoring",
+               name, existing.getSpec().getStorageClassName(), storageClass);
+      }
+      Quantity requested = pvc.getSpec().getResources().getRequests().get("storage");
+      Quantity current = existing.getSpec().getResources().getRequests().get("storage");
+      int comparison = Quantity.getAmountInBytes(requested).compareTo(Quantity.getAmountInBytes(current));
+      if (comparison > 0) {
+         logger.infof("Expanding PersistentVolumeClaim for %s, named '%s', from %s to %s", module, name, current, requested);
+         snapshot.put(client.persistentVolumeClaims().inNamespace(ns).withName(name).edit(claim -> new PersistentVolumeClaimBuilder(claim)
+               .editSpec()
+                  .editResources()
+                     .addToRequests("storage", requested)
+                  .endResources()
+               .endSpec()
+               .build()));
+      } else if (comparison < 0) {
+         logger.warnf("PersistentVolumeClaim '%s' cannot be shrunk from %s to %s, ignoring", name, current, requested);
+      }
    }
 
    /** Build a new OwnerReference to assign to CR resources. */
@@ -520,16 +1381,113 @@ public class ApicurioStudioController implements ResourceController<ApicurioStud
             .build();
    }
 
+   /** Repairs of deleted Deployments come first, initial provisioning last. */
+   private FairReconcileQueue.Priority getReconcilePriority(List<Event> events) {
+      boolean provisioning = false;
+      for (Event event : events) {
+         if (event instanceof DeploymentEvent && ((DeploymentEvent) event).getAction() == Action.DELETED) {
+            return FairReconcileQueue.Priority.REPAIR;
+         }
+         provisioning |= event instanceof CustomResourceEvent;
+      }
+      return provisioning ? FairReconcileQueue.Priority.PROVISIONING : FairReconcileQueue.Priority.UPDATE;
+   }
+
+   private Optional<CustomResourceEvent> getLatestCustomResourceEvent(List<Event> events) {
+      for (int i = events.size() - 1; i >= 0; i--) {
+         if (events.get(i) instanceof CustomResourceEvent) {
+            return Optional.of((CustomResourceEvent) events.get(i));
+         }
+      }
+      return Optional.empty();
+   }
+
+   /**
+    * List existing studios page by page and plan their startup reconciliations, studios needing attention first.
+    * @return The plan or null if studios cannot be listed, reconciliations being then done in SDK order.
+    */
+   private StartupPlan buildStartupPlan() {
+      List<ApicurioStudio> studios = new ArrayList<>();
+      String continueToken = null;
+      try {
+         do {
+            KubernetesResourceList<ApicurioStudio> page = client.customResources(ApicurioStudio.class)
+                  .inNamespace(client.getNamespace())
+                  .list(new ListOptionsBuilder().withLimit(startupPageSize).withContinue(continueToken).build());
+            studios.addAll(page.getItems());
+            continueToken = page.getMetadata().getContinue();
+         } while (continueToken != null && !continueToken.isEmpty());
+      } catch (KubernetesClientException kce) {
+         logger.warnf("Cannot list existing studios (%s), reconciling them in SDK order", kce.getMessage());
+         return null;
+      }
+      StartupPlan plan = new StartupPlan(studios, startupMaxConcurrency, startupBatchIntervalMillis,
+            TimeUnit.SECONDS.toMillis(startupWarmUpWindowSeconds), System.currentTimeMillis());
+      logger.infof("Planned startup reconciliation of %d studios", plan.getPendingCount());
+      return plan;
+   }
+
+   /** Merge the hashes and generations applied during a reconciliation into studio status. */
+   private void recordAppliedHashes(ApicurioStudio cr, ChildResourceSnapshot snapshot) {
+      if (!snapshot.getAppliedHashes().isEmpty()) {
+         Map<String, String> appliedHashes = cr.getStatus().getAppliedHashes() != null ?
+               new TreeMap<>(cr.getStatus().getAppliedHashes()) : new TreeMap<>();
+         appliedHashes.putAll(snapshot.getAppliedHashes());
+         cr.getStatus().setAppliedHashes(appliedHashes);
+         Map<String, Long> appliedGenerations = cr.getStatus().getAppliedGenerations() != null ?
+               new TreeMap<>(cr.getStatus().getAppliedGenerations()) : new TreeMap<>();
+         appliedGenerations.putAll(snapshot.getAppliedGenerations());
+         cr.getStatus().setAppliedGenerations(appliedGenerations);
+      }
+   }
+
+   /**
+    * Tell if live Deployments of a studio diverge from the hashes and generations recorded in its status.
+    * Deployments are taken from the watch list done at startup so that this check does not issue any API call.
+    */
+   private boolean isDiverging(ApicurioStudio cr) {
+      Map<String, String> appliedHashes = cr.getStatus().getAppliedHashes();
+      if (appliedHashes == null || appliedHashes.isEmpty()) {
+         logger.infof("ApicurioStudio '%s' has no applied hashes, checking it completely", cr.getMetadata().getName());
+         return true;
+      }
+      List<String> diverging = AppliedHashUtil.findDiverging(appliedHashes,
+            cr.getStatus().getAppliedGenerations(), deploymentEventSource::getKnownResource);
+      if (!diverging.isEmpty()) {
+         logger.infof("ApicurioStudio '%s' diverges from applied state on %s", cr.getMetadata().getName(), diverging);
+         return true;
+      }
+      return false;
+   }
+
    /** Find the ModuleStatus corresponding to deployment. */
    private ModuleStatus findModuleStatus(ApicurioStudioStatus status, String moduleName) {
-      switch (moduleName) {
-         case ApicurioStudioResources.APICURIO_STUDIO_API_MODULE: return status.getApiModule();
-         case ApicurioStudioResources.APICURIO_STUDIO_WS_MODULE: return status.getWsModule();
-         case ApicurioStudioResources.APICURIO_STUDIO_UI_MODULE: return status.getUiModule();
-         case KeycloakResources.APICURIO_STUDIO_AUTH_MODULE: return status.getKeycloakModule();
-         case DatabaseResources.APICURIO_STUDIO_DB_MODULE: return status.getDatabaseModule();
-      }
-      return null;
+      ModuleDescriptor module = moduleRegistry.get(moduleName);
+      return module != null ? module.getStatus(status) : null;
+   }
+
+   /** Build the registry of managed modules with their dependencies. */
+   private ModuleRegistry buildModuleRegistry() {
+      return new ModuleRegistry()
+            .register(new ModuleDescriptor(KeycloakResources.APICURIO_STUDIO_AUTH_MODULE, this::createOrUpdateKeycloakResources,
+                  ApicurioStudioStatus::getKeycloakModule))
+            .register(new ModuleDescriptor(DatabaseResources.APICURIO_STUDIO_DB_MODULE, this::createOrUpdateDatabaseModule,
+                  ApicurioStudioStatus::getDatabaseModule))
+            .register(new ModuleDescriptor(DatabaseResources.APICURIO_STUDIO_DB_POOLER_MODULE, this::createOrUpdateDatabasePoolerModule,
+                  null, DatabaseResources.APICURIO_STUDIO_DB_MODULE))
+            .register(new ModuleDescriptor(DatabaseResources.APICURIO_STUDIO_DB_REPLICA_MODULE, this::createOrUpdateDatabaseReplicaModule,
+                  ApicurioStudioStatus::getDatabaseReplicaModule,
+                  DatabaseResources.APICURIO_STUDIO_DB_MODULE))
+            .register(new ModuleDescriptor(ApicurioStudioResources.APICURIO_STUDIO_API_MODULE, this::createOrUpdateApiModule,
+                  ApicurioStudioStatus::getApiModule,
+                  KeycloakResources.APICURIO_STUDIO_AUTH_MODULE, DatabaseResources.APICURIO_STUDIO_DB_MODULE))
+            .register(new ModuleDescriptor(ApicurioStudioResources.APICURIO_STUDIO_WS_MODULE, this::createOrUpdateWsModule,
+                  ApicurioStudioStatus::getWsModule,
+                  DatabaseResources.APICURIO_STUDIO_DB_MODULE))
+            .register(new ModuleDescriptor(ApicurioStudioResources.APICURIO_STUDIO_UI_MODULE, this::createOrUpdateUiModule,
+                  ApicurioStudioStatus::getUiModule,
+                  KeycloakResources.APICURIO_STUDIO_AUTH_MODULE, ApicurioStudioResources.APICURIO_STUDIO_API_MODULE,
+                  ApicurioStudioResources.APICURIO_STUDIO_WS_MODULE));
    }
 
    /** Find a Deployment using its name within a list. */
@@ -541,4 +1499,21 @@ public class ApicurioStudioController implements ResourceController<ApicurioStud
       }
       return null;
    }
+
+   /** A reconciliation waiting in the fair queue, with all the events received since it was queued. */
+   private static class PendingReconcile {
+      private final ApicurioStudio cr;
+      private final List<Event> events;
+
+      private PendingReconcile(ApicurioStudio cr, List<Event> events) {
+         this.cr = cr;
+         this.events = events;
+      }
+
+      private static PendingReconcile merge(PendingReconcile previous, PendingReconcile next) {
+         List<Event> events = new ArrayList<>(previous.events);
+         events.addAll(next.events);
+         return new PendingReconcile(next.cr, events);
+      }
+   }
 }
@@ -25,4 +25,15 @@ public class Constants {
    public static final String MANAGED_BY_LABEL = "app.kubernetes.io/managed-by";
    /** The Operator identifier. */
    public static final String OPERATOR_ID = "apicurio-studio-operator";
+
+   /** The pod template annotation holding checksum of mounted configuration. */
+   public static final String CONFIG_CHECKSUM_ANNOTATION = "studio.apicur.io/config-checksum";
+   /** The pod template annotation holding checksum of consumed credentials Secrets. */
+   public static final String SECRET_CHECKSUM_ANNOTATION = "studio.apicur.io/secret-checksum";
+   /** The pod template annotation holding uid of owning studio custom resource. */
+   public static final String OWNER_UID_ANNOTATION = "studio.apicur.io/owner-uid";
+   /** The Deployment annotation holding a memory limit raised by operator after OOMKills. */
+   public static final String MEMORY_LIMIT_OVERRIDE_ANNOTATION = "studio.apicur.io/memory-limit-override";
+   /** The Deployment annotation holding hash of the spec applied by operator. */
+   public static final String APPLIED_HASH_ANNOTATION = "studio.apicur.io/applied-hash";
 }
@@ -18,6 +18,7 @@ package io.apicurio.studio.operator;
 import javax.inject.Inject;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.apicurio.studio.operator.json.JacksonSupport;
 import io.javaoperatorsdk.operator.Operator;
 import io.quarkus.runtime.Quarkus;
 import io.quarkus.runtime.QuarkusApplication;
@@ -47,6 +48,7 @@ public class OperatorApplication implements QuarkusApplication {
    @Override
    public int run(String... args) throws Exception {
       logger.info("Starting Apicurio Studio operator");
+      JacksonSupport.installOnKubernetesClient();
       operator.start();
       Quarkus.waitForExit();
       return 0;
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.health;
+
+import io.javaoperatorsdk.operator.processing.event.AbstractEvent;
+
+/**
+ * An event raised when health of a module changed or when fresh stats are available.
+ * @author laurent.broudoux@gmail.com
+ */
+public class HealthCheckEvent extends AbstractEvent {
+
+   private final String module;
+   private final Long latencyMillis;
+   private final Double errorRate;
+   private final boolean healthy;
+
+   /**
+    * Build a new HealthCheck event.
+    * @param customResourceUid The uid of studio custom resource owning module
+    * @param module The name of checked module
+    * @param stats The current stats of module checks
+    * @param healthy Whether module is considered healthy
+    * @param eventSource The event source that has materialized event
+    */
+   public HealthCheckEvent(String customResourceUid, String module, HealthStats stats, boolean healthy,
+                           HealthCheckEventSource eventSource) {
+      super(customResourceUid, eventSource);
+      this.module = module;
+      this.latencyMillis = stats.getAverageLatencyMillis();
+      this.errorRate = stats.getErrorRate();
+      this.healthy = healthy;
+   }
+
+   /** @return The name of checked module. */
+   public String getModule() {
+      return module;
+   }
+   /** @return The average latency of checks in milliseconds. */
+   public Long getLatencyMillis() {
+      return latencyMillis;
+   }
+   /** @return The ratio of failed checks. */
+   public Double getErrorRate() {
+      return errorRate;
+   }
+   /** @return Whether module is considered healthy. */
+   public boolean isHealthy() {
+      return healthy;
+   }
+
+   @Override
+   public String toString() {
+      return "HealthCheckEvent{module=" + module + ", latencyMillis=" + latencyMillis
+            + ", errorRate=" + errorRate + ", healthy=" + healthy + '}';
+   }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.health;
+
+import io.apicurio.studio.operator.logging.LogContext;
+import io.javaoperatorsdk.operator.processing.event.AbstractEventSource;
+import org.jboss.logging.Logger;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An event source actively checking health endpoints of studio modules. Each target is scheduled on its
+ * own period; checks go through a shared pooled HTTP client and the number of in-flight checks is bounded.
+ * Events are raised when a module health flips or once per window of samples for refreshing stats.
+ * @author laurent.broudoux@gmail.com
+ */
+public class HealthCheckEventSource extends AbstractEventSource {
+
+   /** Get a JBoss logging logger. */
+   private final Logger logger = Logger.getLogger(getClass());
+
+   private final long intervalMillis;
+   private final Duration timeout;
+   private final int windowSize;
+   private final double maxErrorRate;
+
+   private final Semaphore permits;
+   private final ExecutorService httpExecutor;
+   private final HttpClient httpClient;
+   private final ScheduledExecutorService scheduler;
+
+   private final Map<String, Target> targets = new ConcurrentHashMap<>();
+
+   /**
+    * Build a new health check event source.
+    * @param intervalSeconds The period between 2 checks of the same target
+    * @param timeoutMillis The timeout of a check
+    * @param maxConcurrency The maximum number of in-flight checks
+    * @param windowSize The number of latest checks stats are computed on
+    * @param maxErrorRate The maximum error rate for a module to be considered healthy
+    */
+   public HealthCheckEventSource(int intervalSeconds, long timeoutMillis, int maxConcurrency, int windowSize, double maxErrorRate) {
+      this.intervalMillis = TimeUnit.SECONDS.toMillis(intervalSeconds);
+      this.timeout = Duration.ofMillis(timeoutMillis);
+      this.windowSize = windowSize;
+      this.maxErrorRate = maxErrorRate;
+      this.permits = new Semaphore(maxConcurrency);
+      this.httpExecutor = Executors.newFixedThreadPool(maxConcurrency);
+      this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(timeout)
+            .executor(httpExecutor)
+            .build();
+      this.scheduler = Executors.newSingleThreadScheduledExecutor();
+   }
+
+   /**
+    * Start checking a module endpoint. Calling it again for the same module and uri is a no-op.
+    * @param customResourceUid The uid of studio custom resource owning module
+    * @param module The name of module
+    * @param uri The health endpoint of module
+    */
+   public void watch(String customResourceUid, String module, URI uri) {
+      String key = getKey(customResourceUid, module);
+      Target existing = targets.get(key);
+      if (existing != null && existing.uri.equals(uri)) {
+         return;
+      }
+      if (existing != null) {
+         existing.schedule.cancel(false);
+      }
+      Target target = new Target(customResourceUid, module, uri, new HealthStats(windowSize));
+      // Spread first checks over the interval so that targets are not all checked at the same time.
+      long delay = ThreadLocalRandom.current().nextLong(intervalMillis);
+      target.schedule = scheduler.scheduleWithFixedDelay(LogContext.wrap(() -> check(target)), delay, intervalMillis,
+            TimeUnit.MILLISECONDS);
+      targets.put(key, target);
+      logger.infof("Starting health checks of '%s' on %s", module, uri);
+   }
+
+   /**
+    * Stop checking all modules of a custom resource.
+    * @param customResourceUid The uid of studio custom resource
+    */
+   public void unwatch(String customResourceUid) {
+      targets.values().removeIf(target -> {
+         if (target.customResourceUid.equals(customResourceUid)) {
+            target.schedule.cancel(false);
+            return true;
+         }
+         return false;
+      });
+   }
+
+   /**
+    * Get current stats of a module.
+    * @param customResourceUid The uid of studio custom resource owning module
+    * @param module The name of module
+    * @return The module stats or null if not watched
+    */
+   public HealthStats getStats(String customResourceUid, String module) {
+      Target target = targets.get(getKey(customResourceUid, module));
+      return target != null ? target.stats : null;
+   }
+
+   /** Stop all checks and release threads. */
+   public void close() {
+      scheduler.shutdownNow();
+      httpExecutor.shutdownNow();
+   }
+
+   private void check(Target target) {
+      if (!permits.tryAcquire()) {
+         // Too many checks in flight, skip this round rather than piling up requests.
+         logger.debugf("Skipping health check of '%s', max concurrency reached", target.module);
+         return;
+      }
+      HttpRequest request = HttpRequest.newBuilder(target.uri).timeout(timeout).GET().build();
+      long start = System.nanoTime();
+      httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+            .whenComplete((response, error) -> {
+               permits.release();
+               boolean success = error == null && response.statusCode() < 400;
+               target.stats.record(success, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+               if (!success) {
+                  logger.debugf("Health check of '%s' failed: %s", target.module,
+                        error != null ? error.getMessage() : response.statusCode());
+               }
+               publishIfNeeded(target);
+            });
+   }
+
+   private void publishIfNeeded(Target target) {
+      boolean healthy = target.stats.isHealthy(maxErrorRate);
+      boolean flipped = healthy != target.healthy;
+      target.healthy = healthy;
+      if ((flipped || target.stats.getTotal() % windowSize == 0) && eventHandler != null) {
+         eventHandler.handleEvent(new HealthCheckEvent(target.customResourceUid, target.module, target.stats, healthy, this));
+      }
+   }
+
+   private static String getKey(String customResourceUid, String module) {
+      return customResourceUid + "/" + module;
+   }
+
+   /** A checked module endpoint with its schedule and stats. */
+   private static class Target {
+      private final String customResourceUid;
+      private final String module;
+      private final URI uri;
+      private final HealthStats stats;
+      private volatile ScheduledFuture<?> schedule;
+      private volatile boolean healthy = true;
+
+      private Target(String customResourceUid, String module, URI uri, HealthStats stats) {
+         this.customResourceUid = customResourceUid;
+         this.module = module;
+         this.uri = uri;
+         this.stats = stats;
+      }
+   }
+}
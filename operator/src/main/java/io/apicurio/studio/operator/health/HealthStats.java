@@ -0,0 +1,92 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.health;
+
+/**
+ * Holds the results of the latest health checks of a module target over a fixed size window.
+ * @author laurent.broudoux@gmail.com
+ */
+public class HealthStats {
+
+   private final boolean[] successes;
+   private final long[] latencies;
+   private int next = 0;
+   private int count = 0;
+   private long total = 0;
+
+   /**
+    * Build stats over a window.
+    * @param windowSize The number of latest samples to consider
+    */
+   public HealthStats(int windowSize) {
+      this.successes = new boolean[Math.max(1, windowSize)];
+      this.latencies = new long[Math.max(1, windowSize)];
+   }
+
+   /**
+    * Record the result of a health check.
+    * @param success Whether the check succeeded
+    * @param latencyMillis The time the check took
+    */
+   public synchronized void record(boolean success, long latencyMillis) {
+      successes[next] = success;
+      latencies[next] = latencyMillis;
+      next = (next + 1) % successes.length;
+      count = Math.min(count + 1, successes.length);
+      total++;
+   }
+
+   /** @return The total number of samples recorded since creation. */
+   public synchronized long getTotal() {
+      return total;
+   }
+
+   /** @return The average latency of checks within window, or null if no check yet. */
+   public synchronized Long getAverageLatencyMillis() {
+      if (count == 0) {
+         return null;
+      }
+      long sum = 0;
+      for (int i = 0; i < count; i++) {
+         sum += latencies[i];
+      }
+      return sum / count;
+   }
+
+   /** @return The ratio of failed checks within window, between 0 and 1, or null if no check yet. */
+   public synchronized Double getErrorRate() {
+      if (count == 0) {
+         return null;
+      }
+      int errors = 0;
+      for (int i = 0; i < count; i++) {
+         if (!successes[i]) {
+            errors++;
+         }
+      }
+      return (double) errors / count;
+   }
+
+   /**
+    * Tell if target is healthy regarding a threshold.
+    * @param maxErrorRate The maximum error rate to consider target healthy
+    * @return True if error rate is lower or equal to threshold or if no check yet
+    */
+   public synchronized boolean isHealthy(double maxErrorRate) {
+      Double errorRate = getErrorRate();
+      return errorRate == null || errorRate <= maxErrorRate;
+   }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.health;
+
+import io.apicurio.studio.operator.api.ApicurioStudio;
+import io.apicurio.studio.operator.api.ApicurioStudioSpec;
+import io.apicurio.studio.operator.resource.ApicurioStudioResources;
+import io.apicurio.studio.operator.resource.KeycloakResources;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Holds utility methods to compute health endpoints of studio modules. Endpoints are reached through
+ * module Services so that successive checks are spread over all ready replicas.
+ * @author laurent.broudoux@gmail.com
+ */
+public class HealthTargets {
+
+   private HealthTargets() {
+   }
+
+   /**
+    * Get the health endpoints of modules managed by operator.
+    * @param cr The studio custom resource.
+    * @return A map of health endpoints URIs by module name
+    */
+   public static Map<String, URI> getHealthEndpoints(ApicurioStudio cr) {
+      final ApicurioStudioSpec spec = cr.getSpec();
+      final String ns = cr.getMetadata().getNamespace();
+
+      Map<String, URI> endpoints = new HashMap<>();
+      endpoints.put(ApicurioStudioResources.APICURIO_STUDIO_API_MODULE,
+            serviceUri(ApicurioStudioResources.getAPIDeploymentName(spec), ns, "/system/ready"));
+      endpoints.put(ApicurioStudioResources.APICURIO_STUDIO_WS_MODULE,
+            serviceUri(ApicurioStudioResources.getWSDeploymentName(spec), ns, "/metrics"));
+      endpoints.put(ApicurioStudioResources.APICURIO_STUDIO_UI_MODULE,
+            serviceUri(ApicurioStudioResources.getUIDeploymentName(spec), ns, "/ready"));
+      if (spec.getKeycloak().isInstall()) {
+         endpoints.put(KeycloakResources.APICURIO_STUDIO_AUTH_MODULE,
+               serviceUri(KeycloakResources.getKeycloakDeploymentName(spec), ns, "/auth/realms/" + spec.getKeycloak().getRealm()));
+      }
+      return endpoints;
+   }
+
+   private static URI serviceUri(String service, String ns, String path) {
+      return URI.create("http://" + service + "." + ns + ".svc:8080" + path);
+   }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.health;
+
+import io.javaoperatorsdk.operator.processing.event.AbstractEvent;
+
+/**
+ * An event raised when the sampled replication lag of database read replicas changed.
+ * @author laurent.broudoux@gmail.com
+ */
+public class ReplicationLagEvent extends AbstractEvent {
+
+   private final Long lagSeconds;
+
+   /**
+    * Build a new ReplicationLag event.
+    * @param customResourceUid The uid of studio custom resource owning replicas
+    * @param lagSeconds The max lag in seconds among ready replicas, null if it cannot be measured
+    * @param eventSource The event source that has materialized event
+    */
+   public ReplicationLagEvent(String customResourceUid, Long lagSeconds, ReplicationLagEventSource eventSource) {
+      super(customResourceUid, eventSource);
+      this.lagSeconds = lagSeconds;
+   }
+
+   /** @return The max lag in seconds among ready replicas, null if it cannot be measured. */
+   public Long getLagSeconds() {
+      return lagSeconds;
+   }
+
+   @Override
+   public String toString() {
+      return "ReplicationLagEvent{lagSeconds=" + lagSeconds + '}';
+   }
+}
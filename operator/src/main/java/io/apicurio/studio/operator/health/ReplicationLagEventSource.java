@@ -0,0 +1,197 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.health;
+
+import io.apicurio.studio.operator.logging.LogContext;
+import io.apicurio.studio.operator.resource.DatabaseResources;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.ExecListener;
+import io.fabric8.kubernetes.client.dsl.ExecWatch;
+import io.fabric8.kubernetes.client.internal.readiness.Readiness;
+import io.javaoperatorsdk.operator.processing.event.AbstractEventSource;
+import okhttp3.Response;
+import org.jboss.logging.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An event source periodically sampling the replication lag of database read replicas. Sampling execs a
+ * query into every ready replica pod so it runs on its own scheduler, off the reconciliation path; the
+ * latest lag is cached and an event is raised only when it changes.
+ * @author laurent.broudoux@gmail.com
+ */
+public class ReplicationLagEventSource extends AbstractEventSource {
+
+   /** Get a JBoss logging logger. */
+   private final Logger logger = Logger.getLogger(getClass());
+
+   private final KubernetesClient client;
+   private final long intervalMillis;
+   private final long timeoutMillis;
+   private final ScheduledExecutorService scheduler;
+
+   private final Map<String, Target> targets = new ConcurrentHashMap<>();
+
+   /**
+    * Build a new replication lag event source.
+    * @param client A Kubernetes API client for exec'ing into replica pods
+    * @param intervalSeconds The period between 2 samples of the same replicas
+    * @param timeoutMillis The timeout of the query on each replica pod
+    */
+   public ReplicationLagEventSource(KubernetesClient client, int intervalSeconds, long timeoutMillis) {
+      this.client = client;
+      this.intervalMillis = TimeUnit.SECONDS.toMillis(intervalSeconds);
+      this.timeoutMillis = timeoutMillis;
+      this.scheduler = Executors.newSingleThreadScheduledExecutor();
+   }
+
+   /**
+    * Start sampling the read replicas of a custom resource. Calling it again with the same pod labels is a no-op.
+    * @param customResourceUid The uid of studio custom resource owning replicas
+    * @param namespace The namespace of replica pods
+    * @param podLabels The labels selecting replica pods
+    */
+   public void watch(String customResourceUid, String namespace, Map<String, String> podLabels) {
+      Target existing = targets.get(customResourceUid);
+      if (existing != null && existing.podLabels.equals(podLabels)) {
+         return;
+      }
+      if (existing != null) {
+         existing.schedule.cancel(false);
+      }
+      Target target = new Target(customResourceUid, namespace, podLabels);
+      // Spread first samples over the interval so that studios are not all sampled at the same time.
+      long delay = ThreadLocalRandom.current().nextLong(intervalMillis);
+      // Samples are logged with the identity of the studio being reconciled when it started watching.
+      target.schedule = scheduler.scheduleWithFixedDelay(LogContext.wrap(() -> refresh(target)), delay, intervalMillis,
+            TimeUnit.MILLISECONDS);
+      targets.put(customResourceUid, target);
+      logger.infof("Starting replication lag sampling of replicas %s", podLabels);
+   }
+
+   /**
+    * Stop sampling the read replicas of a custom resource.
+    * @param customResourceUid The uid of studio custom resource
+    */
+   public void unwatch(String customResourceUid) {
+      Target target = targets.remove(customResourceUid);
+      if (target != null) {
+         target.schedule.cancel(false);
+      }
+   }
+
+   /**
+    * Get the latest sampled replication lag of a custom resource replicas.
+    * @param customResourceUid The uid of studio custom resource owning replicas
+    * @return The max lag in seconds among ready replicas, null if not sampled yet or cannot be measured
+    */
+   public Long getLagSeconds(String customResourceUid) {
+      Target target = targets.get(customResourceUid);
+      return target != null ? target.lagSeconds : null;
+   }
+
+   /** Stop all samplings and release threads. */
+   public void close() {
+      scheduler.shutdownNow();
+   }
+
+   /** Sample lag of target replicas, cache it and raise an event if it changed. */
+   boolean refresh(Target target) {
+      Long lag = sample(target.namespace, target.podLabels);
+      if (Objects.equals(lag, target.lagSeconds)) {
+         return false;
+      }
+      target.lagSeconds = lag;
+      if (eventHandler != null) {
+         eventHandler.handleEvent(new ReplicationLagEvent(target.customResourceUid, lag, this));
+      }
+      return true;
+   }
+
+   /**
+    * Sample the replication lag by querying each ready replica pod.
+    * @param namespace The namespace of replica pods
+    * @param podLabels The labels selecting replica pods
+    * @return The max lag in seconds among ready replicas, null if it cannot be measured.
+    */
+   protected Long sample(String namespace, Map<String, String> podLabels) {
+      Long maxLag = null;
+      List<Pod> pods = client.pods().inNamespace(namespace).withLabels(podLabels).list().getItems();
+      for (Pod pod : pods) {
+         if (!Readiness.isPodReady(pod)) {
+            continue;
+         }
+         ByteArrayOutputStream out = new ByteArrayOutputStream();
+         CountDownLatch execLatch = new CountDownLatch(1);
+         try (ExecWatch watch = client.pods().inNamespace(namespace)
+               .withName(pod.getMetadata().getName())
+               .inContainer(pod.getSpec().getContainers().get(0).getName())
+               .writingOutput(out)
+               .usingListener(new ExecListener() {
+                  @Override
+                  public void onOpen(Response response) {
+                  }
+                  @Override
+                  public void onFailure(Throwable t, Response response) {
+                     execLatch.countDown();
+                  }
+                  @Override
+                  public void onClose(int code, String reason) {
+                     execLatch.countDown();
+                  }
+               })
+               .exec("/bin/sh", "-c", "psql -tA -d ${POSTGRESQL_DATABASE} -c \"" + DatabaseResources.REPLICATION_LAG_QUERY + "\"")) {
+            if (execLatch.await(timeoutMillis, TimeUnit.MILLISECONDS)) {
+               long lag = Long.parseLong(out.toString(StandardCharsets.UTF_8).trim());
+               maxLag = maxLag == null ? lag : Math.max(maxLag, lag);
+            }
+         } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            return maxLag;
+         } catch (Exception e) {
+            logger.warnf("Cannot sample replication lag on pod '%s': %s", pod.getMetadata().getName(), e.getMessage());
+         }
+      }
+      return maxLag;
+   }
+
+   /** Sampled replicas of a custom resource with their schedule and latest lag. */
+   static class Target {
+      private final String customResourceUid;
+      private final String namespace;
+      private final Map<String, String> podLabels;
+      private volatile ScheduledFuture<?> schedule;
+      private volatile Long lagSeconds;
+
+      Target(String customResourceUid, String namespace, Map<String, String> podLabels) {
+         this.customResourceUid = customResourceUid;
+         this.namespace = namespace;
+         this.podLabels = podLabels;
+      }
+   }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import org.jboss.logging.Logger;
+
+/**
+ * Holds the Jackson fast path used to (de)serialize custom resources. The Blackbird module replaces
+ * reflective getters, setters and constructors calls by generated lambdas, which matters as every watch
+ * event and status update goes through a full round-trip of the studio model. Lambdas cannot be generated
+ * in a native image, where registered reflection is used instead (see {@link ModelReflection}).
+ * @author laurent.broudoux@gmail.com
+ */
+public class JacksonSupport {
+
+   /** Get a JBoss logging logger. */
+   private static final Logger logger = Logger.getLogger(JacksonSupport.class);
+
+   private static boolean installed = false;
+
+   private JacksonSupport() {
+   }
+
+   /** @return True if fast path is available in this runtime */
+   public static boolean isFastPathAvailable() {
+      return System.getProperty("org.graalvm.nativeimage.imagecode") == null;
+   }
+
+   /**
+    * Register the fast path on a mapper if available.
+    * @param mapper The mapper to customize
+    * @return The same mapper
+    */
+   public static ObjectMapper withFastPath(ObjectMapper mapper) {
+      if (isFastPathAvailable()) {
+         mapper.registerModule(new BlackbirdModule());
+      }
+      return mapper;
+   }
+
+   /** Register the fast path on the shared mappers of Kubernetes client, only once. */
+   public static synchronized void installOnKubernetesClient() {
+      if (!installed) {
+         withFastPath(Serialization.jsonMapper());
+         withFastPath(Serialization.yamlMapper());
+         installed = true;
+         logger.infof("Jackson fast path is %s", isFastPathAvailable() ? "enabled" : "not available in native image");
+      }
+   }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.json;
+
+import io.apicurio.studio.operator.api.ApicurioStudio;
+import org.graalvm.nativeimage.hosted.Feature;
+import org.graalvm.nativeimage.hosted.RuntimeReflection;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Registers the classes of the <code>api</code> module for reflection in native image. Model classes are not
+ * listed by hand: they're derived at build time by walking the field types of {@link ApicurioStudio}, so that
+ * a new spec or status class is registered as soon as it's referenced by the model. This feature is enabled
+ * with the <code>--features</code> native build argument.
+ * @author laurent.broudoux@gmail.com
+ */
+public class ModelReflection implements Feature {
+
+   @Override
+   public void beforeAnalysis(BeforeAnalysisAccess access) {
+      for (Class<?> modelClass : listModelClasses(ApicurioStudio.class)) {
+         RuntimeReflection.register(modelClass);
+         RuntimeReflection.register(modelClass.getDeclaredConstructors());
+         RuntimeReflection.register(modelClass.getDeclaredMethods());
+         RuntimeReflection.register(modelClass.getDeclaredFields());
+      }
+   }
+
+   /**
+    * List the model classes reachable from a root class through its superclass type arguments and fields
+    * types, including collection elements. Only classes of the root package are kept.
+    * @param root The root class of model
+    * @return The model classes, root included
+    */
+   public static Set<Class<?>> listModelClasses(Class<?> root) {
+      Set<Class<?>> modelClasses = new LinkedHashSet<>();
+      Deque<Type> types = new ArrayDeque<>();
+      types.push(root);
+      while (!types.isEmpty()) {
+         Type type = types.pop();
+         if (type instanceof ParameterizedType) {
+            // Spec and status of CustomResource, elements of List and Map.
+            types.push(((ParameterizedType) type).getRawType());
+            Collections.addAll(types, ((ParameterizedType) type).getActualTypeArguments());
+         } else if (type instanceof Class && root.getPackageName().equals(((Class<?>) type).getPackageName())
+               && modelClasses.add((Class<?>) type)) {
+            Class<?> modelClass = (Class<?>) type;
+            if (modelClass.getGenericSuperclass() != null) {
+               types.push(modelClass.getGenericSuperclass());
+            }
+            for (Field field : modelClass.getDeclaredFields()) {
+               if (!Modifier.isStatic(field.getModifiers())) {
+                  types.push(field.getGenericType());
+               }
+            }
+         }
+      }
+      return modelClasses;
+   }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.logging;
+
+import java.util.function.Supplier;
+
+/**
+ * A log parameter evaluated only when the message is actually formatted, that is when its level is enabled.
+ * Use it for parameters that are costly to compute, like reflective dumps of objects.
+ * @author laurent.broudoux@gmail.com
+ */
+public final class Lazy {
+
+   private final Supplier<?> supplier;
+
+   private Lazy(Supplier<?> supplier) {
+      this.supplier = supplier;
+   }
+
+   /**
+    * Wrap a supplier of log parameter.
+    * @param supplier The supplier, called once per formatting
+    * @return A parameter whose string representation is the one of supplied value
+    */
+   public static Lazy of(Supplier<?> supplier) {
+      return new Lazy(supplier);
+   }
+
+   @Override
+   public String toString() {
+      return String.valueOf(supplier.get());
+   }
+}
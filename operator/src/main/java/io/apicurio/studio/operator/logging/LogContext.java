@@ -0,0 +1,91 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.logging;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import org.jboss.logging.MDC;
+
+/**
+ * Puts the identity of a studio custom resource into the logging MDC for the time of a processing, so that
+ * every log line of a reconciliation can be traced back to its studio. Previous values are restored on close.
+ * MDC is bound to a thread: tasks handed over to other threads must be wrapped using {@link #wrap(Runnable)}.
+ * @author laurent.broudoux@gmail.com
+ */
+public class LogContext implements AutoCloseable {
+
+   /** The MDC key holding studio namespace. */
+   public static final String NAMESPACE_KEY = "studio.namespace";
+   /** The MDC key holding studio name. */
+   public static final String NAME_KEY = "studio.name";
+   /** The MDC key holding studio uid. */
+   public static final String UID_KEY = "studio.uid";
+
+   private final Object previousNamespace;
+   private final Object previousName;
+   private final Object previousUid;
+
+   private LogContext(Object namespace, Object name, Object uid) {
+      previousNamespace = put(NAMESPACE_KEY, namespace);
+      previousName = put(NAME_KEY, name);
+      previousUid = put(UID_KEY, uid);
+   }
+
+   /**
+    * Open a logging context for a custom resource.
+    * @param cr The studio custom resource
+    * @return The context to close once processing is done
+    */
+   public static LogContext of(HasMetadata cr) {
+      return new LogContext(cr.getMetadata().getNamespace(), cr.getMetadata().getName(), cr.getMetadata().getUid());
+   }
+
+   /**
+    * Wrap a task so that it runs with the logging context of the calling thread, whatever the thread running it.
+    * @param task The task to hand over to another thread
+    * @return A task restoring the current studio identity around the given one
+    */
+   public static Runnable wrap(Runnable task) {
+      Object namespace = MDC.get(NAMESPACE_KEY);
+      Object name = MDC.get(NAME_KEY);
+      Object uid = MDC.get(UID_KEY);
+      return () -> {
+         try (LogContext ignored = new LogContext(namespace, name, uid)) {
+            task.run();
+         }
+      };
+   }
+
+   @Override
+   public void close() {
+      restore(NAMESPACE_KEY, previousNamespace);
+      restore(NAME_KEY, previousName);
+      restore(UID_KEY, previousUid);
+   }
+
+   private static Object put(String key, Object value) {
+      Object previous = MDC.get(key);
+      restore(key, value);
+      return previous;
+   }
+
+   private static void restore(String key, Object previous) {
+      if (previous != null) {
+         MDC.put(key, previous);
+      } else {
+         MDC.remove(key);
+      }
+   }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.logging;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rate-limits repetitive log lines: for a given key (eg. a resource and an event action), at most one line is
+ * logged per interval. Suppressed occurrences are counted so that the next logged line can report them.
+ * @author laurent.broudoux@gmail.com
+ */
+public class LogSampler {
+
+   /** Default interval between 2 log lines of a same key. */
+   public static final long DEFAULT_INTERVAL_MILLIS = 10_000;
+
+   private final long intervalNanos;
+   private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+   /** Build a sampler with the default interval. */
+   public LogSampler() {
+      this(DEFAULT_INTERVAL_MILLIS);
+   }
+
+   /**
+    * Build a sampler.
+    * @param intervalMillis The minimum interval between 2 log lines of a same key
+    */
+   public LogSampler(long intervalMillis) {
+      this.intervalNanos = intervalMillis * 1_000_000L;
+   }
+
+   /**
+    * Tell if a line should be logged for a key.
+    * @param key The key of repetitive lines
+    * @return The number of occurrences suppressed since last logged line, or -1 if this one must be suppressed.
+    */
+   public long sample(String key) {
+      return sample(key, System.nanoTime());
+   }
+
+   /**
+    * Tell if a line should be logged for a key at a given time.
+    * @param key The key of repetitive lines
+    * @param nanoTime The current time, as given by {@link System#nanoTime()}
+    * @return The number of occurrences suppressed since last logged line, or -1 if this one must be suppressed.
+    */
+   public long sample(String key, long nanoTime) {
+      Window window = windows.computeIfAbsent(key, k -> new Window(nanoTime - intervalNanos));
+      synchronized (window) {
+         if (nanoTime - window.lastLogged < intervalNanos) {
+            window.suppressed.incrementAndGet();
+            return -1;
+         }
+         window.lastLogged = nanoTime;
+         return window.suppressed.getAndSet(0);
+      }
+   }
+
+   /**
+    * Forget about a key, typically when the resource it's about is deleted.
+    * @param key The key of repetitive lines
+    */
+   public void forget(String key) {
+      windows.remove(key);
+   }
+
+   private static class Window {
+      private long lastLogged;
+      private final AtomicLong suppressed = new AtomicLong();
+
+      private Window(long lastLogged) {
+         this.lastLogged = lastLogged;
+      }
+   }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.module;
+
+import io.apicurio.studio.operator.api.ApicurioStudio;
+import io.apicurio.studio.operator.api.ApicurioStudioStatus;
+import io.apicurio.studio.operator.api.ModuleStatus;
+import io.apicurio.studio.operator.resource.ChildResourceSnapshot;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Describes a module managed by the operator: the name used as <code>module</code> label on its
+ * resources, how to reconcile its resources, where its status lives and which modules it depends on.
+ * @author laurent.broudoux@gmail.com
+ */
+public class ModuleDescriptor {
+
+   private final String name;
+   private final BiConsumer<ApicurioStudio, ChildResourceSnapshot> reconciler;
+   private final Function<ApicurioStudioStatus, ModuleStatus> statusGetter;
+   private final List<String> dependencies;
+
+   /**
+    * Build a new module descriptor.
+    * @param name The module name, as found in the <code>module</code> label of its resources.
+    * @param reconciler The function creating or updating all the resources of this module only.
+    * @param statusGetter The accessor to module status. May be null if module has no own status.
+    * @param dependencies The names of modules that must be reconciled before this one.
+    */
+   public ModuleDescriptor(String name, BiConsumer<ApicurioStudio, ChildResourceSnapshot> reconciler,
+                           Function<ApicurioStudioStatus, ModuleStatus> statusGetter,
+                           String... dependencies) {
+      this.name = name;
+      this.reconciler = reconciler;
+      this.statusGetter = statusGetter;
+      this.dependencies = List.of(dependencies);
+   }
+
+   public String getName() {
+      return name;
+   }
+
+   public List<String> getDependencies() {
+      return dependencies;
+   }
+
+   public boolean hasStatus() {
+      return statusGetter != null;
+   }
+
+   /**
+    * Create or update the resources of this module.
+    * @param cr The studio custom resource.
+    * @param snapshot The snapshot of studio child resources for this reconciliation.
+    */
+   public void reconcile(ApicurioStudio cr, ChildResourceSnapshot snapshot) {
+      reconciler.accept(cr, snapshot);
+   }
+
+   /**
+    * Get the status of this module.
+    * @param status The studio global status.
+    * @return This module status or null if not set or module has no own status.
+    */
+   public ModuleStatus getStatus(ApicurioStudioStatus status) {
+      if (statusGetter == null || status == null) {
+         return null;
+      }
+      return statusGetter.apply(status);
+   }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.module;
+
+import io.apicurio.studio.operator.api.ApicurioStudio;
+import io.apicurio.studio.operator.logging.LogContext;
+import io.apicurio.studio.operator.resource.ChildResourceSnapshot;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Reconciles the modules of a registry as a pipeline of completion stages: each module starts as soon as
+ * the modules it depends on are done, so that independent modules (eg. Keycloak and Database, or Api and Ws)
+ * are provisioned concurrently. Stages run on the given executor; with a direct executor they just run
+ * one after the other, in dependency order, on the reconciling thread. Stages keep the logging context
+ * of the reconciliation.
+ * @author laurent.broudoux@gmail.com
+ */
+public class ModulePipeline {
+
+   private final ModuleRegistry registry;
+   private final Executor executor;
+
+   /**
+    * Build a new pipeline.
+    * @param registry The registry of modules to reconcile
+    * @param executor The executor running module reconciliations
+    */
+   public ModulePipeline(ModuleRegistry registry, Executor executor) {
+      this.registry = registry;
+      this.executor = executor;
+   }
+
+   /**
+    * Reconcile all the modules of a studio.
+    * @param cr The studio custom resource.
+    * @param snapshot The snapshot of studio child resources for this reconciliation.
+    * @return A stage completed when all modules are reconciled, exceptionally as soon as one fails.
+    */
+   public CompletableFuture<Void> reconcile(ApicurioStudio cr, ChildResourceSnapshot snapshot) {
+      return reconcile(cr, snapshot, null);
+   }
+
+   /**
+    * Reconcile a subset of the modules of a studio. Dependencies outside the subset are considered as
+    * already reconciled (typically by a previous provisioning phase).
+    * @param cr The studio custom resource.
+    * @param snapshot The snapshot of studio child resources for this reconciliation.
+    * @param modules The names of modules to reconcile. Null means all the modules.
+    * @return A stage completed when the modules are reconciled, exceptionally as soon as one fails.
+    */
+   public CompletableFuture<Void> reconcile(ApicurioStudio cr, ChildResourceSnapshot snapshot, Set<String> modules) {
+      Map<String, CompletableFuture<Void>> stages = new HashMap<>();
+      List<CompletableFuture<Void>> all = new ArrayList<>();
+      // Registry order guarantees dependencies stages are already there.
+      for (ModuleDescriptor module : registry.getModules()) {
+         if (modules != null && !modules.contains(module.getName())) {
+            continue;
+         }
+         CompletableFuture<?>[] dependencies = module.getDependencies().stream()
+               .map(stages::get)
+               .filter(Objects::nonNull)
+               .toArray(CompletableFuture[]::new);
+         CompletableFuture<Void> stage = CompletableFuture.allOf(dependencies)
+               .thenRunAsync(LogContext.wrap(() -> module.reconcile(cr, snapshot)), executor);
+         stages.put(module.getName(), stage);
+         all.add(stage);
+      }
+      return CompletableFuture.allOf(all.toArray(new CompletableFuture[0]));
+   }
+}
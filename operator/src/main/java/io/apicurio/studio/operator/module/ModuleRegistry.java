@@ -0,0 +1,67 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.module;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Registry of module descriptors. Modules are kept in registration order that is also a valid
+ * reconciliation order as a module can only be registered once all its dependencies are.
+ * @author laurent.broudoux@gmail.com
+ */
+public class ModuleRegistry {
+
+   private final Map<String, ModuleDescriptor> modules = new LinkedHashMap<>();
+
+   /**
+    * Register a new module descriptor.
+    * @param descriptor The descriptor to register
+    * @return This registry for chaining calls
+    * @throws IllegalStateException if module is already registered or if a dependency is unknown
+    */
+   public ModuleRegistry register(ModuleDescriptor descriptor) {
+      if (modules.containsKey(descriptor.getName())) {
+         throw new IllegalStateException("Module '" + descriptor.getName() + "' is already registered");
+      }
+      for (String dependency : descriptor.getDependencies()) {
+         if (!modules.containsKey(dependency)) {
+            throw new IllegalStateException("Module '" + descriptor.getName() + "' depends on unknown module '" + dependency + "'");
+         }
+      }
+      modules.put(descriptor.getName(), descriptor);
+      return this;
+   }
+
+   /**
+    * Get a module descriptor by its name.
+    * @param name The module name (value of the <code>module</code> label)
+    * @return The descriptor or null if no module is registered with this name
+    */
+   public ModuleDescriptor get(String name) {
+      return name != null ? modules.get(name) : null;
+   }
+
+   /**
+    * Get all the module descriptors in reconciliation order.
+    * @return An unmodifiable collection of descriptors
+    */
+   public Collection<ModuleDescriptor> getModules() {
+      return Collections.unmodifiableCollection(modules.values());
+   }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.reconcile;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+
+/**
+ * A reconcile queue sharing workers fairly between studios. Pending work is deduplicated per key (the custom
+ * resource uid), so a studio holds at most one place in the queue whatever the number of events it receives,
+ * and work for a key is never handed out while a previous one for the same key is still running. Work of
+ * higher priority is always served first, work of a same priority in submission order.
+ * <p>
+ * The operator watches its own namespace only, so there is no lane per namespace: all studios compete in the
+ * same queues and fairness comes from deduplication.
+ * @param <W> The type of work to do
+ * @author laurent.broudoux@gmail.com
+ */
+public class FairReconcileQueue<W> {
+
+   /** Priorities of work, in serving order. */
+   public enum Priority {
+      /** Repair of deleted resources. */
+      REPAIR,
+      /** Update of existing resources or of their status. */
+      UPDATE,
+      /** Initial provisioning of resources. */
+      PROVISIONING
+   }
+
+   /** Get a JBoss logging logger. */
+   private final Logger logger = Logger.getLogger(getClass());
+
+   private final BinaryOperator<W> merge;
+
+   private final Map<String, Item<W>> pending = new HashMap<>();
+   private final Set<String> running = new HashSet<>();
+   private final Map<Priority, Deque<Item<W>>> queues = new EnumMap<>(Priority.class);
+   private final Map<Priority, Timer> waitTimers = new EnumMap<>(Priority.class);
+
+   private volatile boolean closed = false;
+
+   /**
+    * Build a new queue.
+    * @param merge How to merge a work with a new one submitted for the same key while still pending.
+    * @param registry The registry where to publish queue metrics
+    */
+   public FairReconcileQueue(BinaryOperator<W> merge, MeterRegistry registry) {
+      this.merge = merge;
+      for (Priority priority : Priority.values()) {
+         queues.put(priority, new ArrayDeque<>());
+         waitTimers.put(priority, registry.timer("apicurio.studio.operator.reconcile.queue.wait",
+               "priority", priority.name().toLowerCase()));
+      }
+      registry.gauge("apicurio.studio.operator.reconcile.queue.pending", this, FairReconcileQueue::getPendingCount);
+   }
+
+   /**
+    * Submit some work. If work is already pending for this key, both are merged and keep the highest priority.
+    * @param key The deduplication and serialization key, typically the custom resource uid
+    * @param priority The priority of work
+    * @param work The work to do
+    */
+   public synchronized void submit(String key, Priority priority, W work) {
+      Item<W> existing = pending.get(key);
+      if (existing != null) {
+         existing.work = merge.apply(existing.work, work);
+         if (priority.compareTo(existing.priority) < 0) {
+            if (existing.queued) {
+               queues.get(existing.priority).remove(existing);
+               queues.get(priority).add(existing);
+            }
+            existing.priority = priority;
+         }
+         logger.debugf("Merged work for '%s' with pending one", key);
+         return;
+      }
+      Item<W> item = new Item<>(key, priority, work);
+      pending.put(key, item);
+      if (!running.contains(key)) {
+         enqueue(item);
+      }
+   }
+
+   /**
+    * Take the next work to do, blocking until some is available. Caller must call {@link #done(String)}
+    * with the item key once work is done.
+    * @return The next item or null if queue has been closed
+    * @throws InterruptedException if interrupted while waiting
+    */
+   public synchronized Item<W> take() throws InterruptedException {
+      Item<W> item = null;
+      while (!closed && (item = next()) == null) {
+         wait();
+      }
+      if (item == null) {
+         return null;
+      }
+      pending.remove(item.key);
+      running.add(item.key);
+      item.queued = false;
+      waitTimers.get(item.priority).record(System.nanoTime() - item.submittedNanos, TimeUnit.NANOSECONDS);
+      return item;
+   }
+
+   /**
+    * Mark work of a key as done. Work submitted for this key in the meantime becomes available.
+    * @param key The key of item returned by {@link #take()}
+    */
+   public synchronized void done(String key) {
+      running.remove(key);
+      Item<W> item = pending.get(key);
+      if (item != null && !item.queued) {
+         enqueue(item);
+      }
+   }
+
+   /**
+    * Start workers taking and handling work until queue is closed.
+    * @param workers The number of workers
+    * @param executor The executor running workers
+    * @param handler The handler of work
+    */
+   public void start(int workers, ExecutorService executor, Consumer<W> handler) {
+      for (int i = 0; i < workers; i++) {
+         executor.execute(() -> {
+            while (!closed) {
+               Item<W> item;
+               try {
+                  item = take();
+               } catch (InterruptedException ie) {
+                  Thread.currentThread().interrupt();
+                  return;
+               }
+               if (item == null) {
+                  return;
+               }
+               try {
+                  handler.accept(item.work);
+               } catch (Throwable t) {
+                  logger.errorf(t, "Caught a Throwable while handling work for %s", item.key);
+               } finally {
+                  done(item.key);
+               }
+            }
+         });
+      }
+   }
+
+   /** Stop workers once they're done with their current work. */
+   public synchronized void close() {
+      closed = true;
+      notifyAll();
+   }
+
+   /** @return The number of keys having pending work */
+   public synchronized int getPendingCount() {
+      return pending.size();
+   }
+
+   private void enqueue(Item<W> item) {
+      queues.get(item.priority).add(item);
+      item.queued = true;
+      notifyAll();
+   }
+
+   private Item<W> next() {
+      for (Priority priority : Priority.values()) {
+         Item<W> item = queues.get(priority).poll();
+         if (item != null) {
+            return item;
+         }
+      }
+      return null;
+   }
+
+   /**
+    * Some work queued for a key.
+    * @param <W> The type of work to do
+    */
+   public static class Item<W> {
+      private final String key;
+      private final long submittedNanos = System.nanoTime();
+      private Priority priority;
+      private W work;
+      private boolean queued = false;
+
+      private Item(String key, Priority priority, W work) {
+         this.key = key;
+         this.priority = priority;
+         this.work = work;
+      }
+
+      public String getKey() {
+         return key;
+      }
+
+      public Priority getPriority() {
+         return priority;
+      }
+
+      public W getWork() {
+         return work;
+      }
+   }
+}
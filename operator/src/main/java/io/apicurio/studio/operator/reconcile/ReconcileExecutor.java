@@ -0,0 +1,147 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.reconcile;
+
+import org.jboss.logging.Logger;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs reconciliation tasks off the operator SDK threads. Tasks submitted for the same key (the custom
+ * resource uid) run one after the other in submission order, while tasks of different keys run concurrently,
+ * bounded by a global number of permits protecting the API server. Backed by virtual threads when the
+ * runtime supports them, as reconciliations spend most of their time blocked on API server calls. Stages
+ * forked by a task take their permits from the same pool, the task lending its own while it waits for them,
+ * so that forking does not escape the bound nor deadlock it.
+ * @author laurent.broudoux@gmail.com
+ */
+public class ReconcileExecutor {
+
+   /** Get a JBoss logging logger. */
+   private static final Logger logger = Logger.getLogger(ReconcileExecutor.class);
+
+   private final ExecutorService executor;
+   private final Semaphore permits;
+   private final Map<String, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+   private final ThreadLocal<Boolean> holdingPermit = ThreadLocal.withInitial(() -> false);
+
+   /**
+    * Build a new executor.
+    * @param executor The executor running tasks. Should not bound concurrency itself.
+    * @param maxConcurrency The maximum number of tasks running at the same time.
+    */
+   public ReconcileExecutor(ExecutorService executor, int maxConcurrency) {
+      this.executor = executor;
+      this.permits = new Semaphore(maxConcurrency);
+   }
+
+   /**
+    * Create an executor backed by virtual threads.
+    * @param maxConcurrency The maximum number of tasks running at the same time.
+    * @return The new executor or null if runtime does not support virtual threads.
+    */
+   public static ReconcileExecutor withVirtualThreads(int maxConcurrency) {
+      ExecutorService executor = newVirtualThreadExecutor();
+      return executor != null ? new ReconcileExecutor(executor, maxConcurrency) : null;
+   }
+
+   /**
+    * Submit a task to run after all the tasks previously submitted with the same key.
+    * @param key The serialization key, typically the custom resource uid
+    * @param task The task to run
+    * @return A future completed when task has run, exceptionally if it failed.
+    */
+   public CompletableFuture<Void> submit(String key, Runnable task) {
+      CompletableFuture<Void> future = tails.compute(key, (k, tail) -> {
+         CompletableFuture<Void> previous = tail != null ? tail.exceptionally(t -> null) : CompletableFuture.completedFuture(null);
+         return previous.thenRunAsync(() -> runWithPermit(task), executor);
+      });
+      // Drop the tail once done if nothing was queued behind it.
+      future.whenComplete((r, t) -> tails.remove(key, future));
+      return future;
+   }
+
+   /**
+    * Get an executor for the stages a running task forks. Each stage holds a permit while it runs.
+    * @return An executor bounded by the permits of this executor
+    */
+   public Executor stageExecutor() {
+      return stage -> executor.execute(() -> runWithPermit(stage));
+   }
+
+   /**
+    * Wait for the stages forked by the current task. The permit held by the task is released meanwhile so
+    * that its stages can run even when all permits are taken by tasks waiting on their own stages.
+    * @param stages The stages to wait for
+    * @param <T> The type of stages result
+    * @return The stages result
+    */
+   public <T> T await(CompletableFuture<T> stages) {
+      if (!holdingPermit.get()) {
+         return stages.join();
+      }
+      permits.release();
+      holdingPermit.set(false);
+      try {
+         return stages.join();
+      } finally {
+         permits.acquireUninterruptibly();
+         holdingPermit.set(true);
+      }
+   }
+
+   /** @return The number of keys having queued or running tasks */
+   public int getActiveKeys() {
+      return tails.size();
+   }
+
+   /** Stop accepting tasks and interrupt running ones. */
+   public void close() {
+      executor.shutdownNow();
+   }
+
+   private void runWithPermit(Runnable task) {
+      permits.acquireUninterruptibly();
+      holdingPermit.set(true);
+      try {
+         task.run();
+      } finally {
+         holdingPermit.set(false);
+         permits.release();
+      }
+   }
+
+   /** Reflectively call Executors.newVirtualThreadPerTaskExecutor() as we still target Java 11. */
+   public static ExecutorService newVirtualThreadExecutor() {
+      try {
+         Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+         return (ExecutorService) factory.invoke(null);
+      } catch (NoSuchMethodException nsme) {
+         logger.debugf("Virtual threads are not available in Java %s", System.getProperty("java.version"));
+      } catch (ReflectiveOperationException | RuntimeException e) {
+         // Preview feature not enabled for example.
+         logger.warnf("Virtual threads cannot be created: %s", e.getMessage());
+      }
+      return null;
+   }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.reconcile;
+
+import io.apicurio.studio.operator.api.ApicurioStudio;
+import io.apicurio.studio.operator.api.ApicurioStudioStatus;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The order in which existing studios are reconciled when the operator starts. Studios needing attention
+ * (in error first, then not ready) are released first, in batches of at most <code>maxConcurrency</code> studios
+ * per <code>batchInterval</code>. Steady-state ready studios come next, spread over a warm-up window so that
+ * a restart does not spike the API server load.
+ * @author laurent.broudoux@gmail.com
+ */
+public class StartupPlan {
+
+   private final Map<String, Long> dueTimes = new ConcurrentHashMap<>();
+
+   /**
+    * Compute the plan of a list of studios.
+    * @param studios The existing studios, as listed at startup
+    * @param maxConcurrency The maximum number of studios released in a batch
+    * @param batchIntervalMillis The delay between 2 batches
+    * @param warmUpWindowMillis The window over which ready studios are spread
+    * @param now The current time in milliseconds
+    */
+   public StartupPlan(List<ApicurioStudio> studios, int maxConcurrency, long batchIntervalMillis,
+                      long warmUpWindowMillis, long now) {
+      List<ApicurioStudio> sorted = new ArrayList<>(studios);
+      // Sort is stable so that listing order is kept within a rank.
+      sorted.sort(Comparator.comparingInt(StartupPlan::getAttentionRank));
+
+      List<ApicurioStudio> ready = new ArrayList<>();
+      int released = 0;
+      for (ApicurioStudio studio : sorted) {
+         if (getAttentionRank(studio) == 2) {
+            ready.add(studio);
+         } else {
+            dueTimes.put(studio.getMetadata().getUid(), now + (released++ / maxConcurrency) * batchIntervalMillis);
+         }
+      }
+      long readyStart = now + ((released + maxConcurrency - 1) / maxConcurrency) * batchIntervalMillis;
+      for (int i = 0; i < ready.size(); i++) {
+         // Spread over the window, without exceeding the concurrency if window is too short.
+         long spread = warmUpWindowMillis * i / ready.size();
+         long capped = (i / maxConcurrency) * batchIntervalMillis;
+         dueTimes.put(ready.get(i).getMetadata().getUid(), readyStart + Math.max(spread, capped));
+      }
+   }
+
+   /**
+    * Get the attention rank of a studio: 0 if in error, 1 if not ready and 2 if ready.
+    * @param studio The studio
+    * @return The rank, lower ranks being reconciled first
+    */
+   public static int getAttentionRank(ApicurioStudio studio) {
+      ApicurioStudioStatus status = studio.getStatus();
+      if (status != null && status.isError()) {
+         return 0;
+      }
+      return status != null && status.isReady() ? 2 : 1;
+   }
+
+   /**
+    * Tell if a studio is still waiting for its startup reconciliation.
+    * @param uid The studio uid
+    * @return True if studio has been planned and not released yet
+    */
+   public boolean isPlanned(String uid) {
+      return dueTimes.containsKey(uid);
+   }
+
+   /**
+    * Get the delay before a studio startup reconciliation.
+    * @param uid The studio uid
+    * @param now The current time in milliseconds
+    * @return The remaining delay in milliseconds, 0 if due or not planned.
+    */
+   public long getRemainingDelay(String uid, long now) {
+      Long due = dueTimes.get(uid);
+      return due != null ? Math.max(0, due - now) : 0;
+   }
+
+   /**
+    * Release a studio for its startup reconciliation. A studio is released only once.
+    * @param uid The studio uid
+    * @return True if studio was planned and is now released
+    */
+   public boolean release(String uid) {
+      return dueTimes.remove(uid) != null;
+   }
+
+   /** @return The number of studios still waiting for their startup reconciliation */
+   public int getPendingCount() {
+      return dueTimes.size();
+   }
+}
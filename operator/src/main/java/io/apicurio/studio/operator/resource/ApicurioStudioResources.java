@@ -18,7 +18,6 @@ package io.apicurio.studio.operator.resource;
 import io.apicurio.studio.operator.Constants;
 import io.apicurio.studio.operator.api.ApicurioStudioSpec;
 import io.apicurio.studio.operator.api.ApicurioStudioStatus;
-import io.fabric8.kubernetes.api.model.HTTPGetActionBuilder;
 import io.fabric8.kubernetes.api.model.IntOrString;
 import io.fabric8.kubernetes.api.model.Quantity;
 import io.fabric8.kubernetes.api.model.Service;
@@ -30,6 +29,8 @@ import io.fabric8.kubernetes.api.model.networking.v1.IngressBuilder;
 import io.fabric8.openshift.api.model.Route;
 import io.fabric8.openshift.api.model.RouteBuilder;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -46,6 +47,12 @@ public class ApicurioStudioResources {
    public static final String APICURIO_STUDIO_WS_MODULE_DEFAULT_INGRESS_SECRET = APICURIO_STUDIO_WS_MODULE + "-ingress-secret";
    public static final String APICURIO_STUDIO_UI_MODULE_DEFAULT_INGRESS_SECRET = APICURIO_STUDIO_UI_MODULE + "-ingress-secret";
 
+   /** Default drain delay of WS pods, keeping editing sessions served while removed from Service endpoints. */
+   public static final int WS_PRE_STOP_DELAY_SECONDS = 15;
+
+   /** The image used by init container waiting for module dependencies. */
+   private static final String DEPENDENCY_GATE_IMAGE = "busybox:1.33";
+
    /**
     * Get the name of Deployment to create for the API module.
     * @param spec The specification from custom resource
@@ -105,27 +112,27 @@ public class ApicurioStudioResources {
                            .endValueFrom()
                         .endEnv()
                         .withResources(spec.getApiModule().getResources())
-                        .withNewLivenessProbe()
-                           .withHttpGet(new HTTPGetActionBuilder().withPath("/system/ready").withPort(new IntOrString(8080)).withScheme("HTTP").build())
-                           .withInitialDelaySeconds(30)
-                           .withTimeoutSeconds(5)
-                           .withPeriodSeconds(10)
-                           .withSuccessThreshold(1)
-                           .withFailureThreshold(3)
-                        .endLivenessProbe()
-                        .withNewReadinessProbe()
-                           .withHttpGet(new HTTPGetActionBuilder().withPath("/system/ready").withPort(new IntOrString(8080)).withScheme("HTTP").build())
-                           .withInitialDelaySeconds(15)
-                           .withTimeoutSeconds(5)
-                           .withPeriodSeconds(10)
-                           .withSuccessThreshold(1)
-                           .withFailureThreshold(3)
-                        .endReadinessProbe()
+                        .withStartupProbe(ProbeSpecUtil.startupProbe(ProbeSpecUtil.httpGet("/system/ready"), spec.getApiModule().getProbes()))
+                        .withLivenessProbe(ProbeSpecUtil.livenessProbe(ProbeSpecUtil.httpGet("/system/ready"), spec.getApiModule().getProbes()))
+                        .withReadinessProbe(ProbeSpecUtil.readinessProbe(ProbeSpecUtil.httpGet("/system/ready"), spec.getApiModule().getProbes()))
                      .endContainer()
                   .endSpec()
                .endTemplate()
             .endSpec();
 
+      // Add read-only connection URL if database has read replicas.
+      if (DatabaseResources.isReadReplicasEnabled(spec)) {
+         builder.editSpec()
+                  .editTemplate()
+                     .editSpec()
+                        .editContainer(0)
+                           .addNewEnv().withName("APICURIO_DB_READ_CONNECTION_URL").withValue(DatabaseResources.getDatabaseReadConnectionUrl(spec)).endEnv()
+                        .endContainer()
+                     .endSpec()
+                  .endTemplate()
+               .endSpec();
+      }
+
       // Add optional features if specified.
       if (spec.getFeatures().getMicrocks().getApiUrl() != null) {
          builder.editSpec()
@@ -141,7 +148,8 @@ public class ApicurioStudioResources {
                .endSpec();
       }
 
-      return builder.build();
+      Deployment deployment = withDependencyGate(builder.build(), getDependencies(spec, true));
+      return RolloutSpecUtil.applyRollout(deployment, spec.getApiModule().getRollout());
    }
 
    /**
@@ -315,28 +323,16 @@ public class ApicurioStudioResources {
                         .endEnv()
                         .addNewEnv().withName("APICURIO_HUB_STORAGE_JDBC_TYPE").withValue(spec.getDatabase().getType()).endEnv()
                         .withResources(spec.getWsModule().getResources())
-                        .withNewLivenessProbe()
-                           .withHttpGet(new HTTPGetActionBuilder().withPath("/metrics").withPort(new IntOrString(8080)).withScheme("HTTP").build())
-                           .withInitialDelaySeconds(30)
-                           .withTimeoutSeconds(5)
-                           .withPeriodSeconds(10)
-                           .withSuccessThreshold(1)
-                           .withFailureThreshold(3)
-                        .endLivenessProbe()
-                        .withNewReadinessProbe()
-                           .withHttpGet(new HTTPGetActionBuilder().withPath("/metrics").withPort(new IntOrString(8080)).withScheme("HTTP").build())
-                           .withInitialDelaySeconds(15)
-                           .withTimeoutSeconds(5)
-                           .withPeriodSeconds(10)
-                           .withSuccessThreshold(1)
-                           .withFailureThreshold(3)
-                        .endReadinessProbe()
+                        .withStartupProbe(ProbeSpecUtil.startupProbe(ProbeSpecUtil.httpGet("/metrics"), spec.getWsModule().getProbes()))
+                        .withLivenessProbe(ProbeSpecUtil.livenessProbe(ProbeSpecUtil.httpGet("/metrics"), spec.getWsModule().getProbes()))
+                        .withReadinessProbe(ProbeSpecUtil.readinessProbe(ProbeSpecUtil.httpGet("/metrics"), spec.getWsModule().getProbes()))
                      .endContainer()
                   .endSpec()
                .endTemplate()
             .endSpec();
 
-      return builder.build();
+      Deployment deployment = withDependencyGate(builder.build(), getDependencies(spec, false));
+      return RolloutSpecUtil.applyRollout(deployment, spec.getWsModule().getRollout(), WS_PRE_STOP_DELAY_SECONDS);
    }
 
    /**
@@ -500,22 +496,9 @@ public class ApicurioStudioResources {
                         .addNewEnv().withName("APICURIO_UI_EDITING_URL").withValue("wss://" + status.getWsUrl()).endEnv()
                         .addNewEnv().withName("APICURIO_UI_LOGOUT_REDIRECT").withValue("/").endEnv()
                         .withResources(spec.getStudioModule().getResources())
-                        .withNewLivenessProbe()
-                           .withHttpGet(new HTTPGetActionBuilder().withPath("/ready").withPort(new IntOrString(8080)).withScheme("HTTP").build())
-                           .withInitialDelaySeconds(30)
-                           .withTimeoutSeconds(5)
-                           .withPeriodSeconds(10)
-                           .withSuccessThreshold(1)
-                           .withFailureThreshold(3)
-                        .endLivenessProbe()
-                        .withNewReadinessProbe()
-                           .withHttpGet(new HTTPGetActionBuilder().withPath("/ready").withPort(new IntOrString(8080)).withScheme("HTTP").build())
-                           .withInitialDelaySeconds(15)
-                           .withTimeoutSeconds(5)
-                           .withPeriodSeconds(10)
-                           .withSuccessThreshold(1)
-                           .withFailureThreshold(3)
-                        .endReadinessProbe()
+                        .withStartupProbe(ProbeSpecUtil.startupProbe(ProbeSpecUtil.httpGet("/ready"), spec.getStudioModule().getProbes()))
+                        .withLivenessProbe(ProbeSpecUtil.livenessProbe(ProbeSpecUtil.httpGet("/ready"), spec.getStudioModule().getProbes()))
+                        .withReadinessProbe(ProbeSpecUtil.readinessProbe(ProbeSpecUtil.httpGet("/ready"), spec.getStudioModule().getProbes()))
                      .endContainer()
                   .endSpec()
                .endTemplate()
@@ -556,7 +539,7 @@ public class ApicurioStudioResources {
                .endSpec();
       }
 
-      return builder.build();
+      return RolloutSpecUtil.applyRollout(builder.build(), spec.getStudioModule().getRollout());
    }
 
    /**
@@ -669,4 +652,62 @@ public class ApicurioStudioResources {
 
       return builder.build();
    }
+
+   /**
+    * Get the host:port addresses of operator managed Services a module depends on.
+    * @param spec The specification from custom resource
+    * @param includeKeycloak Whether module needs Keycloak to start
+    * @return The list of addresses to wait for
+    */
+   public static List<String> getDependencies(ApicurioStudioSpec spec, boolean includeKeycloak) {
+      List<String> dependencies = new ArrayList<>();
+      if (spec.getDatabase().isInstall()) {
+         // Pooler Service accepts connections before database does, so always wait for database itself.
+         dependencies.add(DatabaseResources.getDatabaseServiceAddress(spec));
+         if (DatabaseResources.isPoolerEnabled(spec)) {
+            dependencies.add(DatabaseResources.getDatabasePoolerAddress(spec));
+         }
+      }
+      if (includeKeycloak && spec.getKeycloak().isInstall()) {
+         dependencies.add(KeycloakResources.getKeycloakDeploymentName(spec) + ":8080");
+      }
+      return dependencies;
+   }
+
+   /**
+    * Add an init container that waits for dependencies to accept connections. A ClusterIP Service only accepts
+    * connections once it has ready endpoints, so main container does not crash-loop (and enter exponential
+    * back-off) while database or Keycloak are still initializing.
+    */
+   private static Deployment withDependencyGate(Deployment deployment, List<String> dependencies) {
+      if (dependencies.isEmpty()) {
+         return deployment;
+      }
+      StringBuilder script = new StringBuilder();
+      for (String dependency : dependencies) {
+         String host = dependency.substring(0, dependency.lastIndexOf(':'));
+         String port = dependency.substring(dependency.lastIndexOf(':') + 1);
+         script.append("until nc -z -w 2 ").append(host).append(' ').append(port)
+               .append("; do echo 'Waiting for ").append(dependency).append("'; sleep 2; done; ");
+      }
+      return new DeploymentBuilder(deployment)
+            .editSpec()
+               .editTemplate()
+                  .editSpec()
+                     .addNewInitContainer()
+                        .withName("wait-for-dependencies")
+                        .withImage(DEPENDENCY_GATE_IMAGE)
+                        .withCommand("sh", "-c", script.toString().trim())
+                        .withNewResources()
+                           .addToRequests("cpu", new Quantity("10m"))
+                           .addToRequests("memory", new Quantity("16Mi"))
+                           .addToLimits("cpu", new Quantity("100m"))
+                           .addToLimits("memory", new Quantity("32Mi"))
+                        .endResources()
+                     .endInitContainer()
+                  .endSpec()
+               .endTemplate()
+            .endSpec()
+            .build();
+   }
 }
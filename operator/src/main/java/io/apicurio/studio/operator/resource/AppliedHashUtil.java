@@ -0,0 +1,120 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.resource;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.apicurio.studio.operator.Constants;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.client.utils.Serialization;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Holds utility methods for the hashes of applied child resources. The hash of the desired spec is put as
+ * an annotation on the applied resource and recorded into studio status, together with the
+ * <code>metadata.generation</code> the resource was left at. The API server bumps the generation on every
+ * spec change, so a resource is still as applied only when both its hash annotation and its generation
+ * match: an unchanged desired spec is then not written again, while out-of-band edits are detected and
+ * reverted, including the ones that happened while the operator was not running.
+ * @author laurent.broudoux@gmail.com
+ */
+public class AppliedHashUtil {
+
+   /** Sort map entries so that hash does not depend on map implementation ordering. */
+   private static final ObjectMapper MAPPER = Serialization.jsonMapper().copy()
+         .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+   private AppliedHashUtil() {
+   }
+
+   /**
+    * Compute the hash of a Deployment desired spec.
+    * @param deployment The Deployment to apply
+    * @return An hexadecimal SHA-256 checksum
+    */
+   public static String hash(Deployment deployment) {
+      try {
+         return ChecksumUtil.checksum(MAPPER.writeValueAsString(deployment.getSpec()));
+      } catch (JsonProcessingException e) {
+         throw new IllegalStateException("Cannot serialize spec of Deployment " + deployment.getMetadata().getName(), e);
+      }
+   }
+
+   /**
+    * Get the hash a live resource has been applied with.
+    * @param resource The live resource. May be null.
+    * @return The applied hash or null if resource is null or has not been applied with a hash.
+    */
+   public static String getAppliedHash(HasMetadata resource) {
+      if (resource == null || resource.getMetadata().getAnnotations() == null) {
+         return null;
+      }
+      return resource.getMetadata().getAnnotations().get(Constants.APPLIED_HASH_ANNOTATION);
+   }
+
+   /**
+    * Tell if a live resource is still as it has been applied.
+    * @param resource The live resource. May be null.
+    * @param appliedHash The hash of desired spec
+    * @param appliedGeneration The generation resource has been left at when applied. May be null.
+    * @return True if resource carries the hash and has not been changed since it was applied.
+    */
+   public static boolean isApplied(HasMetadata resource, String appliedHash, Long appliedGeneration) {
+      return appliedHash.equals(getAppliedHash(resource)) && appliedGeneration != null
+            && appliedGeneration.equals(resource.getMetadata().getGeneration());
+   }
+
+   /**
+    * Tell if the current spec of a custom resource has already been provisioned. The API server bumps
+    * <code>metadata.generation</code> on every spec change, so a generation other than the one recorded when
+    * provisioning started means the spec has been edited since.
+    * @param resource The custom resource
+    * @param observedGeneration The generation provisioning was last started for. May be null.
+    * @return True if spec has not changed since provisioning was started for it.
+    */
+   public static boolean isGenerationObserved(HasMetadata resource, Long observedGeneration) {
+      Long generation = resource.getMetadata().getGeneration();
+      return generation == null || generation.equals(observedGeneration);
+   }
+
+   /**
+    * Find the resources whose live state diverges from the applied state recorded into a studio status.
+    * @param appliedHashes The applied hashes by resource name. May be null.
+    * @param appliedGenerations The applied generations by resource name. May be null.
+    * @param live A function giving the live resource by its name, null if missing.
+    * @return The names of missing, changed or diverging resources, empty if none.
+    */
+   public static List<String> findDiverging(Map<String, String> appliedHashes, Map<String, Long> appliedGenerations,
+                                            Function<String, ? extends HasMetadata> live) {
+      List<String> diverging = new ArrayList<>();
+      if (appliedHashes == null) {
+         return diverging;
+      }
+      for (Map.Entry<String, String> entry : appliedHashes.entrySet()) {
+         Long appliedGeneration = appliedGenerations != null ? appliedGenerations.get(entry.getKey()) : null;
+         if (!isApplied(live.apply(entry.getKey()), entry.getValue(), appliedGeneration)) {
+            diverging.add(entry.getKey());
+         }
+      }
+      return diverging;
+   }
+}
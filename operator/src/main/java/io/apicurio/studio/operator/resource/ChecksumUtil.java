@@ -0,0 +1,69 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.resource;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Holds utility methods for computing checksums of resources content. Checksums are put as
+ * pod template annotations so that pods are rolled only when the content they consume changes.
+ * @author laurent.broudoux@gmail.com
+ */
+public class ChecksumUtil {
+
+   private ChecksumUtil() {
+   }
+
+   /**
+    * Compute a stable checksum of a key/value map (ConfigMap or Secret data).
+    * @param data The data to compute a checksum for. May be null.
+    * @return An hexadecimal SHA-256 checksum
+    */
+   public static String checksum(Map<String, String> data) {
+      StringBuilder content = new StringBuilder();
+      if (data != null) {
+         // Sort keys to be independent of map implementation ordering.
+         for (Map.Entry<String, String> entry : new TreeMap<>(data).entrySet()) {
+            content.append(entry.getKey()).append('=').append(entry.getValue()).append('\n');
+         }
+      }
+      return checksum(content.toString());
+   }
+
+   /**
+    * Compute a checksum of a string content.
+    * @param content The content to compute a checksum for.
+    * @return An hexadecimal SHA-256 checksum
+    */
+   public static String checksum(String content) {
+      try {
+         MessageDigest digest = MessageDigest.getInstance("SHA-256");
+         byte[] hash = digest.digest(content.getBytes(StandardCharsets.UTF_8));
+         StringBuilder hex = new StringBuilder(hash.length * 2);
+         for (byte b : hash) {
+            hex.append(String.format("%02x", b));
+         }
+         return hex.toString();
+      } catch (NoSuchAlgorithmException e) {
+         // SHA-256 is mandatory on every Java platform.
+         throw new IllegalStateException("SHA-256 algorithm is not available", e);
+      }
+   }
+}
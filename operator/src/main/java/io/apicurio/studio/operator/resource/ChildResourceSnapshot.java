@@ -0,0 +1,147 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.resource;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.client.KubernetesClient;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A per-reconciliation snapshot of the child resources of a studio. Each kind is listed at most once,
+ * lazily and using the <code>app</code> label selector, so that existence and drift checks do not issue
+ * one GET per resource name. Writes done during the reconciliation must be recorded using {@link #put(HasMetadata)}
+ * so that later checks see them.
+ * @author laurent.broudoux@gmail.com
+ */
+public class ChildResourceSnapshot {
+
+   private final KubernetesClient client;
+   private final String namespace;
+   private final String appName;
+
+   private final Map<Class<? extends HasMetadata>, Map<String, HasMetadata>> kinds = new ConcurrentHashMap<>();
+   private final Map<String, String> appliedHashes = new ConcurrentHashMap<>();
+   private final Map<String, Long> appliedGenerations = new ConcurrentHashMap<>();
+
+   /**
+    * Build a new empty snapshot. Nothing is listed until first access to a kind.
+    * @param client The Kubernetes API client
+    * @param namespace The namespace of studio resources
+    * @param appName The studio name, as found in <code>app</code> label of its resources.
+    */
+   public ChildResourceSnapshot(KubernetesClient client, String namespace, String appName) {
+      this.client = client;
+      this.namespace = namespace;
+      this.appName = appName;
+   }
+
+   /**
+    * Get a studio Secret by its name.
+    * @param name The Secret name
+    * @return The Secret or null if not found
+    */
+   public Secret getSecret(String name) {
+      return (Secret) resources(Secret.class).get(name);
+   }
+
+   /**
+    * Get a studio PersistentVolumeClaim by its name.
+    * @param name The claim name
+    * @return The claim or null if not found
+    */
+   public PersistentVolumeClaim getPersistentVolumeClaim(String name) {
+      return (PersistentVolumeClaim) resources(PersistentVolumeClaim.class).get(name);
+   }
+
+   /**
+    * Get a studio Deployment by its name.
+    * @param name The Deployment name
+    * @return The Deployment or null if not found
+    */
+   public Deployment getDeployment(String name) {
+      return (Deployment) resources(Deployment.class).get(name);
+   }
+
+   /**
+    * Record a resource that has been created or updated during the reconciliation.
+    * @param resource The resource as returned by the API server. Ignored if null.
+    */
+   public void put(HasMetadata resource) {
+      if (resource != null) {
+         resources(resource.getClass()).put(resource.getMetadata().getName(), resource);
+      }
+   }
+
+   /**
+    * Record the hash a resource has been applied with during the reconciliation, and the generation
+    * the API server left it at.
+    * @param name The resource name
+    * @param hash The applied hash
+    * @param generation The generation of resource once applied. Ignored if null.
+    */
+   public void putApplied(String name, String hash, Long generation) {
+      appliedHashes.put(name, hash);
+      if (generation != null) {
+         appliedGenerations.put(name, generation);
+      }
+   }
+
+   /** @return The hashes of resources applied during the reconciliation, by resource name */
+   public Map<String, String> getAppliedHashes() {
+      return appliedHashes;
+   }
+
+   /** @return The generations of resources applied during the reconciliation, by resource name */
+   public Map<String, Long> getAppliedGenerations() {
+      return appliedGenerations;
+   }
+
+   private Map<String, HasMetadata> resources(Class<? extends HasMetadata> kind) {
+      Map<String, HasMetadata> resources = kinds.get(kind);
+      if (resources != null) {
+         return resources;
+      }
+      // List outside of any map computation: a blocking call there would hold the map bin lock, stalling
+      // other kinds. Concurrent first accesses may both list, the first one stored wins.
+      Map<String, HasMetadata> listed = list(kind);
+      Map<String, HasMetadata> previous = kinds.putIfAbsent(kind, listed);
+      return previous != null ? previous : listed;
+   }
+
+   private Map<String, HasMetadata> list(Class<? extends HasMetadata> kind) {
+      List<? extends HasMetadata> items;
+      if (Secret.class.equals(kind)) {
+         items = client.secrets().inNamespace(namespace).withLabel("app", appName).list().getItems();
+      } else if (PersistentVolumeClaim.class.equals(kind)) {
+         items = client.persistentVolumeClaims().inNamespace(namespace).withLabel("app", appName).list().getItems();
+      } else if (Deployment.class.equals(kind)) {
+         items = client.apps().deployments().inNamespace(namespace).withLabel("app", appName).list().getItems();
+      } else {
+         throw new IllegalArgumentException("Kind " + kind.getSimpleName() + " is not part of child resources snapshot");
+      }
+      Map<String, HasMetadata> resources = new ConcurrentHashMap<>();
+      for (HasMetadata item : items) {
+         resources.put(item.getMetadata().getName(), item);
+      }
+      return resources;
+   }
+}
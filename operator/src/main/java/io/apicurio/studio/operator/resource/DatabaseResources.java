@@ -15,7 +15,10 @@
  */
 package io.apicurio.studio.operator.resource;
 
+import io.apicurio.studio.operator.Constants;
 import io.apicurio.studio.operator.api.ApicurioStudioSpec;
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
 import io.fabric8.kubernetes.api.model.EnvVar;
 import io.fabric8.kubernetes.api.model.EnvVarBuilder;
 import io.fabric8.kubernetes.api.model.EnvVarSourceBuilder;
@@ -24,6 +27,7 @@ import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaimVolumeSource;
 import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceRequirements;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.SecretBuilder;
 import io.fabric8.kubernetes.api.model.SecretKeySelector;
@@ -37,7 +41,11 @@ import io.fabric8.openshift.client.OpenShiftClient;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Holds utility methods to create Database resources from specification.
@@ -52,6 +60,45 @@ public class DatabaseResources {
 
    /** The name of the Database module. */
    public static final String APICURIO_STUDIO_DB_MODULE = "apicurio-studio-db";
+   /** The name of the Database read replicas module. */
+   public static final String APICURIO_STUDIO_DB_REPLICA_MODULE = "apicurio-studio-db-replica";
+   /** The name of the Database connection pooler module. */
+   public static final String APICURIO_STUDIO_DB_POOLER_MODULE = "apicurio-studio-db-pooler";
+
+   /** The name of the Postgresql user used by replicas for streaming replication. */
+   public static final String REPLICATION_USER = "replicator";
+   /** A query evaluating replication lag in seconds on a Postgresql replica. Lag is zero when all received WAL is replayed. */
+   public static final String REPLICATION_LAG_QUERY = "SELECT CASE WHEN pg_last_xlog_receive_location() = pg_last_xlog_replay_location() THEN 0 "
+         + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)::int END";
+
+   /** The pooling mode that requires disabling server-side prepared statements on client side. */
+   public static final String TRANSACTION_POOL_MODE = "transaction";
+
+   /** The number of server connections kept aside for superuser and maintenance tasks. */
+   private static final int RESERVED_CONNECTIONS = 5;
+
+   /** The memory assumed for database container when no request or limit is specified. */
+   private static final long DEFAULT_MEMORY_MIB = 512;
+   /** The name of the Postgresql tuning configuration file. */
+   public static final String POSTGRESQL_TUNING_FILE = "apicurio-tuning.conf";
+   /** The name of the Mysql tuning configuration file. */
+   public static final String MYSQL_TUNING_FILE = "apicurio-tuning.cnf";
+   /** Directory where Postgresql image includes extending configuration files. */
+   static final String POSTGRESQL_CONFIG_DIR = "/opt/app-root/src/postgresql-cfg";
+   /** Directory where Mysql image includes extending configuration files. */
+   static final String MYSQL_CONFIG_DIR = "/etc/my.cnf.d";
+   /** The name of the tuning configuration volume. */
+   private static final String CONFIG_VOLUME = "db-config";
+   /** The name of the script relocating Postgresql WAL on its dedicated volume. */
+   public static final String POSTGRESQL_WAL_SCRIPT = "relocate-wal.sh";
+   /** Directory where Postgresql image sources scripts before starting server. */
+   private static final String POSTGRESQL_PRE_START_DIR = "/opt/app-root/src/postgresql-pre-start";
+   /** Mount path of the dedicated WAL volume for Postgresql. */
+   private static final String POSTGRESQL_WAL_DIR = "/var/lib/pgsql/wal";
+   /** Mount path of the dedicated redo log volume for Mysql. */
+   private static final String MYSQL_REDO_DIR = "/var/lib/mysql-redo";
+   /** The name of the WAL/redo log volume. */
+   private static final String WAL_VOLUME = "db-wal";
 
    /**
     * Get a JDBC connection URL from studio specifications.
@@ -59,24 +106,256 @@ public class DatabaseResources {
     * @return A connection URL for database.
     */
    public static String getDatabaseConnectionUrl(ApicurioStudioSpec spec) {
-      String databaseUrl = null;
+      String databaseUrl = getDatabaseAddress(spec);
+      // Now compose a JDBC connection URL.
+      String connectionUrl = "jdbc:" + spec.getDatabase().getDriver() + "://" + databaseUrl + "/" + spec.getDatabase().getDatabase();
+      if (isPoolerEnabled(spec) && TRANSACTION_POOL_MODE.equals(spec.getDatabase().getPooler().getPoolMode())) {
+         // Server-side prepared statements cannot survive a server connection switch between transactions.
+         connectionUrl += "?prepareThreshold=0";
+      }
+      return connectionUrl;
+   }
+
+   /**
+    * Get the host:port address applications should use to reach database.
+    * @param spec The studio custom resource.
+    * @return The database or pooler address
+    */
+   public static String getDatabaseAddress(ApicurioStudioSpec spec) {
       // If database is provided, we already got it's host:port address.
       if (!spec.getDatabase().isInstall() && spec.getDatabase().getUrl() != null) {
-         databaseUrl = spec.getDatabase().getUrl();
-      } else {
-         // Else we have to recompose it from Service/Deployment name.
-         databaseUrl = getDatabaseDeploymentName(spec);
-         switch (spec.getDatabase().getDriver()) {
-            case MYSQL_TYPE:
-               databaseUrl += ":3306";
-               break;
-            case POSTGRESQL_TYPE:
-            default:
-               databaseUrl += ":5432";
-         }
+         return spec.getDatabase().getUrl();
       }
-      // Now compose a JDBC connection URL.
-      return "jdbc:" + spec.getDatabase().getDriver() + "://" + databaseUrl + "/" + spec.getDatabase().getDatabase();
+      if (isPoolerEnabled(spec)) {
+         // Else if a pooler is deployed, it's the one to target.
+         return getDatabasePoolerAddress(spec);
+      }
+      // Else we have to recompose it from Service/Deployment name.
+      return getDatabaseServiceAddress(spec);
+   }
+
+   /**
+    * Get the host:port address of the operator managed database Service, bypassing any pooler.
+    * @param spec The studio custom resource.
+    * @return The database service address
+    */
+   public static String getDatabaseServiceAddress(ApicurioStudioSpec spec) {
+      switch (spec.getDatabase().getDriver()) {
+         case MYSQL_TYPE:
+            return getDatabaseDeploymentName(spec) + ":3306";
+         case POSTGRESQL_TYPE:
+         default:
+            return getDatabaseDeploymentName(spec) + ":5432";
+      }
+   }
+
+   /**
+    * Get the host:port address of the database connection pooler Service.
+    * @param spec The studio custom resource.
+    * @return The pooler service address
+    */
+   public static String getDatabasePoolerAddress(ApicurioStudioSpec spec) {
+      return getDatabasePoolerName(spec) + ":5432";
+   }
+
+   /**
+    * Tell if a connection pooler should be deployed in front of the managed database.
+    * @param spec The studio custom resource.
+    * @return True if pooler is enabled and supported by database driver
+    */
+   public static boolean isPoolerEnabled(ApicurioStudioSpec spec) {
+      return spec.getDatabase().isInstall()
+            && spec.getDatabase().getPooler() != null
+            && spec.getDatabase().getPooler().isEnabled()
+            && POSTGRESQL_TYPE.equals(spec.getDatabase().getDriver());
+   }
+
+   /**
+    * Get the max number of server connections accepted by the managed database. 25 connections
+    * are allowed per 128 MiB of container memory, bounded between 50 and 500.
+    * @param spec The studio custom resource.
+    * @return The max_connections setting of database
+    */
+   public static int getDatabaseMaxConnections(ApicurioStudioSpec spec) {
+      long connections = getDatabaseMemoryMiB(spec) * 25 / 128;
+      return (int) Math.min(500, Math.max(50, connections));
+   }
+
+   /**
+    * Get the memory available to the database container, using limit first and then request.
+    * @param spec The studio custom resource.
+    * @return The container memory in MiB
+    */
+   public static long getDatabaseMemoryMiB(ApicurioStudioSpec spec) {
+      Quantity memory = getDatabaseResource(spec, "memory");
+      if (memory == null) {
+         return DEFAULT_MEMORY_MIB;
+      }
+      return Math.max(64, Quantity.getAmountInBytes(memory).longValue() / (1024 * 1024));
+   }
+
+   /**
+    * Get the CPUs available to the database container, using limit first and then request.
+    * @param spec The studio custom resource.
+    * @return The number of whole cpus, at least 1
+    */
+   public static int getDatabaseCpus(ApicurioStudioSpec spec) {
+      Quantity cpu = getDatabaseResource(spec, "cpu");
+      if (cpu == null) {
+         return 1;
+      }
+      double cores = Double.parseDouble(cpu.getAmount());
+      if ("m".equals(cpu.getFormat())) {
+         cores = cores / 1000;
+      }
+      return (int) Math.max(1, Math.floor(cores));
+   }
+
+   /** Get a resource quantity for database container, looking at limits and then requests. */
+   private static Quantity getDatabaseResource(ApicurioStudioSpec spec, String resource) {
+      ResourceRequirements resources = spec.getDatabase().getResources();
+      if (resources == null) {
+         return null;
+      }
+      if (resources.getLimits() != null && resources.getLimits().containsKey(resource)) {
+         return resources.getLimits().get(resource);
+      }
+      if (resources.getRequests() != null && resources.getRequests().containsKey(resource)) {
+         return resources.getRequests().get(resource);
+      }
+      return null;
+   }
+
+   /**
+    * Get the name of ConfigMap holding database server tuning.
+    * @param spec The studio custom resource.
+    * @return The config map name
+    */
+   public static String getDatabaseConfigName(ApicurioStudioSpec spec) {
+      return spec.getName() + "-db-config";
+   }
+
+   /**
+    * Prepare the Database server tuning ConfigMap. Settings are computed from the memory and cpu
+    * allocated to database container.
+    * @param spec The studio custom resource.
+    * @return A full ConfigMap
+    */
+   public static ConfigMap prepareDatabaseConfigMap(ApicurioStudioSpec spec) {
+      String fileName = null;
+      String content = null;
+      switch (spec.getDatabase().getDriver()) {
+         case MYSQL_TYPE:
+            fileName = MYSQL_TUNING_FILE;
+            content = getMysqlTuning(spec);
+            break;
+         case POSTGRESQL_TYPE:
+         default:
+            fileName = POSTGRESQL_TUNING_FILE;
+            content = getPostgresqlTuning(spec);
+      }
+
+      // Building a fresh new ConfigMap according the spec.
+      ConfigMapBuilder builder = new ConfigMapBuilder()
+            .withNewMetadata()
+               .withName(getDatabaseConfigName(spec))
+               .addToLabels("app", spec.getName())
+               .addToLabels("module", APICURIO_STUDIO_DB_MODULE)
+            .endMetadata()
+            .addToData(fileName, content);
+
+      if (isWalVolumeEnabled(spec) && !MYSQL_TYPE.equals(spec.getDatabase().getDriver())) {
+         builder.addToData(POSTGRESQL_WAL_SCRIPT, getPostgresqlWalScript());
+      }
+      return builder.build();
+   }
+
+   /** Build a pre-start script moving WAL directory created by initdb onto its dedicated volume. */
+   private static String getPostgresqlWalScript() {
+      return "# Generated by " + Constants.OPERATOR_ID + ", do not edit.\n"
+            + "# Sourced by image before server start, after data directory initialization.\n"
+            + "WAL_DIR=" + POSTGRESQL_WAL_DIR + "/pg_xlog\n"
+            + "if [ -d \"${PGDATA}/pg_xlog\" ] && [ ! -L \"${PGDATA}/pg_xlog\" ]; then\n"
+            + "  if [ -e \"${WAL_DIR}\" ]; then\n"
+            + "    mv \"${WAL_DIR}\" \"${WAL_DIR}.$(date +%s)\"\n"
+            + "  fi\n"
+            + "  mv \"${PGDATA}/pg_xlog\" \"${WAL_DIR}\" && ln -s \"${WAL_DIR}\" \"${PGDATA}/pg_xlog\"\n"
+            + "fi\n";
+   }
+
+   /** Compute Postgresql server settings from container memory and cpus. */
+   private static String getPostgresqlTuning(ApicurioStudioSpec spec) {
+      long memory = getDatabaseMemoryMiB(spec);
+      int cpus = getDatabaseCpus(spec);
+      int maxConnections = getDatabaseMaxConnections(spec);
+
+      long sharedBuffers = memory / 4;
+      long effectiveCacheSize = memory * 3 / 4;
+      long maintenanceWorkMem = Math.max(16, memory / 16);
+      // Leave room for shared buffers and assume a few sort/hash operations per connection.
+      long workMemKB = Math.max(1024, (memory - sharedBuffers) * 1024 / (maxConnections * 3L));
+      long walBuffersKB = Math.min(16 * 1024, Math.max(64, sharedBuffers * 1024 / 32));
+      // Keep WAL well below the volume size so that checkpoints do not fill the disk.
+      long volumeMiB = Quantity.getAmountInBytes(new Quantity(spec.getDatabase().getVolumeSize())).longValue() / (1024 * 1024);
+      long maxWalSize = Math.min(2048, Math.max(128, volumeMiB / 4));
+      long minWalSize = Math.max(32, maxWalSize / 4);
+
+      return "# Generated by " + Constants.OPERATOR_ID + " from container resources, do not edit.\n"
+            + "max_connections = " + maxConnections + "\n"
+            + "shared_buffers = " + sharedBuffers + "MB\n"
+            + "effective_cache_size = " + effectiveCacheSize + "MB\n"
+            + "maintenance_work_mem = " + maintenanceWorkMem + "MB\n"
+            + "work_mem = " + workMemKB + "kB\n"
+            + "wal_buffers = " + walBuffersKB + "kB\n"
+            + "min_wal_size = " + minWalSize + "MB\n"
+            + "max_wal_size = " + maxWalSize + "MB\n"
+            + "checkpoint_completion_target = 0.9\n"
+            + "max_worker_processes = " + Math.max(2, cpus) + "\n";
+   }
+
+   /** Compute Mysql server settings from container memory and cpus. */
+   private static String getMysqlTuning(ApicurioStudioSpec spec) {
+      long memory = getDatabaseMemoryMiB(spec);
+      int cpus = getDatabaseCpus(spec);
+
+      long bufferPoolSize = memory / 2;
+      long logFileSize = Math.min(512, Math.max(48, bufferPoolSize / 4));
+      long bufferPoolInstances = Math.max(1, Math.min(cpus, bufferPoolSize / 1024));
+
+      return "# Generated by " + Constants.OPERATOR_ID + " from container resources, do not edit.\n"
+            + "[mysqld]\n"
+            + "max_connections = " + getDatabaseMaxConnections(spec) + "\n"
+            + "innodb_buffer_pool_size = " + bufferPoolSize + "M\n"
+            + "innodb_buffer_pool_instances = " + bufferPoolInstances + "\n"
+            + "innodb_log_file_size = " + logFileSize + "M\n"
+            + "innodb_read_io_threads = " + Math.max(4, cpus) + "\n"
+            + "innodb_write_io_threads = " + Math.max(4, cpus) + "\n"
+            + (isWalVolumeEnabled(spec) ? "innodb_log_group_home_dir = " + MYSQL_REDO_DIR + "\n" : "");
+   }
+
+   /**
+    * Get the number of server connections each pooler replica may open towards database. Total
+    * is bounded by database max_connections minus some connections reserved for maintenance.
+    * @param spec The studio custom resource.
+    * @return The pool size for a pooler replica
+    */
+   public static int getDatabasePoolSize(ApicurioStudioSpec spec) {
+      int available = getDatabaseMaxConnections(spec) - RESERVED_CONNECTIONS;
+      int replicas = Math.max(1, spec.getDatabase().getPooler().getReplicas());
+      return Math.max(1, available / replicas);
+   }
+
+   /**
+    * Get the max number of client connections each pooler replica accepts.
+    * @param spec The studio custom resource.
+    * @return The max client connections for a pooler replica
+    */
+   public static int getDatabasePoolerMaxClientConnections(ApicurioStudioSpec spec) {
+      if (spec.getDatabase().getPooler().getMaxClientConnections() != null) {
+         return spec.getDatabase().getPooler().getMaxClientConnections();
+      }
+      // Clients are cheap for the pooler, allow many more of them than server connections.
+      return getDatabasePoolSize(spec) * 10;
    }
 
    /**
@@ -103,11 +382,32 @@ public class DatabaseResources {
             .endMetadata()
             .addToStringData("database-user", StringUtils.defaultIfBlank(spec.getDatabase().getUser(), RandomStringUtils.randomAlphanumeric(8)))
             .addToStringData("database-password", StringUtils.defaultIfBlank(spec.getDatabase().getPassword(), RandomStringUtils.randomAlphanumeric(16)))
-            .addToStringData("database-rootPassword", StringUtils.defaultIfBlank(spec.getDatabase().getRootPassword(), RandomStringUtils.randomAlphanumeric(16)));
+            .addToStringData("database-rootPassword", StringUtils.defaultIfBlank(spec.getDatabase().getRootPassword(), RandomStringUtils.randomAlphanumeric(16)))
+            .addToStringData("database-replicationPassword", RandomStringUtils.randomAlphanumeric(16));
 
       return builder.build();
    }
 
+   /**
+    * Get the database Secret entries explicitly set in spec. Other entries are generated once at
+    * Secret creation and must then be kept as is.
+    * @param spec The studio custom resource.
+    * @return The explicit Secret entries
+    */
+   public static Map<String, String> getDatabaseSecretExplicitData(ApicurioStudioSpec spec) {
+      Map<String, String> data = new HashMap<>();
+      if (!StringUtils.isBlank(spec.getDatabase().getUser())) {
+         data.put("database-user", spec.getDatabase().getUser());
+      }
+      if (!StringUtils.isBlank(spec.getDatabase().getPassword())) {
+         data.put("database-password", spec.getDatabase().getPassword());
+      }
+      if (!StringUtils.isBlank(spec.getDatabase().getRootPassword())) {
+         data.put("database-rootPassword", spec.getDatabase().getRootPassword());
+      }
+      return data;
+   }
+
    /**
     * Get the Database volume claim name from the spec.
     * @param spec The studio custom resource.
@@ -132,6 +432,7 @@ public class DatabaseResources {
             .endMetadata()
             .withNewSpec()
                .withAccessModes("ReadWriteOnce")
+               .withStorageClassName(spec.getDatabase().getStorageClassName())
                .withNewResources()
                   .addToRequests("storage", new Quantity(spec.getDatabase().getVolumeSize()))
                .endResources()
@@ -140,6 +441,49 @@ public class DatabaseResources {
       return builder.build();
    }
 
+   /**
+    * Tell if a dedicated volume should be used for database WAL or redo logs.
+    * @param spec The studio custom resource.
+    * @return True if a WAL volume size has been specified
+    */
+   public static boolean isWalVolumeEnabled(ApicurioStudioSpec spec) {
+      return spec.getDatabase().isInstall() && !StringUtils.isBlank(spec.getDatabase().getWalVolumeSize());
+   }
+
+   /**
+    * Get the Database WAL volume claim name from the spec.
+    * @param spec The studio custom resource.
+    * @return The claim name
+    */
+   public static String getDatabaseWalPVCName(ApicurioStudioSpec spec) {
+      return spec.getName() + "-db-wal-claim";
+   }
+
+   /**
+    * Prepare the Database WAL or redo logs volume claim. Storage class defaults to the data one.
+    * @param spec The studio custom resource.
+    * @return A full PVC
+    */
+   public static PersistentVolumeClaim prepareDatabaseWalPVC(ApicurioStudioSpec spec) {
+      // Building a fresh new PersistentVolumeClain according the spec.
+      PersistentVolumeClaimBuilder builder = new PersistentVolumeClaimBuilder()
+            .withNewMetadata()
+               .withName(getDatabaseWalPVCName(spec))
+               .addToLabels("app", spec.getName())
+               .addToLabels("module", APICURIO_STUDIO_DB_MODULE)
+            .endMetadata()
+            .withNewSpec()
+               .withAccessModes("ReadWriteOnce")
+               .withStorageClassName(StringUtils.defaultIfBlank(spec.getDatabase().getWalStorageClassName(),
+                     spec.getDatabase().getStorageClassName()))
+               .withNewResources()
+                  .addToRequests("storage", new Quantity(spec.getDatabase().getWalVolumeSize()))
+               .endResources()
+            .endSpec();
+
+      return builder.build();
+   }
+
    /**
     * Get the Database deployment name from spec.
     * @param spec The studio custom resource.
@@ -163,40 +507,31 @@ public class DatabaseResources {
          case MYSQL_TYPE:
             deployment = client.apps().deployments()
                   .load(DatabaseResources.class.getResourceAsStream("/k8s/mysql-deployment.yml")).get();
+            deployment = new DeploymentBuilder(deployment)
+                  .editSpec()
+                     .editTemplate()
+                        .editSpec()
+                           .addNewVolume()
+                              .withName("mysql-apicurio")
+                              .withPersistentVolumeClaim(new PersistentVolumeClaimVolumeSource(getDatabasePVCName(spec), false))
+                           .endVolume()
+                        .endSpec()
+                     .endTemplate()
+                  .endSpec()
+                  .build();
+            if (isWalVolumeEnabled(spec)) {
+               deployment = withWalVolume(deployment, spec, MYSQL_REDO_DIR);
+            }
             break;
          case POSTGRESQL_TYPE:
          default:
             deployment = client.apps().deployments()
                   .load(DatabaseResources.class.getResourceAsStream("/k8s/postgresql-deployment.yml")).get();
+            deployment = withContainerEnv(deployment, getPostgresqlEnv(spec));
             deployment = new DeploymentBuilder(deployment)
                   .editSpec()
                      .editTemplate()
                         .editSpec()
-                           .editContainer(0)
-                              .addToEnv(
-                                    new EnvVar("POSTGRESQL_DATABASE", spec.getDatabase().getDatabase(), null),
-                                    new EnvVarBuilder()
-                                          .withName("POSTGRESQL_USER")
-                                          .withValueFrom(
-                                                new EnvVarSourceBuilder()
-                                                      .withSecretKeyRef(
-                                                            new SecretKeySelector("database-user", getDatabaseSecretName(spec), false)
-                                                      )
-                                                .build()
-                                          )
-                                          .build(),
-                                    new EnvVarBuilder()
-                                          .withName("POSTGRESQL_PASSWORD")
-                                          .withValueFrom(
-                                                new EnvVarSourceBuilder()
-                                                      .withSecretKeyRef(
-                                                            new SecretKeySelector("database-password", getDatabaseSecretName(spec), false)
-                                                      )
-                                                      .build()
-                                          )
-                                          .build()
-                              )
-                           .endContainer()
                            .addNewVolume()
                               .withName("postgresql-apicurio")
                               .withPersistentVolumeClaim(new PersistentVolumeClaimVolumeSource(getDatabasePVCName(spec), false))
@@ -205,26 +540,322 @@ public class DatabaseResources {
                      .endTemplate()
                   .endSpec()
                   .build();
-            if (!client.isAdaptable(OpenShiftClient.class)) {
+            if (isReadReplicasEnabled(spec)) {
+               // Primary has to accept streaming replication connections.
+               deployment = withContainerEnv(deployment, getReplicationEnv(spec));
                deployment = new DeploymentBuilder(deployment)
                      .editSpec()
                         .editTemplate()
                            .editSpec()
-                              .editSecurityContext()
-                                 .withRunAsUser(26L)
-                                 .withRunAsGroup(26L)
-                                 .withFsGroup(26L)
-                              .endSecurityContext()
+                              .editContainer(0)
+                                 .withCommand("run-postgresql-master")
+                              .endContainer()
                            .endSpec()
                         .endTemplate()
                      .endSpec()
                      .build();
             }
+            if (isWalVolumeEnabled(spec)) {
+               deployment = withWalVolume(deployment, spec, POSTGRESQL_WAL_DIR);
+               deployment = new DeploymentBuilder(deployment)
+                     .editSpec()
+                        .editTemplate()
+                           .editSpec()
+                              .editContainer(0)
+                                 .addNewVolumeMount()
+                                    .withName(CONFIG_VOLUME + "-pre-start")
+                                    .withMountPath(POSTGRESQL_PRE_START_DIR)
+                                    .withReadOnly(true)
+                                 .endVolumeMount()
+                              .endContainer()
+                              .addNewVolume()
+                                 .withName(CONFIG_VOLUME + "-pre-start")
+                                 .withNewConfigMap()
+                                    .withName(getDatabaseConfigName(spec))
+                                    .addNewItem().withKey(POSTGRESQL_WAL_SCRIPT).withPath(POSTGRESQL_WAL_SCRIPT).endItem()
+                                 .endConfigMap()
+                              .endVolume()
+                           .endSpec()
+                        .endTemplate()
+                     .endSpec()
+                     .build();
+            }
+            deployment = withPostgresqlSecurityContext(client, deployment);
+      }
+      // Complete with generic labels, selectors, resources and tuning.
+      if (MYSQL_TYPE.equals(spec.getDatabase().getDriver())) {
+         return completeDatabaseDeployment(deployment, spec, getDatabaseDeploymentName(spec), MYSQL_CONFIG_DIR, MYSQL_TUNING_FILE);
+      }
+      return completeDatabaseDeployment(deployment, spec, getDatabaseDeploymentName(spec), POSTGRESQL_CONFIG_DIR, POSTGRESQL_TUNING_FILE);
+   }
+
+   /**
+    * Tell if streaming read replicas should be deployed for the managed database.
+    * @param spec The studio custom resource.
+    * @return True if replicas are requested and supported by database driver
+    */
+   public static boolean isReadReplicasEnabled(ApicurioStudioSpec spec) {
+      return spec.getDatabase().isInstall()
+            && spec.getDatabase().getReadReplicas() != null
+            && spec.getDatabase().getReadReplicas().getReplicas() > 0
+            && POSTGRESQL_TYPE.equals(spec.getDatabase().getDriver());
+   }
+
+   /**
+    * Get the Database read replicas deployment name from spec.
+    * @param spec The studio custom resource.
+    * @return The replicas deployment name
+    */
+   public static String getDatabaseReplicaName(ApicurioStudioSpec spec) {
+      return spec.getName() + "-db-replica";
+   }
+
+   /**
+    * Get the name of the Service load-balancing read-only connections on replicas.
+    * @param spec The studio custom resource.
+    * @return The read service name
+    */
+   public static String getDatabaseReadServiceName(ApicurioStudioSpec spec) {
+      return spec.getName() + "-db-read";
+   }
+
+   /**
+    * Get a JDBC connection URL for read-only traffic from studio specifications. Fallback to the
+    * read/write connection URL if no read replicas are deployed.
+    * @param spec The studio custom resource.
+    * @return A connection URL for read-only database access.
+    */
+   public static String getDatabaseReadConnectionUrl(ApicurioStudioSpec spec) {
+      if (!isReadReplicasEnabled(spec)) {
+         return getDatabaseConnectionUrl(spec);
       }
+      return "jdbc:" + spec.getDatabase().getDriver() + "://" + getDatabaseReadServiceName(spec) + ":5432/"
+            + spec.getDatabase().getDatabase();
+   }
+
+   /**
+    * Prepare a new Deployment for the Database streaming read replicas.
+    * @param client A Kubernetes API client for loading resources.
+    * @param spec The studio custom resource.
+    * @return The full deployment.
+    */
+   public static Deployment prepareDatabaseReplicaDeployment(KubernetesClient client, ApicurioStudioSpec spec) {
+      Deployment deployment = client.apps().deployments()
+            .load(DatabaseResources.class.getResourceAsStream("/k8s/postgresql-deployment.yml")).get();
+
+      // Replicas are re-synchronized from primary on start so they just need an ephemeral volume.
+      deployment = new DeploymentBuilder(deployment)
+            .editMetadata()
+               .addToLabels("module", APICURIO_STUDIO_DB_REPLICA_MODULE)
+            .endMetadata()
+            .editSpec()
+               .withReplicas(spec.getDatabase().getReadReplicas().getReplicas())
+               .withNewStrategy()
+                  .withType("RollingUpdate")
+               .endStrategy()
+               .editSelector().addToMatchLabels("module", APICURIO_STUDIO_DB_REPLICA_MODULE).endSelector()
+               .editTemplate()
+                  .editMetadata()
+                     .addToLabels("module", APICURIO_STUDIO_DB_REPLICA_MODULE)
+                  .endMetadata()
+                  .editSpec()
+                     .editContainer(0)
+                        .withCommand("run-postgresql-slave")
+                        .editReadinessProbe()
+                           .editExec()
+                              .withCommand("/bin/sh", "-i", "-c",
+                                    getReplicaReadinessCommand(spec.getDatabase().getReadReplicas().getMaxLagSeconds()))
+                           .endExec()
+                        .endReadinessProbe()
+                     .endContainer()
+                     .addNewVolume()
+                        .withName("postgresql-apicurio")
+                        .withNewEmptyDir().endEmptyDir()
+                     .endVolume()
+                  .endSpec()
+               .endTemplate()
+            .endSpec()
+            .build();
+
+      deployment = withContainerEnv(deployment, getPostgresqlEnv(spec));
+      deployment = withContainerEnv(deployment, getReplicationEnv(spec));
+      deployment = withContainerEnv(deployment,
+            List.of(new EnvVar("POSTGRESQL_MASTER_SERVICE_NAME", getDatabaseDeploymentName(spec), null)));
+      deployment = withPostgresqlSecurityContext(client, deployment);
+      return completeDatabaseDeployment(deployment, spec, getDatabaseReplicaName(spec), POSTGRESQL_CONFIG_DIR, POSTGRESQL_TUNING_FILE);
+   }
+
+   /**
+    * Build the shell command of replicas readiness probe: a replica is ready when its replication lag is
+    * measurable and below the max lag. Comparison is done by the shell, a failing division in SQL would
+    * be folded at planning time by PostgreSQL and fail whatever the lag.
+    * @param maxLagSeconds The max replication lag for a replica to receive read connections
+    * @return The command to run with <code>/bin/sh -c</code>
+    */
+   static String getReplicaReadinessCommand(int maxLagSeconds) {
+      return "[ \"$(psql -tA -d ${POSTGRESQL_DATABASE} -c \"" + REPLICATION_LAG_QUERY + "\")\" -le " + maxLagSeconds + " ]";
+   }
+
+   /**
+    * Prepare a new Service for load-balancing read-only connections on the Database replicas.
+    * @param spec The studio custom resource.
+    * @return The full service.
+    */
+   public static Service prepareDatabaseReadService(ApicurioStudioSpec spec) {
+      // Building a fresh new Service according the spec.
+      ServiceBuilder builder = new ServiceBuilder()
+            .withNewMetadata()
+               .withName(getDatabaseReadServiceName(spec))
+               .addToLabels("app", spec.getName())
+               .addToLabels("module", APICURIO_STUDIO_DB_REPLICA_MODULE)
+            .endMetadata()
+            .withNewSpec()
+               .addToSelector("app", spec.getName())
+               .addToSelector("module", APICURIO_STUDIO_DB_REPLICA_MODULE)
+               .addNewPort()
+                  .withPort(5432)
+                  .withProtocol("TCP")
+                  .withTargetPort(new IntOrString(5432))
+               .endPort()
+               .withSessionAffinity("None")
+               .withType("ClusterIP")
+            .endSpec();
+
+      return builder.build();
+   }
+
+   /**
+    * Build the environment variables for Postgresql container credentials. Server settings are not
+    * passed as variables as they're held by the tuning file mounted from ConfigMap.
+    */
+   private static List<EnvVar> getPostgresqlEnv(ApicurioStudioSpec spec) {
+      return List.of(
+            new EnvVar("POSTGRESQL_DATABASE", spec.getDatabase().getDatabase(), null),
+            new EnvVarBuilder()
+                  .withName("POSTGRESQL_USER")
+                  .withValueFrom(
+                        new EnvVarSourceBuilder()
+                              .withSecretKeyRef(
+                                    new SecretKeySelector("database-user", getDatabaseSecretName(spec), false)
+                              )
+                        .build()
+                  )
+                  .build(),
+            new EnvVarBuilder()
+                  .withName("POSTGRESQL_PASSWORD")
+                  .withValueFrom(
+                        new EnvVarSourceBuilder()
+                              .withSecretKeyRef(
+                                    new SecretKeySelector("database-password", getDatabaseSecretName(spec), false)
+                              )
+                              .build()
+                  )
+                  .build()
+      );
+   }
+
+   /** Build the environment variables for Postgresql streaming replication credentials. */
+   private static List<EnvVar> getReplicationEnv(ApicurioStudioSpec spec) {
+      return List.of(
+            new EnvVar("POSTGRESQL_MASTER_USER", REPLICATION_USER, null),
+            new EnvVarBuilder()
+                  .withName("POSTGRESQL_MASTER_PASSWORD")
+                  .withValueFrom(
+                        new EnvVarSourceBuilder()
+                              .withSecretKeyRef(
+                                    new SecretKeySelector("database-replicationPassword", getDatabaseSecretName(spec), false)
+                              )
+                              .build()
+                  )
+                  .build()
+      );
+   }
+
+   /**
+    * Merge environment variables into the database container, replacing the ones that already
+    * exist with the same name instead of declaring them twice.
+    * @param deployment The database deployment to update.
+    * @param env The environment variables to set.
+    * @return The updated deployment.
+    */
+   static Deployment withContainerEnv(Deployment deployment, List<EnvVar> env) {
+      Map<String, EnvVar> merged = new LinkedHashMap<>();
+      List<EnvVar> current = deployment.getSpec().getTemplate().getSpec().getContainers().get(0).getEnv();
+      if (current != null) {
+         current.forEach(envVar -> merged.put(envVar.getName(), envVar));
+      }
+      env.forEach(envVar -> merged.put(envVar.getName(), envVar));
+
+      return new DeploymentBuilder(deployment)
+            .editSpec()
+               .editTemplate()
+                  .editSpec()
+                     .editContainer(0)
+                        .withEnv(new ArrayList<>(merged.values()))
+                     .endContainer()
+                  .endSpec()
+               .endTemplate()
+            .endSpec()
+            .build();
+   }
+
+   /** Mount the dedicated WAL or redo logs volume into database container. */
+   private static Deployment withWalVolume(Deployment deployment, ApicurioStudioSpec spec, String mountPath) {
+      return new DeploymentBuilder(deployment)
+            .editSpec()
+               .editTemplate()
+                  .editSpec()
+                     .editContainer(0)
+                        .addNewVolumeMount()
+                           .withName(WAL_VOLUME)
+                           .withMountPath(mountPath)
+                        .endVolumeMount()
+                     .endContainer()
+                     .addNewVolume()
+                        .withName(WAL_VOLUME)
+                        .withPersistentVolumeClaim(new PersistentVolumeClaimVolumeSource(getDatabaseWalPVCName(spec), false))
+                     .endVolume()
+                  .endSpec()
+               .endTemplate()
+            .endSpec()
+            .build();
+   }
+
+   /** Postgresql image expects to run with postgres user that is not enforced on vanilla Kubernetes. */
+   private static Deployment withPostgresqlSecurityContext(KubernetesClient client, Deployment deployment) {
+      if (!client.isAdaptable(OpenShiftClient.class)) {
+         deployment = new DeploymentBuilder(deployment)
+               .editSpec()
+                  .editTemplate()
+                     .editSpec()
+                        .editSecurityContext()
+                           .withRunAsUser(26L)
+                           .withRunAsGroup(26L)
+                           .withFsGroup(26L)
+                        .endSecurityContext()
+                     .endSpec()
+                  .endTemplate()
+               .endSpec()
+               .build();
+      }
+      return deployment;
+   }
+
+   /**
+    * Complete a database Deployment with generic labels, selectors, resources and tuning configuration.
+    * @param deployment The database deployment to complete.
+    * @param spec The studio custom resource.
+    * @param name The name of the deployment.
+    * @param configDir The directory where the database image includes extending configuration files.
+    * @param tuningFile The name of the tuning file to mount into configDir.
+    * @return The completed deployment.
+    */
+   static Deployment completeDatabaseDeployment(Deployment deployment, ApicurioStudioSpec spec, String name,
+         String configDir, String tuningFile) {
       // Complete with generic labels and selectors.
       deployment = new DeploymentBuilder(deployment)
             .editMetadata()
-               .withName(getDatabaseDeploymentName(spec))
+               .withName(name)
                .addToLabels("app", spec.getName())
             .endMetadata()
             .editSpec()
@@ -233,9 +864,155 @@ public class DatabaseResources {
             .endSpec()
             .build();
 
+      // Complete with resources and tuning configuration. Checksum makes pods roll only on tuning change.
+      ConfigMap config = prepareDatabaseConfigMap(spec);
+      deployment = new DeploymentBuilder(deployment)
+            .editSpec()
+               .editTemplate()
+                  .editMetadata()
+                     .addToAnnotations(Constants.CONFIG_CHECKSUM_ANNOTATION, ChecksumUtil.checksum(config.getData()))
+                  .endMetadata()
+                  .editSpec()
+                     .editContainer(0)
+                        .withResources(spec.getDatabase().getResources())
+                        .addNewVolumeMount()
+                           .withName(CONFIG_VOLUME)
+                           .withMountPath(configDir)
+                           .withReadOnly(true)
+                        .endVolumeMount()
+                     .endContainer()
+                     .addNewVolume()
+                        .withName(CONFIG_VOLUME)
+                        .withNewConfigMap()
+                           .withName(getDatabaseConfigName(spec))
+                           .addNewItem().withKey(tuningFile).withPath(tuningFile).endItem()
+                        .endConfigMap()
+                     .endVolume()
+                  .endSpec()
+               .endTemplate()
+            .endSpec()
+            .build();
+
       return deployment;
    }
 
+   /**
+    * Get the Database connection pooler deployment name from spec.
+    * @param spec The studio custom resource.
+    * @return The pooler deployment name
+    */
+   public static String getDatabasePoolerName(ApicurioStudioSpec spec) {
+      return spec.getName() + "-db-pooler";
+   }
+
+   /**
+    * Prepare a new Deployment for the PgBouncer connection pooler.
+    * @param spec The studio custom resource.
+    * @return The full deployment.
+    */
+   public static Deployment prepareDatabasePoolerDeployment(ApicurioStudioSpec spec) {
+      // Building a fresh new Deployment according the spec.
+      DeploymentBuilder builder = new DeploymentBuilder()
+            .withNewMetadata()
+               .withName(getDatabasePoolerName(spec))
+               .addToLabels("app", spec.getName())
+               .addToLabels("module", APICURIO_STUDIO_DB_POOLER_MODULE)
+               .addToLabels(Constants.MANAGED_BY_LABEL, Constants.OPERATOR_ID)
+            .endMetadata()
+            .withNewSpec()
+               .withReplicas(spec.getDatabase().getPooler().getReplicas())
+               .withNewSelector()
+                  .addToMatchLabels("app", spec.getName())
+                  .addToMatchLabels("module", APICURIO_STUDIO_DB_POOLER_MODULE)
+               .endSelector()
+               .withNewTemplate()
+                  .withNewMetadata()
+                     .addToLabels("app", spec.getName())
+                     .addToLabels("module", APICURIO_STUDIO_DB_POOLER_MODULE)
+                  .endMetadata()
+                  .withNewSpec()
+                     .addNewContainer()
+                        .withName("pgbouncer")
+                        .withImage(spec.getDatabase().getPooler().getImage())
+                        .addNewPort().withContainerPort(5432).withProtocol("TCP").endPort()
+                        .addNewEnv().withName("DB_HOST").withValue(getDatabaseDeploymentName(spec)).endEnv()
+                        .addNewEnv().withName("DB_PORT").withValue("5432").endEnv()
+                        .addNewEnv().withName("DB_NAME").withValue(spec.getDatabase().getDatabase()).endEnv()
+                        .addNewEnv()
+                           .withName("DB_USER")
+                           .withNewValueFrom()
+                              .withNewSecretKeyRef().withName(getDatabaseSecretName(spec)).withKey("database-user").endSecretKeyRef()
+                           .endValueFrom()
+                        .endEnv()
+                        .addNewEnv()
+                           .withName("DB_PASSWORD")
+                           .withNewValueFrom()
+                              .withNewSecretKeyRef().withName(getDatabaseSecretName(spec)).withKey("database-password").endSecretKeyRef()
+                           .endValueFrom()
+                        .endEnv()
+                        .addNewEnv().withName("LISTEN_PORT").withValue("5432").endEnv()
+                        .addNewEnv().withName("POOL_MODE").withValue(spec.getDatabase().getPooler().getPoolMode()).endEnv()
+                        .addNewEnv().withName("DEFAULT_POOL_SIZE").withValue(String.valueOf(getDatabasePoolSize(spec))).endEnv()
+                        .addNewEnv().withName("MAX_DB_CONNECTIONS").withValue(String.valueOf(getDatabasePoolSize(spec))).endEnv()
+                        .addNewEnv().withName("MAX_CLIENT_CONN").withValue(String.valueOf(getDatabasePoolerMaxClientConnections(spec))).endEnv()
+                        .withNewResources()
+                           .addToRequests(Map.of("cpu", new Quantity("50m")))
+                           .addToRequests(Map.of("memory", new Quantity("32Mi")))
+                           .addToLimits(Map.of("cpu", new Quantity("500m")))
+                           .addToLimits(Map.of("memory", new Quantity("128Mi")))
+                        .endResources()
+                        .withNewLivenessProbe()
+                           .withNewTcpSocket().withPort(new IntOrString(5432)).endTcpSocket()
+                           .withInitialDelaySeconds(5)
+                           .withTimeoutSeconds(1)
+                           .withPeriodSeconds(10)
+                           .withSuccessThreshold(1)
+                           .withFailureThreshold(3)
+                        .endLivenessProbe()
+                        .withNewReadinessProbe()
+                           .withNewTcpSocket().withPort(new IntOrString(5432)).endTcpSocket()
+                           .withInitialDelaySeconds(2)
+                           .withTimeoutSeconds(1)
+                           .withPeriodSeconds(5)
+                           .withSuccessThreshold(1)
+                           .withFailureThreshold(3)
+                        .endReadinessProbe()
+                     .endContainer()
+                  .endSpec()
+               .endTemplate()
+            .endSpec();
+
+      return builder.build();
+   }
+
+   /**
+    * Prepare a new Service for the PgBouncer connection pooler.
+    * @param spec The studio custom resource.
+    * @return The full service.
+    */
+   public static Service prepareDatabasePoolerService(ApicurioStudioSpec spec) {
+      // Building a fresh new Service according the spec.
+      ServiceBuilder builder = new ServiceBuilder()
+            .withNewMetadata()
+               .withName(getDatabasePoolerName(spec))
+               .addToLabels("app", spec.getName())
+               .addToLabels("module", APICURIO_STUDIO_DB_POOLER_MODULE)
+            .endMetadata()
+            .withNewSpec()
+               .addToSelector("app", spec.getName())
+               .addToSelector("module", APICURIO_STUDIO_DB_POOLER_MODULE)
+               .addNewPort()
+                  .withPort(5432)
+                  .withProtocol("TCP")
+                  .withTargetPort(new IntOrString(5432))
+               .endPort()
+               .withSessionAffinity("None")
+               .withType("ClusterIP")
+            .endSpec();
+
+      return builder.build();
+   }
+
    /**
     * Prepare a new Service for the Database.
     * @param spec The studio custom resource.
@@ -18,6 +18,7 @@ package io.apicurio.studio.operator.resource;
 import io.apicurio.studio.operator.Constants;
 import io.apicurio.studio.operator.api.ApicurioStudioSpec;
 import io.apicurio.studio.operator.api.ApicurioStudioStatus;
+import io.apicurio.studio.operator.api.HighAvailabilitySpec;
 import io.fabric8.kubernetes.api.model.IntOrString;
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
@@ -37,6 +38,7 @@ import io.fabric8.openshift.api.model.RouteBuilder;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -51,6 +53,19 @@ public class KeycloakResources {
    /** The default Ingress secret name for Keycloak module. */
    public static final String APICURIO_STUDIO_AUTH_MODULE_DEFAULT_INGRESS_SECRET = APICURIO_STUDIO_AUTH_MODULE + "-ingress-secret";
 
+   /** The port used by JGroups for Keycloak cluster members communication. */
+   public static final int JGROUPS_PORT = 7600;
+   /** Keycloak boot is much longer than other modules, give it a 5 minutes startup budget by default. */
+   public static final int KEYCLOAK_STARTUP_FAILURE_THRESHOLD = 150;
+   /** The name of the volume holding data of a standalone Keycloak. */
+   private static final String KEYCLOAK_DATA_VOLUME = "keycloak-data";
+   /** Directory where a standalone Keycloak stores its embedded H2 database. */
+   private static final String KEYCLOAK_DATA_DIR = "/opt/jboss/keycloak/standalone/data";
+   /** The image providing psql client for creating Keycloak schema. */
+   private static final String SCHEMA_INIT_IMAGE = "centos/postgresql-95-centos7:latest";
+   /** The image providing mysql client for creating Keycloak database. */
+   private static final String MYSQL_INIT_IMAGE = "percona:5.7";
+
    /**
     * Get the Keycloak credentials secret name.
     * @param spec The studio custom resource.
@@ -79,6 +94,23 @@ public class KeycloakResources {
       return builder.build();
    }
 
+   /**
+    * Get the Keycloak Secret entries explicitly set in spec. Other entries are generated once at
+    * Secret creation and must then be kept as is.
+    * @param spec The studio custom resource.
+    * @return The explicit Secret entries
+    */
+   public static Map<String, String> getKeycloakSecretExplicitData(ApicurioStudioSpec spec) {
+      Map<String, String> data = new HashMap<>();
+      if (!StringUtils.isBlank(spec.getKeycloak().getUser())) {
+         data.put("keycloak-user", spec.getKeycloak().getUser());
+      }
+      if (!StringUtils.isBlank(spec.getKeycloak().getPassword())) {
+         data.put("keycloak-password", spec.getKeycloak().getPassword());
+      }
+      return data;
+   }
+
    /**
     * Get the Keycloak claim name.
     * @param spec The studio custom resource.
@@ -103,6 +135,7 @@ public class KeycloakResources {
             .endMetadata()
             .withNewSpec()
                .withAccessModes("ReadWriteOnce")
+               .withStorageClassName(spec.getKeycloak().getStorageClassName())
                .withNewResources()
                   .addToRequests("storage", new Quantity(spec.getKeycloak().getVolumeSize()))
                .endResources()
@@ -173,16 +206,242 @@ public class KeycloakResources {
                            .addToLimits(Map.of("cpu", new Quantity("1")))
                            .addToLimits(Map.of("memory", new Quantity("1300Mi")))
                         .endResources()
+                        .withStartupProbe(ProbeSpecUtil.startupProbe(ProbeSpecUtil.httpGet("/auth"), spec.getKeycloak().getProbes(), KEYCLOAK_STARTUP_FAILURE_THRESHOLD))
+                        .withLivenessProbe(ProbeSpecUtil.livenessProbe(ProbeSpecUtil.httpGet("/auth"), spec.getKeycloak().getProbes()))
+                        .withReadinessProbe(ProbeSpecUtil.readinessProbe(ProbeSpecUtil.httpGet("/auth"), spec.getKeycloak().getProbes()))
+                     .endContainer()
+                  .endSpec()
+               .endTemplate()
+            .endSpec().build();
+
+      if (isHighAvailabilityEnabled(spec)) {
+         return withHighAvailability(deployment, spec);
+      }
+      // Standalone Keycloak stores its data on embedded H2 database within a volume.
+      return new DeploymentBuilder(deployment)
+            .editSpec()
+               .editTemplate()
+                  .editSpec()
+                     .editContainer(0)
+                        .addNewVolumeMount()
+                           .withName(KEYCLOAK_DATA_VOLUME)
+                           .withMountPath(KEYCLOAK_DATA_DIR)
+                        .endVolumeMount()
                      .endContainer()
                      .addNewVolume()
-                        .withName("keycloak-data")
+                        .withName(KEYCLOAK_DATA_VOLUME)
                         .withPersistentVolumeClaim(new PersistentVolumeClaimVolumeSource(getKeycloakPVCName(spec), false))
                      .endVolume()
                   .endSpec()
                .endTemplate()
             .endSpec().build();
+   }
+
+   /**
+    * Tell if Keycloak should be deployed in highly available mode. This mode requires the Database
+    * to be managed by operator as Keycloak data are stored into a schema of this database.
+    * @param spec The studio custom resource.
+    * @return True if HA mode is requested and database is installed.
+    */
+   public static boolean isHighAvailabilityEnabled(ApicurioStudioSpec spec) {
+      return spec.getKeycloak().getHighAvailability() != null
+            && spec.getKeycloak().getHighAvailability().isEnabled()
+            && spec.getDatabase().isInstall();
+   }
 
-      return deployment;
+   /**
+    * Get the name of headless Service used by Keycloak replicas for cluster discovery.
+    * @param spec The studio custom resource.
+    * @return The ping service name
+    */
+   public static String getKeycloakPingServiceName(ApicurioStudioSpec spec) {
+      return spec.getName() + "-auth-ping";
+   }
+
+   /**
+    * Prepare the headless Service used by Keycloak replicas to discover each other through DNS.
+    * @param spec The studio custom resource.
+    * @return A full service
+    */
+   public static Service prepareKeycloakPingService(ApicurioStudioSpec spec) {
+      // Building a fresh new Service according the spec.
+      ServiceBuilder builder = new ServiceBuilder()
+            .withNewMetadata()
+               .withName(getKeycloakPingServiceName(spec))
+               .addToLabels("app", spec.getName())
+               .addToLabels("module", APICURIO_STUDIO_AUTH_MODULE)
+            .endMetadata()
+            .withNewSpec()
+               .addToSelector("app", spec.getName())
+               .addToSelector("module", APICURIO_STUDIO_AUTH_MODULE)
+               .addNewPort()
+                  .withName("jgroups")
+                  .withPort(JGROUPS_PORT)
+                  .withProtocol("TCP")
+                  .withTargetPort(new IntOrString(JGROUPS_PORT))
+               .endPort()
+               .withClusterIP("None")
+               // Starting members must be discovered before they're ready to form the cluster.
+               .withPublishNotReadyAddresses(true)
+            .endSpec();
+
+      return builder.build();
+   }
+
+   /** Switch Keycloak deployment to clustered replicas storing data into the managed database. */
+   private static Deployment withHighAvailability(Deployment deployment, ApicurioStudioSpec spec) {
+      HighAvailabilitySpec ha = spec.getKeycloak().getHighAvailability();
+      boolean isMysql = DatabaseResources.MYSQL_TYPE.equals(spec.getDatabase().getDriver());
+      String dbSecret = DatabaseResources.getDatabaseSecretName(spec);
+
+      deployment = new DeploymentBuilder(deployment)
+            .editSpec()
+               .withReplicas(ha.getReplicas())
+               .withNewStrategy()
+                  .withType("RollingUpdate")
+                  .withNewRollingUpdate()
+                     .withMaxSurge(new IntOrString(1))
+                     .withMaxUnavailable(new IntOrString(0))
+                  .endRollingUpdate()
+               .endStrategy()
+               .editTemplate()
+                  .editSpec()
+                     .editContainer(0)
+                        .addNewPort()
+                           .withName("jgroups")
+                           .withContainerPort(JGROUPS_PORT)
+                           .withProtocol("TCP")
+                        .endPort()
+                        .addNewEnv()
+                           .withName("DB_VENDOR")
+                           .withValue(isMysql ? "mysql" : "postgres")
+                        .endEnv()
+                        .addNewEnv()
+                           // Keycloak holds long-lived connections, target database directly rather than the pooler.
+                           .withName("DB_ADDR")
+                           .withValue(DatabaseResources.getDatabaseDeploymentName(spec))
+                        .endEnv()
+                        .addNewEnv()
+                           .withName("DB_PORT")
+                           .withValue(isMysql ? "3306" : "5432")
+                        .endEnv()
+                        .addNewEnv()
+                           // Mysql has no schema within a database: Keycloak gets its own database instead.
+                           .withName("DB_DATABASE")
+                           .withValue(isMysql ? ha.getSchema() : spec.getDatabase().getDatabase())
+                        .endEnv()
+                        .addNewEnv()
+                           .withName("DB_USER")
+                           .withNewValueFrom()
+                              .withNewSecretKeyRef().withName(dbSecret).withKey("database-user").endSecretKeyRef()
+                           .endValueFrom()
+                        .endEnv()
+                        .addNewEnv()
+                           .withName("DB_PASSWORD")
+                           .withNewValueFrom()
+                              .withNewSecretKeyRef().withName(dbSecret).withKey("database-password").endSecretKeyRef()
+                           .endValueFrom()
+                        .endEnv()
+                        .addNewEnv()
+                           .withName("POD_NAMESPACE")
+                           .withNewValueFrom()
+                              .withNewFieldRef().withFieldPath("metadata.namespace").endFieldRef()
+                           .endValueFrom()
+                        .endEnv()
+                        .addNewEnv()
+                           .withName("JGROUPS_DISCOVERY_PROTOCOL")
+                           .withValue("dns.DNS_PING")
+                        .endEnv()
+                        .addNewEnv()
+                           .withName("JGROUPS_DISCOVERY_PROPERTIES")
+                           .withValue("dns_query=" + getKeycloakPingServiceName(spec) + ".$(POD_NAMESPACE).svc.cluster.local")
+                        .endEnv()
+                        .addNewEnv()
+                           .withName("CACHE_OWNERS_COUNT")
+                           .withValue(String.valueOf(ha.getCacheOwners()))
+                        .endEnv()
+                        .addNewEnv()
+                           .withName("CACHE_OWNERS_AUTH_SESSIONS_COUNT")
+                           .withValue(String.valueOf(ha.getCacheOwners()))
+                        .endEnv()
+                     .endContainer()
+                  .endSpec()
+               .endTemplate()
+            .endSpec().build();
+
+      if (isMysql) {
+         // Keycloak does not create its Mysql database and application user cannot, use root once database is reachable.
+         return new DeploymentBuilder(deployment)
+               .editSpec()
+                  .editTemplate()
+                     .editSpec()
+                        .addNewInitContainer()
+                           .withName("create-database")
+                           .withImage(MYSQL_INIT_IMAGE)
+                           .withCommand("sh", "-c", getMysqlDatabaseInitCommand(DatabaseResources.getDatabaseDeploymentName(spec), ha.getSchema()))
+                           .addNewEnv()
+                              .withName("DB_USER")
+                              .withNewValueFrom()
+                                 .withNewSecretKeyRef().withName(dbSecret).withKey("database-user").endSecretKeyRef()
+                              .endValueFrom()
+                           .endEnv()
+                           .addNewEnv()
+                              .withName("MYSQL_PWD")
+                              .withNewValueFrom()
+                                 .withNewSecretKeyRef().withName(dbSecret).withKey("database-rootPassword").endSecretKeyRef()
+                              .endValueFrom()
+                           .endEnv()
+                        .endInitContainer()
+                     .endSpec()
+                  .endTemplate()
+               .endSpec().build();
+      }
+
+      // Keycloak does not create its Postgresql schema, do it once database is reachable.
+      return new DeploymentBuilder(deployment)
+            .editSpec()
+               .editTemplate()
+                  .editSpec()
+                     .editContainer(0)
+                        .addNewEnv()
+                           .withName("DB_SCHEMA")
+                           .withValue(ha.getSchema())
+                        .endEnv()
+                     .endContainer()
+                     .addNewInitContainer()
+                        .withName("create-schema")
+                        .withImage(SCHEMA_INIT_IMAGE)
+                        .withCommand("sh", "-c", "until psql -h " + DatabaseResources.getDatabaseDeploymentName(spec)
+                              + " -d " + spec.getDatabase().getDatabase()
+                              + " -c 'CREATE SCHEMA IF NOT EXISTS \"" + ha.getSchema() + "\"'; do sleep 2; done")
+                        .addNewEnv()
+                           .withName("PGUSER")
+                           .withNewValueFrom()
+                              .withNewSecretKeyRef().withName(dbSecret).withKey("database-user").endSecretKeyRef()
+                           .endValueFrom()
+                        .endEnv()
+                        .addNewEnv()
+                           .withName("PGPASSWORD")
+                           .withNewValueFrom()
+                              .withNewSecretKeyRef().withName(dbSecret).withKey("database-password").endSecretKeyRef()
+                           .endValueFrom()
+                        .endEnv()
+                     .endInitContainer()
+                  .endSpec()
+               .endTemplate()
+            .endSpec().build();
+   }
+
+   /**
+    * Build the shell command creating Keycloak database on Mysql and granting it to application user
+    * (read from DB_USER). Retries until database accepts connections.
+    * @param host The database host
+    * @param database The Keycloak database name
+    * @return The command for {@code sh -c}
+    */
+   static String getMysqlDatabaseInitCommand(String host, String database) {
+      return "until mysql -h " + host + " -u root -e \"CREATE DATABASE IF NOT EXISTS \\`" + database + "\\`;"
+            + " GRANT ALL PRIVILEGES ON \\`" + database + "\\`.* TO '${DB_USER}'@'%';\"; do sleep 2; done";
    }
 
    /**
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.resource;
+
+import io.apicurio.studio.operator.api.ProbeSpec;
+import io.fabric8.kubernetes.api.model.HTTPGetAction;
+import io.fabric8.kubernetes.api.model.HTTPGetActionBuilder;
+import io.fabric8.kubernetes.api.model.IntOrString;
+import io.fabric8.kubernetes.api.model.Probe;
+import io.fabric8.kubernetes.api.model.ProbeBuilder;
+
+/**
+ * Holds utility methods to build health probes from specification. Startup probe polls often with a large
+ * failure budget so that container is marked started as soon as it answers; readiness and liveness
+ * probes only begin afterwards and thus do not need any initial delay. Defaults are resolved here, field by
+ * field, so that a custom resource setting only some timings keeps the defaults for the others.
+ * @author laurent.broudoux@gmail.com
+ */
+public class ProbeSpecUtil {
+
+   /** Default startup probe period. */
+   public static final int DEFAULT_STARTUP_PERIOD_SECONDS = 2;
+   /** Default number of startup probe failures before container is restarted. */
+   public static final int DEFAULT_STARTUP_FAILURE_THRESHOLD = 90;
+   /** Default readiness probe period. */
+   public static final int DEFAULT_READINESS_PERIOD_SECONDS = 5;
+   /** Default liveness probe period. */
+   public static final int DEFAULT_LIVENESS_PERIOD_SECONDS = 10;
+   /** Default probes timeout. */
+   public static final int DEFAULT_TIMEOUT_SECONDS = 3;
+   /** Default number of readiness or liveness probe failures. */
+   public static final int DEFAULT_FAILURE_THRESHOLD = 3;
+
+   private ProbeSpecUtil() {
+   }
+
+   /**
+    * Build an HTTP GET probe action on container port 8080.
+    * @param path The path to probe
+    * @return An HTTP action for probes
+    */
+   public static HTTPGetAction httpGet(String path) {
+      return new HTTPGetActionBuilder().withPath(path).withPort(new IntOrString(8080)).withScheme("HTTP").build();
+   }
+
+   /**
+    * Build the startup probe.
+    * @param action The HTTP action to probe
+    * @param spec The ProbeSpec that may be null
+    * @return A startup probe
+    */
+   public static Probe startupProbe(HTTPGetAction action, ProbeSpec spec) {
+      return startupProbe(action, spec, DEFAULT_STARTUP_FAILURE_THRESHOLD);
+   }
+
+   /**
+    * Build the startup probe for a module having a specific default startup budget.
+    * @param action The HTTP action to probe
+    * @param spec The ProbeSpec that may be null
+    * @param defaultFailureThreshold The startup failure threshold to use when spec does not set one
+    * @return A startup probe
+    */
+   public static Probe startupProbe(HTTPGetAction action, ProbeSpec spec, int defaultFailureThreshold) {
+      ProbeSpec probes = getProbesOrDefault(spec);
+      return new ProbeBuilder()
+            .withHttpGet(action)
+            .withPeriodSeconds(valueOrDefault(probes.getStartupPeriodSeconds(), DEFAULT_STARTUP_PERIOD_SECONDS))
+            .withTimeoutSeconds(valueOrDefault(probes.getTimeoutSeconds(), DEFAULT_TIMEOUT_SECONDS))
+            .withSuccessThreshold(1)
+            .withFailureThreshold(valueOrDefault(probes.getStartupFailureThreshold(), defaultFailureThreshold))
+            .build();
+   }
+
+   /**
+    * Build the readiness probe.
+    * @param action The HTTP action to probe
+    * @param spec The ProbeSpec that may be null
+    * @return A readiness probe
+    */
+   public static Probe readinessProbe(HTTPGetAction action, ProbeSpec spec) {
+      ProbeSpec probes = getProbesOrDefault(spec);
+      return new ProbeBuilder()
+            .withHttpGet(action)
+            .withPeriodSeconds(valueOrDefault(probes.getReadinessPeriodSeconds(), DEFAULT_READINESS_PERIOD_SECONDS))
+            .withTimeoutSeconds(valueOrDefault(probes.getTimeoutSeconds(), DEFAULT_TIMEOUT_SECONDS))
+            .withSuccessThreshold(1)
+            .withFailureThreshold(valueOrDefault(probes.getFailureThreshold(), DEFAULT_FAILURE_THRESHOLD))
+            .build();
+   }
+
+   /**
+    * Build the liveness probe.
+    * @param action The HTTP action to probe
+    * @param spec The ProbeSpec that may be null
+    * @return A liveness probe
+    */
+   public static Probe livenessProbe(HTTPGetAction action, ProbeSpec spec) {
+      ProbeSpec probes = getProbesOrDefault(spec);
+      return new ProbeBuilder()
+            .withHttpGet(action)
+            .withPeriodSeconds(valueOrDefault(probes.getLivenessPeriodSeconds(), DEFAULT_LIVENESS_PERIOD_SECONDS))
+            .withTimeoutSeconds(valueOrDefault(probes.getTimeoutSeconds(), DEFAULT_TIMEOUT_SECONDS))
+            .withSuccessThreshold(1)
+            .withFailureThreshold(valueOrDefault(probes.getFailureThreshold(), DEFAULT_FAILURE_THRESHOLD))
+            .build();
+   }
+
+   private static ProbeSpec getProbesOrDefault(ProbeSpec spec) {
+      return spec != null ? spec : new ProbeSpec();
+   }
+
+   private static int valueOrDefault(Integer value, int defaultValue) {
+      return value != null ? value : defaultValue;
+   }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.resource;
+
+import io.apicurio.studio.operator.api.RolloutSpec;
+import io.fabric8.kubernetes.api.model.IntOrString;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Holds utility methods to apply rollout settings from specification onto module Deployments.
+ * @author laurent.broudoux@gmail.com
+ */
+public class RolloutSpecUtil {
+
+   /** Default Kubernetes grace period, kept on top of the drain delay for the application to stop. */
+   private static final long DEFAULT_TERMINATION_GRACE_PERIOD = 30;
+
+   private RolloutSpecUtil() {
+   }
+
+   /**
+    * Apply a RollingUpdate strategy with surge control and an optional drain delay on a Deployment.
+    * @param deployment The deployment to complete
+    * @param spec The RolloutSpec that may be null
+    * @return The completed deployment
+    */
+   public static Deployment applyRollout(Deployment deployment, RolloutSpec spec) {
+      return applyRollout(deployment, spec, 0);
+   }
+
+   /**
+    * Apply a RollingUpdate strategy with surge control and a drain delay on a Deployment of a module
+    * having a specific default drain delay.
+    * @param deployment The deployment to complete
+    * @param spec The RolloutSpec that may be null
+    * @param defaultPreStopDelaySeconds The drain delay to use when spec does not set one
+    * @return The completed deployment
+    */
+   public static Deployment applyRollout(Deployment deployment, RolloutSpec spec, int defaultPreStopDelaySeconds) {
+      RolloutSpec rollout = spec != null ? spec : new RolloutSpec();
+      int preStopDelaySeconds = rollout.getPreStopDelaySeconds() != null ? rollout.getPreStopDelaySeconds() : defaultPreStopDelaySeconds;
+      DeploymentBuilder builder = new DeploymentBuilder(deployment)
+            .editSpec()
+               .withMinReadySeconds(rollout.getMinReadySeconds())
+               .withNewStrategy()
+                  .withType("RollingUpdate")
+                  .withNewRollingUpdate()
+                     .withMaxSurge(toIntOrString(rollout.getMaxSurge(), 1))
+                     .withMaxUnavailable(toIntOrString(rollout.getMaxUnavailable(), 0))
+                  .endRollingUpdate()
+               .endStrategy()
+            .endSpec();
+
+      if (preStopDelaySeconds > 0) {
+         // Keep the container running while endpoints removal is propagated to proxies and ingresses.
+         builder.editSpec()
+               .editTemplate()
+                  .editSpec()
+                     .withTerminationGracePeriodSeconds(preStopDelaySeconds + DEFAULT_TERMINATION_GRACE_PERIOD)
+                     .editFirstContainer()
+                        .withNewLifecycle()
+                           .withNewPreStop()
+                              .withNewExec()
+                                 .withCommand("sh", "-c", "sleep " + preStopDelaySeconds)
+                              .endExec()
+                           .endPreStop()
+                        .endLifecycle()
+                     .endContainer()
+                  .endSpec()
+               .endTemplate()
+            .endSpec();
+      }
+      return builder.build();
+   }
+
+   /** Convert a "25%" or "1" like value into an IntOrString. */
+   static IntOrString toIntOrString(String value, int defaultValue) {
+      if (StringUtils.isBlank(value)) {
+         return new IntOrString(defaultValue);
+      }
+      if (StringUtils.isNumeric(value)) {
+         return new IntOrString(Integer.parseInt(value));
+      }
+      return new IntOrString(value);
+   }
+}
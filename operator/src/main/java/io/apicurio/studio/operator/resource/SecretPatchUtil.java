@@ -0,0 +1,76 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.resource;
+
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Holds utility methods for patching credentials Secrets. Generated credentials are never rotated: an
+ * existing Secret only receives the entries it's missing and the ones explicitly set in spec that differ.
+ * The checksum consumed by pod templates only depends on Secret data, so pods are rolled only when
+ * credentials they consume really change.
+ * @author laurent.broudoux@gmail.com
+ */
+public class SecretPatchUtil {
+
+   private SecretPatchUtil() {
+   }
+
+   /**
+    * Compute the data entries to patch on an existing Secret.
+    * @param existing The existing Secret
+    * @param desired The desired Secret, holding its entries as string data
+    * @param explicitData The entries explicitly set in spec, other desired entries being generated
+    * @return The base64 encoded entries to add to existing Secret data, empty if nothing to patch
+    */
+   public static Map<String, String> getDataPatch(Secret existing, Secret desired, Map<String, String> explicitData) {
+      Map<String, String> current = existing.getData() != null ? existing.getData() : Map.of();
+      Map<String, String> patch = new HashMap<>();
+      for (Map.Entry<String, String> entry : desired.getStringData().entrySet()) {
+         String currentValue = current.containsKey(entry.getKey()) ?
+               new String(Base64.getDecoder().decode(current.get(entry.getKey())), StandardCharsets.UTF_8) : null;
+         if (currentValue == null || (explicitData.containsKey(entry.getKey()) && !explicitData.get(entry.getKey()).equals(currentValue))) {
+            patch.put(entry.getKey(), Base64.getEncoder().encodeToString(entry.getValue().getBytes(StandardCharsets.UTF_8)));
+         }
+      }
+      return patch;
+   }
+
+   /**
+    * Apply a data patch onto a Secret.
+    * @param secret The Secret to patch
+    * @param patch The base64 encoded entries to add or replace
+    * @return The patched Secret
+    */
+   public static Secret applyDataPatch(Secret secret, Map<String, String> patch) {
+      return new SecretBuilder(secret).addToData(patch).build();
+   }
+
+   /**
+    * Compute the checksum of Secret data, as consumed by pod templates.
+    * @param secret The Secret
+    * @return An hexadecimal SHA-256 checksum
+    */
+   public static String checksum(Secret secret) {
+      return ChecksumUtil.checksum(secret.getData());
+   }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.status;
+
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentCondition;
+import io.fabric8.kubernetes.api.model.apps.DeploymentStatus;
+
+/**
+ * Evaluates the rollout of a Deployment the same way {@code kubectl rollout status} does: a rollout
+ * is complete only when the controller has observed latest spec and all desired replicas are updated
+ * and available, with no old replicas left.
+ * @author laurent.broudoux@gmail.com
+ */
+public class DeploymentRollout {
+
+   /** The phases of a Deployment rollout. */
+   public enum Phase {
+      PROGRESSING,
+      COMPLETE,
+      FAILED
+   }
+
+   /** Reason of Progressing condition when Deployment did not progress within its deadline. */
+   public static final String PROGRESS_DEADLINE_EXCEEDED = "ProgressDeadlineExceeded";
+
+   private final Phase phase;
+   private final int progress;
+   private final String message;
+
+   private DeploymentRollout(Phase phase, int progress, String message) {
+      this.phase = phase;
+      this.progress = progress;
+      this.message = message;
+   }
+
+   /** @return The phase of rollout. */
+   public Phase getPhase() {
+      return phase;
+   }
+   /** @return The rollout progress in percent. */
+   public int getProgress() {
+      return progress;
+   }
+   /** @return A human readable description of rollout. */
+   public String getMessage() {
+      return message;
+   }
+
+   /**
+    * Evaluate the rollout of a Deployment.
+    * @param deployment The deployment to evaluate
+    * @return The rollout evaluation
+    */
+   public static DeploymentRollout evaluate(Deployment deployment) {
+      DeploymentStatus status = deployment.getStatus();
+      int desired = deployment.getSpec().getReplicas() != null ? deployment.getSpec().getReplicas() : 1;
+      if (status == null) {
+         return new DeploymentRollout(Phase.PROGRESSING, 0, "Waiting for deployment to be observed");
+      }
+      long generation = deployment.getMetadata().getGeneration() != null ? deployment.getMetadata().getGeneration() : 0;
+      long observed = status.getObservedGeneration() != null ? status.getObservedGeneration() : 0;
+      if (observed < generation) {
+         return new DeploymentRollout(Phase.PROGRESSING, 0, "Waiting for deployment spec update to be observed");
+      }
+
+      int updated = valueOf(status.getUpdatedReplicas());
+      int available = valueOf(status.getAvailableReplicas());
+      int replicas = valueOf(status.getReplicas());
+      int progress = desired == 0 ? 100 : Math.min(100, Math.min(updated, available) * 100 / desired);
+
+      DeploymentCondition progressing = getCondition(status, "Progressing");
+      if (progressing != null && PROGRESS_DEADLINE_EXCEEDED.equals(progressing.getReason())) {
+         return new DeploymentRollout(Phase.FAILED, progress, "Rollout exceeded its progress deadline: " + progressing.getMessage());
+      }
+      if (updated < desired) {
+         return new DeploymentRollout(Phase.PROGRESSING, progress, updated + " of " + desired + " replica(s) updated");
+      }
+      if (replicas > updated) {
+         return new DeploymentRollout(Phase.PROGRESSING, Math.min(progress, 99), (replicas - updated) + " old replica(s) pending termination");
+      }
+      if (available < updated) {
+         return new DeploymentRollout(Phase.PROGRESSING, progress, available + " of " + updated + " updated replica(s) available");
+      }
+      return new DeploymentRollout(Phase.COMPLETE, 100, available + " ready replica(s)");
+   }
+
+   private static DeploymentCondition getCondition(DeploymentStatus status, String type) {
+      if (status.getConditions() != null) {
+         for (DeploymentCondition condition : status.getConditions()) {
+            if (type.equals(condition.getType())) {
+               return condition;
+            }
+         }
+      }
+      return null;
+   }
+
+   private static int valueOf(Integer value) {
+      return value != null ? value : 0;
+   }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.status;
+
+import io.fabric8.kubernetes.api.model.Quantity;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Computes raised memory limits for containers repeatedly killed for exceeding their memory limit.
+ * Limits are raised by a percentage step, rounded up to the mebibyte and bounded by a maximum.
+ * @author laurent.broudoux@gmail.com
+ */
+public class MemoryLimitPolicy {
+
+   private static final BigDecimal MEBIBYTE = BigDecimal.valueOf(1024L * 1024L);
+
+   private MemoryLimitPolicy() {
+   }
+
+   /**
+    * Compute the next memory limit.
+    * @param current The current memory limit
+    * @param stepPercent The percentage to raise limit of
+    * @param max The maximum memory limit
+    * @return The raised limit or null if current limit has already reached maximum
+    */
+   public static Quantity nextLimit(Quantity current, int stepPercent, Quantity max) {
+      BigDecimal currentBytes = Quantity.getAmountInBytes(current);
+      BigDecimal maxBytes = Quantity.getAmountInBytes(max);
+      if (currentBytes.compareTo(maxBytes) >= 0) {
+         return null;
+      }
+      BigDecimal nextBytes = currentBytes.multiply(BigDecimal.valueOf(100L + stepPercent)).divide(BigDecimal.valueOf(100L));
+      if (nextBytes.compareTo(maxBytes) >= 0) {
+         return max;
+      }
+      return new Quantity(nextBytes.divide(MEBIBYTE, 0, RoundingMode.CEILING).toPlainString(), "Mi");
+   }
+}
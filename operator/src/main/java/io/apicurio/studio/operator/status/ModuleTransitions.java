@@ -0,0 +1,243 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.status;
+
+import io.apicurio.studio.operator.api.ApicurioStudioStatus;
+import io.apicurio.studio.operator.api.ModuleStatus;
+
+/**
+ * Holds the state transitions of a module status driven by Deployment rollouts, health checks and pod states.
+ * Health checks and pod states only put a module in ERROR or bring it back to the state of its Deployment rollout,
+ * they never make it ready on their own.
+ * @author laurent.broudoux@gmail.com
+ */
+public class ModuleTransitions {
+
+   /** Prefix of module status message when module is put in error by health checks. */
+   public static final String HEALTH_CHECK_FAILURE_MESSAGE = "Health checks are failing (";
+   /** Prefix of module status message when module is put in error by crash looping containers. */
+   public static final String CRASH_LOOP_MESSAGE = "Containers are crash looping (";
+
+   private ModuleTransitions() {
+   }
+
+   /**
+    * Put a module in READY state, recording how long it took when it was DEPLOYING.
+    * @param status The module status to update
+    * @param message The message explaining readiness
+    */
+   public static void markReady(ModuleStatus status, String message) {
+      // Last transition is the DEPLOYING one, measure how long it took to get ready.
+      if (status.isDeploying()) {
+         status.setTimeToReadySeconds(status.getSecondsSinceLastTransition());
+      }
+      status.setState(ApicurioStudioStatus.State.READY);
+      status.setError(false);
+      status.setMessage(message);
+      status.updateLastTransitionTime();
+   }
+
+   /**
+    * Derive the status of a module from the rollout of its Deployment once applied. A module whose Deployment
+    * is rolling out is DEPLOYING, and one whose rollout is complete is READY as soon as it's healthy, so that
+    * re-applying an unchanged Deployment keeps its module READY. Errors raised by health checks or crash
+    * looping containers are kept, they're cleared by their own transitions.
+    * @param previous The current module status, null if none
+    * @param rollout The rollout of applied Deployment
+    * @param healthy Whether module is considered healthy by checks
+    * @return The module status to record, previous one updated in place when it applies
+    */
+   public static ModuleStatus applyRollout(ModuleStatus previous, DeploymentRollout rollout, boolean healthy) {
+      ModuleStatus status = previous;
+      if (status == null || status.getState() == ApicurioStudioStatus.State.UNKNOWN
+            || status.getState() == ApicurioStudioStatus.State.PREEXISTING) {
+         status = new ModuleStatus(ApicurioStudioStatus.State.DEPLOYING);
+      }
+      status.setRolloutProgress(rollout.getProgress());
+      if (isFailingHealthChecks(status) || isCrashLooping(status)) {
+         return status;
+      }
+      switch (rollout.getPhase()) {
+         case COMPLETE:
+            if (!status.isReady() && healthy) {
+               markReady(status, rollout.getMessage());
+            } else if (!status.isReady()) {
+               toDeploying(status, rollout.getMessage());
+            }
+            break;
+         case PROGRESSING:
+            toDeploying(status, rollout.getMessage());
+            break;
+         case FAILED:
+            if (status.getState() != ApicurioStudioStatus.State.ERROR) {
+               status.setState(ApicurioStudioStatus.State.ERROR);
+               status.setError(true);
+               status.updateLastTransitionTime();
+            }
+            status.setMessage(rollout.getMessage());
+            break;
+      }
+      return status;
+   }
+
+   /**
+    * Apply a health check result to a module status. A READY module whose checks fail is put in ERROR and
+    * comes back to READY once checks recover. A DEPLOYING module whose rollout completed before its
+    * first passing check is promoted to READY.
+    * @param status The module status to update
+    * @param healthy Whether module is considered healthy by checks
+    * @param errorRate The ratio of failed checks
+    * @param rollout The rollout of module Deployment, null if not known
+    * @return True if module state has changed
+    */
+   public static boolean applyHealthCheck(ModuleStatus status, boolean healthy, Double errorRate, DeploymentRollout rollout) {
+      if (!isHealthCheckTransition(status, healthy, rollout)) {
+         return false;
+      }
+      if (!healthy) {
+         status.setState(ApicurioStudioStatus.State.ERROR);
+         status.setError(true);
+         status.setMessage(HEALTH_CHECK_FAILURE_MESSAGE + Math.round((errorRate != null ? errorRate : 1) * 100) + "% errors)");
+         status.updateLastTransitionTime();
+         return true;
+      }
+      if (isFailingHealthChecks(status)) {
+         markReady(status, "Health checks are passing");
+      } else {
+         markReady(status, rollout.getMessage());
+      }
+      return true;
+   }
+
+   /**
+    * Tell if a health check result would change the state of a module, as applied by
+    * {@link #applyHealthCheck(ModuleStatus, boolean, Double, DeploymentRollout)}.
+    * @param status The current module status
+    * @param healthy Whether module is considered healthy by checks
+    * @param rollout The rollout of module Deployment, null if not known
+    * @return True if module state would change
+    */
+   public static boolean isHealthCheckTransition(ModuleStatus status, boolean healthy, DeploymentRollout rollout) {
+      if (!healthy) {
+         return status.isReady();
+      }
+      return isFailingHealthChecks(status)
+            || (status.isDeploying() && rollout != null && rollout.getPhase() == DeploymentRollout.Phase.COMPLETE);
+   }
+
+   /**
+    * Record health check metrics into a module status when they moved to another bucket: latency buckets
+    * double in size and error rate ones are 10% wide. Small variations between checks are not worth a
+    * status write.
+    * @param status The module status to update
+    * @param latencyMillis The average latency of checks
+    * @param errorRate The ratio of failed checks
+    * @return True if recorded metrics have changed
+    */
+   public static boolean applyHealthMetrics(ModuleStatus status, Long latencyMillis, Double errorRate) {
+      boolean changed = false;
+      if (latencyBucket(latencyMillis) != latencyBucket(status.getLatencyMillis())) {
+         status.setLatencyMillis(latencyMillis);
+         changed = true;
+      }
+      if (errorRateBucket(errorRate) != errorRateBucket(status.getErrorRate())) {
+         status.setErrorRate(errorRate);
+         changed = true;
+      }
+      return changed;
+   }
+
+   /**
+    * Tell if health check metrics moved to another bucket than the recorded ones.
+    * @param status The current module status
+    * @param latencyMillis The average latency of checks
+    * @param errorRate The ratio of failed checks
+    * @return True if {@link #applyHealthMetrics(ModuleStatus, Long, Double)} would change the status
+    */
+   public static boolean isHealthMetricsChange(ModuleStatus status, Long latencyMillis, Double errorRate) {
+      return latencyBucket(latencyMillis) != latencyBucket(status.getLatencyMillis())
+            || errorRateBucket(errorRate) != errorRateBucket(status.getErrorRate());
+   }
+
+   /** Get the power of two bucket of a latency: 0, 1, 2-3, 4-7, 8-15 and so on. */
+   static int latencyBucket(Long latencyMillis) {
+      return latencyMillis == null ? -1 : Long.SIZE - Long.numberOfLeadingZeros(Math.max(0, latencyMillis));
+   }
+
+   /** Get the 10% wide bucket of an error rate. */
+   static int errorRateBucket(Double errorRate) {
+      return errorRate == null ? -1 : (int) Math.floor(errorRate * 10);
+   }
+
+   /**
+    * Tell if a module has been put in ERROR by health checks.
+    * @param status The module status
+    * @return True if module is in ERROR because of failing health checks
+    */
+   public static boolean isFailingHealthChecks(ModuleStatus status) {
+      return status.getState() == ApicurioStudioStatus.State.ERROR
+            && status.getMessage() != null && status.getMessage().startsWith(HEALTH_CHECK_FAILURE_MESSAGE);
+   }
+
+   /**
+    * Tell if a module has been put in ERROR by crash looping containers.
+    * @param status The module status
+    * @return True if module is in ERROR because of crash looping containers
+    */
+   public static boolean isCrashLooping(ModuleStatus status) {
+      return status.getState() == ApicurioStudioStatus.State.ERROR
+            && status.getMessage() != null && status.getMessage().startsWith(CRASH_LOOP_MESSAGE);
+   }
+
+   /**
+    * Apply the crash looping state of module pods to a module status. A crash looping module is put in
+    * ERROR; once no container is crash looping anymore, it's restored to READY or DEPLOYING from its rollout.
+    * @param status The module status to update
+    * @param crashLooping Whether a container of module pods is crash looping
+    * @param lastTerminationReason The last termination reason of module containers
+    * @param rollout The rollout of module Deployment, null if not known
+    * @return True if module state has changed
+    */
+   public static boolean applyCrashLoop(ModuleStatus status, boolean crashLooping, String lastTerminationReason,
+                                        DeploymentRollout rollout) {
+      if (crashLooping && status.getState() != ApicurioStudioStatus.State.ERROR) {
+         status.setState(ApicurioStudioStatus.State.ERROR);
+         status.setError(true);
+         status.setMessage(CRASH_LOOP_MESSAGE + lastTerminationReason + ")");
+         status.updateLastTransitionTime();
+         return true;
+      }
+      if (!crashLooping && isCrashLooping(status)) {
+         if (rollout != null && rollout.getPhase() == DeploymentRollout.Phase.COMPLETE) {
+            markReady(status, rollout.getMessage());
+         } else {
+            toDeploying(status, rollout != null ? rollout.getMessage() : "Containers are no longer crash looping");
+         }
+         return true;
+      }
+      return false;
+   }
+
+   /** Put a module in DEPLOYING state, keeping its transition time if it was already deploying. */
+   private static void toDeploying(ModuleStatus status, String message) {
+      if (!status.isDeploying()) {
+         status.setState(ApicurioStudioStatus.State.DEPLOYING);
+         status.setError(false);
+         status.updateLastTransitionTime();
+      }
+      status.setMessage(message);
+   }
+}
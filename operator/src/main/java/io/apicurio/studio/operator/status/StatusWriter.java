@@ -0,0 +1,224 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.status;
+
+import io.apicurio.studio.operator.api.ApicurioStudio;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.HttpClientAware;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import io.fabric8.kubernetes.client.utils.URLUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes ApicurioStudio status using a JSON merge patch holding only the fields that changed since the
+ * last known status of the custom resource. The patch carries the resource version so that concurrent
+ * writers are detected: on conflict, the same patch is re-sent on top of a fresh resource version.
+ * Writes that would not change anything are skipped.
+ * @author laurent.broudoux@gmail.com
+ */
+public class StatusWriter {
+
+   /** Maximum number of attempts of a status write in case of conflicts. */
+   public static final int MAX_ATTEMPTS = 5;
+
+   private static final MediaType MERGE_PATCH = MediaType.parse("application/merge-patch+json");
+
+   /** Get a JBoss logging logger. */
+   private final Logger logger = Logger.getLogger(getClass());
+
+   private final KubernetesClient client;
+   private final ObjectMapper mapper = Serialization.jsonMapper();
+   private final Map<String, JsonNode> lastKnownStatuses = new ConcurrentHashMap<>();
+
+   private final Counter patchedWrites;
+   private final Counter skippedWrites;
+   private final Counter conflicts;
+   private final Counter failedWrites;
+
+   /**
+    * Build a new status writer.
+    * @param client The Kubernetes API client
+    * @param registry The registry where to publish writes metrics
+    */
+   public StatusWriter(KubernetesClient client, MeterRegistry registry) {
+      this.client = client;
+      this.patchedWrites = registry.counter("apicurio.studio.operator.status.writes", "result", "patched");
+      this.skippedWrites = registry.counter("apicurio.studio.operator.status.writes", "result", "skipped");
+      this.failedWrites = registry.counter("apicurio.studio.operator.status.writes", "result", "failed");
+      this.conflicts = registry.counter("apicurio.studio.operator.status.conflicts");
+   }
+
+   /**
+    * Get a fresh version of a custom resource and remember its status as the last known one.
+    * @param namespace The custom resource namespace
+    * @param name The custom resource name
+    * @return The custom resource or null if not found
+    */
+   public ApicurioStudio read(String namespace, String name) {
+      ApicurioStudio cr = client.customResources(ApicurioStudio.class).inNamespace(namespace).withName(name).get();
+      if (cr != null) {
+         remember(cr);
+      }
+      return cr;
+   }
+
+   /**
+    * Remember the status of a custom resource as the last known one, before local modifications.
+    * @param cr The custom resource as read from the API server
+    */
+   public void remember(ApicurioStudio cr) {
+      lastKnownStatuses.put(cr.getMetadata().getUid(), toTree(cr.getStatus()));
+   }
+
+   /**
+    * Forget last known status of a custom resource, typically once deleted.
+    * @param uid The custom resource uid
+    */
+   public void forget(String uid) {
+      lastKnownStatuses.remove(uid);
+   }
+
+   /**
+    * Write the changes of custom resource status since the last known one. On success, custom resource
+    * version is updated and status becomes the new last known one.
+    * @param cr The custom resource holding the new status
+    * @return True if a patch was written, false if there was nothing to write or resource is gone.
+    */
+   public boolean write(ApicurioStudio cr) {
+      final String namespace = cr.getMetadata().getNamespace();
+      final String name = cr.getMetadata().getName();
+      final String uid = cr.getMetadata().getUid();
+
+      JsonNode patch = mergePatch(lastKnownStatuses.getOrDefault(uid, NullNode.getInstance()), toTree(cr.getStatus()));
+      if (patch == null) {
+         logger.debugf("Status of '%s' has not changed, skipping write", name);
+         skippedWrites.increment();
+         return false;
+      }
+
+      String resourceVersion = cr.getMetadata().getResourceVersion();
+      for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+         ObjectNode body = mapper.createObjectNode();
+         body.putObject("metadata").put("resourceVersion", resourceVersion);
+         body.set("status", patch);
+
+         try (Response response = send(namespace, name, body)) {
+            if (response.isSuccessful()) {
+               ApicurioStudio updated = mapper.readValue(response.body().string(), ApicurioStudio.class);
+               cr.getMetadata().setResourceVersion(updated.getMetadata().getResourceVersion());
+               lastKnownStatuses.put(uid, toTree(updated.getStatus()));
+               patchedWrites.increment();
+               return true;
+            }
+            if (response.code() == 404) {
+               logger.infof("ApicurioStudio '%s' is gone, dropping status write", name);
+               forget(uid);
+               return false;
+            }
+            if (response.code() != 409) {
+               failedWrites.increment();
+               throw new KubernetesClientException("Status patch of '" + name + "' failed with code "
+                     + response.code() + ": " + response.body().string(), response.code(), null);
+            }
+         } catch (IOException ioe) {
+            failedWrites.increment();
+            throw new KubernetesClientException("Status patch of '" + name + "' failed", ioe);
+         }
+
+         // Someone else wrote in between, retry our changes on top of the fresh version.
+         conflicts.increment();
+         ApicurioStudio fresh = client.customResources(ApicurioStudio.class).inNamespace(namespace).withName(name).get();
+         if (fresh == null) {
+            forget(uid);
+            return false;
+         }
+         logger.debugf("Conflict while writing status of '%s' (attempt %d), retrying on version %s",
+               name, attempt, fresh.getMetadata().getResourceVersion());
+         resourceVersion = fresh.getMetadata().getResourceVersion();
+      }
+      failedWrites.increment();
+      throw new KubernetesClientException("Status patch of '" + name + "' still conflicting after " + MAX_ATTEMPTS + " attempts");
+   }
+
+   /**
+    * Compute a JSON merge patch (RFC 7386) turning a source document into a target one.
+    * @param source The source document, may be a NullNode
+    * @param target The target document, may be a NullNode
+    * @return The patch to apply or null if documents are equal.
+    */
+   public static JsonNode mergePatch(JsonNode source, JsonNode target) {
+      if (source.equals(target)) {
+         return null;
+      }
+      if (!source.isObject() || !target.isObject()) {
+         return target;
+      }
+      ObjectNode patch = ((ObjectNode) target).objectNode();
+      Iterator<Map.Entry<String, JsonNode>> targetFields = target.fields();
+      while (targetFields.hasNext()) {
+         Map.Entry<String, JsonNode> field = targetFields.next();
+         JsonNode sourceValue = source.get(field.getKey());
+         JsonNode fieldPatch = sourceValue == null ? field.getValue() : mergePatch(sourceValue, field.getValue());
+         if (fieldPatch != null) {
+            patch.set(field.getKey(), fieldPatch);
+         }
+      }
+      Iterator<String> sourceFields = source.fieldNames();
+      while (sourceFields.hasNext()) {
+         String fieldName = sourceFields.next();
+         if (!target.has(fieldName)) {
+            // Removed fields are set to null in a merge patch.
+            patch.putNull(fieldName);
+         }
+      }
+      return patch;
+   }
+
+   private JsonNode toTree(Object status) {
+      return status != null ? mapper.valueToTree(status) : NullNode.getInstance();
+   }
+
+   private Response send(String namespace, String name, JsonNode body) throws IOException {
+      OkHttpClient httpClient = ((HttpClientAware) client).getHttpClient();
+      String url = URLUtils.join(client.getMasterUrl().toString(), "apis", HasMetadata.getGroup(ApicurioStudio.class),
+            HasMetadata.getVersion(ApicurioStudio.class), "namespaces", namespace, HasMetadata.getPlural(ApicurioStudio.class),
+            name, "status");
+      Request request = new Request.Builder()
+            .url(url)
+            .patch(RequestBody.create(MERGE_PATCH, mapper.writeValueAsString(body)))
+            .build();
+      return httpClient.newCall(request).execute();
+   }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.watcher;
+
+import io.apicurio.studio.operator.Constants;
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.ContainerBuilder;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.PodStatusBuilder;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import io.fabric8.kubernetes.api.model.apps.DeploymentSpecBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Holds the transforms applied to watched resources before they're cached. Resources are pruned to the
+ * fields the operator actually reads so that heap does not grow with <code>managedFields</code>,
+ * foreign annotations or pod template details of the whole fleet.
+ * @author laurent.broudoux@gmail.com
+ */
+public class CachePruner {
+
+   /** Deployment annotations read by the operator. */
+   private static final Set<String> DEPLOYMENT_ANNOTATIONS = Set.of(Constants.APPLIED_HASH_ANNOTATION,
+         Constants.MEMORY_LIMIT_OVERRIDE_ANNOTATION);
+   /** Pod annotations read by the operator. */
+   private static final Set<String> POD_ANNOTATIONS = Set.of(Constants.OWNER_UID_ANNOTATION);
+
+   private CachePruner() {
+   }
+
+   /**
+    * Prune a Deployment to its identity, labels, owners, kept annotations, replicas, selector and status.
+    * @param deployment The Deployment to prune
+    * @return A new pruned Deployment
+    */
+   public static Deployment pruneDeployment(Deployment deployment) {
+      DeploymentBuilder builder = new DeploymentBuilder()
+            .withApiVersion(deployment.getApiVersion())
+            .withKind(deployment.getKind())
+            .withMetadata(pruneMetadata(deployment.getMetadata(), DEPLOYMENT_ANNOTATIONS))
+            .withStatus(deployment.getStatus());
+      if (deployment.getSpec() != null) {
+         builder.withSpec(new DeploymentSpecBuilder()
+               .withReplicas(deployment.getSpec().getReplicas())
+               .withSelector(deployment.getSpec().getSelector())
+               .build());
+      }
+      return builder.build();
+   }
+
+   /**
+    * Prune a Pod to its identity, labels, kept annotations, main container resources and container statuses.
+    * @param pod The Pod to prune
+    * @return A new pruned Pod
+    */
+   public static Pod prunePod(Pod pod) {
+      PodBuilder builder = new PodBuilder()
+            .withApiVersion(pod.getApiVersion())
+            .withKind(pod.getKind())
+            .withMetadata(pruneMetadata(pod.getMetadata(), POD_ANNOTATIONS));
+      if (pod.getSpec() != null && pod.getSpec().getContainers() != null) {
+         List<Container> containers = new ArrayList<>();
+         for (Container container : pod.getSpec().getContainers()) {
+            containers.add(new ContainerBuilder()
+                  .withName(container.getName())
+                  .withResources(container.getResources())
+                  .build());
+         }
+         builder.withNewSpec().withContainers(containers).endSpec();
+      }
+      if (pod.getStatus() != null) {
+         builder.withStatus(new PodStatusBuilder()
+               .withPhase(pod.getStatus().getPhase())
+               .withContainerStatuses(pod.getStatus().getContainerStatuses())
+               .build());
+      }
+      return builder.build();
+   }
+
+   private static ObjectMeta pruneMetadata(ObjectMeta metadata, Set<String> keptAnnotations) {
+      Map<String, String> annotations = null;
+      if (metadata.getAnnotations() != null) {
+         annotations = new HashMap<>();
+         for (String annotation : keptAnnotations) {
+            String value = metadata.getAnnotations().get(annotation);
+            if (value != null) {
+               annotations.put(annotation, value);
+            }
+         }
+      }
+      return new ObjectMetaBuilder()
+            .withName(metadata.getName())
+            .withNamespace(metadata.getNamespace())
+            .withUid(metadata.getUid())
+            .withResourceVersion(metadata.getResourceVersion())
+            .withGeneration(metadata.getGeneration())
+            .withCreationTimestamp(metadata.getCreationTimestamp())
+            .withDeletionTimestamp(metadata.getDeletionTimestamp())
+            .withLabels(metadata.getLabels())
+            .withAnnotations(annotations)
+            .withOwnerReferences(metadata.getOwnerReferences())
+            .build();
+   }
+}
@@ -17,19 +17,20 @@ package io.apicurio.studio.operator.watcher;
 
 import io.apicurio.studio.operator.ApicurioStudioController;
 import io.apicurio.studio.operator.Constants;
+import io.apicurio.studio.operator.logging.LogSampler;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentList;
 import io.fabric8.kubernetes.client.KubernetesClient;
-import io.fabric8.kubernetes.client.Watcher;
-import io.fabric8.kubernetes.client.WatcherException;
+import io.fabric8.kubernetes.client.dsl.FilterWatchListDeletable;
 
-import io.javaoperatorsdk.operator.processing.event.AbstractEventSource;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.jboss.logging.Logger;
 
 /**
  * A watcher for deployments created by the operator.
  * @author laurent.broudoux@gmail.com
  */
-public class DeploymentEventSource extends AbstractEventSource implements Watcher<Deployment> {
+public class DeploymentEventSource extends ResumableWatchEventSource<Deployment> {
 
    /** Get a JBoss logging logger. */
    private final Logger logger = Logger.getLogger(getClass());
@@ -38,33 +39,48 @@ public class DeploymentEventSource extends AbstractEventSource implements Watche
 
    private final KubernetesClient client;
 
-   public static DeploymentEventSource createAndRegisterWatch(ApicurioStudioController controller, KubernetesClient client) {
-      DeploymentEventSource deploymentEventSource = new DeploymentEventSource(controller, client);
-      deploymentEventSource.registerWatch();
-      return deploymentEventSource;
+   private final LogSampler sampler = new LogSampler();
+
+   /**
+    * Create a new event source. Watch must be started using {@link #startWatch()} once registered.
+    * @param controller The operator controller
+    * @param client The Kubernetes API client
+    * @param registry The registry where to publish watch metrics
+    * @return The new event source
+    */
+   public static DeploymentEventSource create(ApicurioStudioController controller, KubernetesClient client, MeterRegistry registry) {
+      return new DeploymentEventSource(controller, client, registry);
    }
 
-   private DeploymentEventSource(ApicurioStudioController controller, KubernetesClient client) {
+   private DeploymentEventSource(ApicurioStudioController controller, KubernetesClient client, MeterRegistry registry) {
+      super("Deployment", registry);
       this.controller = controller;
       this.client = client;
    }
 
-   private void registerWatch() {
-      client.apps()
+   @Override
+   protected FilterWatchListDeletable<Deployment, DeploymentList> resources() {
+      return client.apps()
             .deployments().inNamespace(client.getNamespace())
-            .withLabel(Constants.MANAGED_BY_LABEL, Constants.OPERATOR_ID)
-            .watch(this);
+            .withLabel(Constants.MANAGED_BY_LABEL, Constants.OPERATOR_ID);
    }
 
    @Override
-   public void eventReceived(Action action, Deployment deployment) {
-      logger.infof("Event for action: '%s', Deployment: '%s' (rr='%s')", action.name(),
-            deployment.getMetadata().getName(), deployment.getStatus().getReadyReplicas());
+   protected Deployment prune(Deployment deployment) {
+      return CachePruner.pruneDeployment(deployment);
+   }
 
-      if (action == Action.ERROR) {
-         logger.warnf("Skipping '%s' event for custom resource uid: '%s', version: '%s'",
-               action, deployment.getMetadata().getUid(), deployment.getMetadata().getGeneration());
-         return;
+   @Override
+   protected void handleEvent(Action action, Deployment deployment) {
+      String name = deployment.getMetadata().getName();
+      // Status updates of a rolling Deployment are numerous, only log some of them.
+      long suppressed = action == Action.MODIFIED ? sampler.sample(name) : 0;
+      if (action == Action.DELETED) {
+         sampler.forget(name);
+      }
+      if (suppressed >= 0 && logger.isInfoEnabled()) {
+         logger.infof("Event for action: '%s', Deployment: '%s' (rr='%s', %d similar events suppressed)", action.name(),
+               name, deployment.getStatus() != null ? deployment.getStatus().getReadyReplicas() : null, suppressed);
       }
       /*
       switch (action) {
@@ -79,20 +95,4 @@ public class DeploymentEventSource extends AbstractEventSource implements Watche
       }*/
       eventHandler.handleEvent(new DeploymentEvent(action, deployment, this));
    }
-
-   @Override
-   public void onClose(WatcherException e) {
-      if (e == null) {
-         return;
-      }
-      if (e.isHttpGone()) {
-         logger.warn("Received error for watch, will try to reconnect.", e);
-         registerWatch();
-      } else {
-         // Note that this should not happen normally, since fabric8 client handles reconnect.
-         // In case it tries to reconnect this method is not called.
-         logger.error("Unexpected error happened with watch. Will exit.", e);
-         System.exit(1);
-      }
-   }
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.watcher;
+
+import io.fabric8.kubernetes.client.Watcher;
+import io.javaoperatorsdk.operator.processing.event.AbstractEvent;
+
+/**
+ * An event for a change of containers state in a Pod managed by Apicurio Studio Operator.
+ * @author laurent.broudoux@gmail.com
+ */
+public class PodEvent extends AbstractEvent {
+
+   private final Watcher.Action action;
+   private final PodSummary summary;
+
+   /**
+    * Build a new Pod event.
+    * @param action Original action
+    * @param summary The summary of target pod
+    * @param podEventSource The event source that has materialized event
+    */
+   public PodEvent(Watcher.Action action, PodSummary summary, PodEventSource podEventSource) {
+      super(summary.getCustomResourceUid(), podEventSource);
+      this.action = action;
+      this.summary = summary;
+   }
+
+   /** @return Origin action of this event. */
+   public Watcher.Action getAction() {
+      return action;
+   }
+   /** @return The summary of target pod. */
+   public PodSummary getSummary() {
+      return summary;
+   }
+
+   @Override
+   public String toString() {
+      return "PodEvent{action=" + action + ", summary=" + summary + '}';
+   }
+}
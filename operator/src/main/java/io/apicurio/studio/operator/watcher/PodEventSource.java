@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.watcher;
+
+import io.apicurio.studio.operator.Constants;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodList;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.FilterWatchListDeletable;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * A watcher for pods of deployments created by the operator. Pods are cached pruned down to what their
+ * summary is built from, and events are raised only when this summary changes (restart, termination reason,
+ * back-off).
+ * @author laurent.broudoux@gmail.com
+ */
+public class PodEventSource extends ResumableWatchEventSource<Pod> {
+
+   /** Get a JBoss logging logger. */
+   private final Logger logger = Logger.getLogger(getClass());
+
+   private final KubernetesClient client;
+
+   /**
+    * Create a new event source. Watch must be started using {@link #startWatch()} once registered.
+    * @param client The Kubernetes API client
+    * @param registry The registry where to publish watch metrics
+    * @return The new event source
+    */
+   public static PodEventSource create(KubernetesClient client, MeterRegistry registry) {
+      return new PodEventSource(client, registry);
+   }
+
+   private PodEventSource(KubernetesClient client, MeterRegistry registry) {
+      super("Pod", registry);
+      this.client = client;
+   }
+
+   @Override
+   protected FilterWatchListDeletable<Pod, PodList> resources() {
+      return client.pods().inNamespace(client.getNamespace())
+            .withLabel(Constants.MANAGED_BY_LABEL, Constants.OPERATOR_ID);
+   }
+
+   /**
+    * Get the summaries of current pods of a module.
+    * @param customResourceUid The uid of studio custom resource owning module
+    * @param module The name of module
+    * @return The pods summaries, maybe empty
+    */
+   public List<PodSummary> getModulePods(String customResourceUid, String module) {
+      return findKnownResources(pod -> isModulePod(pod, customResourceUid, module)).stream()
+            .map(PodSummary::of)
+            .collect(Collectors.toList());
+   }
+
+   private static boolean isModulePod(Pod pod, String customResourceUid, String module) {
+      return pod.getMetadata().getAnnotations() != null && pod.getMetadata().getLabels() != null
+            && customResourceUid.equals(pod.getMetadata().getAnnotations().get(Constants.OWNER_UID_ANNOTATION))
+            && module.equals(pod.getMetadata().getLabels().get("module"));
+   }
+
+   @Override
+   protected Pod prune(Pod pod) {
+      return CachePruner.prunePod(pod);
+   }
+
+   @Override
+   protected boolean isChanged(Pod previous, Pod pod) {
+      return !Objects.equals(PodSummary.of(previous), PodSummary.of(pod));
+   }
+
+   @Override
+   protected void handleEvent(Action action, Pod pod) {
+      PodSummary summary = PodSummary.of(pod);
+      if (summary == null) {
+         return;
+      }
+      logger.debugf("Event for action: '%s', Pod: '%s' %s", action.name(), pod.getMetadata().getName(), summary);
+      eventHandler.handleEvent(new PodEvent(action, summary, this));
+   }
+}
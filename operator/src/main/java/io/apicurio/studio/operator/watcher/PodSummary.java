@@ -0,0 +1,150 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.watcher;
+
+import io.apicurio.studio.operator.Constants;
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.ContainerStatus;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.Quantity;
+
+import java.util.Objects;
+
+/**
+ * A lightweight summary of a module Pod keeping only what is needed from its main container status.
+ * Summaries are built on demand from the pruned Pods cached by the watch, so Pods are cached only once.
+ * @author laurent.broudoux@gmail.com
+ */
+public class PodSummary {
+
+   /** Reason of container termination when killed for exceeding its memory limit. */
+   public static final String OOM_KILLED = "OOMKilled";
+   /** Reason of container waiting when kubelet backs off restarting it. */
+   public static final String CRASH_LOOP_BACK_OFF = "CrashLoopBackOff";
+
+   private final String customResourceUid;
+   private final String module;
+   private final int restarts;
+   private final String lastTerminationReason;
+   private final String waitingReason;
+   private final String memoryLimit;
+
+   private PodSummary(String customResourceUid, String module, int restarts, String lastTerminationReason,
+                      String waitingReason, String memoryLimit) {
+      this.customResourceUid = customResourceUid;
+      this.module = module;
+      this.restarts = restarts;
+      this.lastTerminationReason = lastTerminationReason;
+      this.waitingReason = waitingReason;
+      this.memoryLimit = memoryLimit;
+   }
+
+   /**
+    * Build a summary from a Pod.
+    * @param pod The pod to summarize
+    * @return The summary or null if pod is not owned by a studio custom resource
+    */
+   public static PodSummary of(Pod pod) {
+      String customResourceUid = pod.getMetadata().getAnnotations() != null ?
+            pod.getMetadata().getAnnotations().get(Constants.OWNER_UID_ANNOTATION) : null;
+      String module = pod.getMetadata().getLabels() != null ? pod.getMetadata().getLabels().get("module") : null;
+      if (customResourceUid == null || module == null) {
+         return null;
+      }
+      int restarts = 0;
+      String lastTerminationReason = null;
+      String waitingReason = null;
+      if (pod.getStatus() != null && pod.getStatus().getContainerStatuses() != null
+            && !pod.getStatus().getContainerStatuses().isEmpty()) {
+         ContainerStatus status = pod.getStatus().getContainerStatuses().get(0);
+         restarts = status.getRestartCount() != null ? status.getRestartCount() : 0;
+         if (status.getLastState() != null && status.getLastState().getTerminated() != null) {
+            lastTerminationReason = status.getLastState().getTerminated().getReason();
+         }
+         if (status.getState() != null && status.getState().getWaiting() != null) {
+            waitingReason = status.getState().getWaiting().getReason();
+         }
+      }
+      String memoryLimit = null;
+      if (pod.getSpec() != null && pod.getSpec().getContainers() != null && !pod.getSpec().getContainers().isEmpty()) {
+         Container container = pod.getSpec().getContainers().get(0);
+         if (container.getResources() != null && container.getResources().getLimits() != null) {
+            Quantity limit = container.getResources().getLimits().get("memory");
+            memoryLimit = limit != null ? limit.toString() : null;
+         }
+      }
+      return new PodSummary(customResourceUid, module, restarts, lastTerminationReason, waitingReason, memoryLimit);
+   }
+
+   public String getCustomResourceUid() {
+      return customResourceUid;
+   }
+
+   public String getModule() {
+      return module;
+   }
+
+   public int getRestarts() {
+      return restarts;
+   }
+
+   public String getLastTerminationReason() {
+      return lastTerminationReason;
+   }
+
+   public String getWaitingReason() {
+      return waitingReason;
+   }
+
+   public String getMemoryLimit() {
+      return memoryLimit;
+   }
+
+   /** @return True if kubelet is backing off restarting container. */
+   public boolean isCrashLooping() {
+      return CRASH_LOOP_BACK_OFF.equals(waitingReason);
+   }
+
+   /** @return True if container was last killed for exceeding its memory limit. */
+   public boolean isOOMKilled() {
+      return OOM_KILLED.equals(lastTerminationReason);
+   }
+
+   @Override
+   public boolean equals(Object o) {
+      if (this == o) {
+         return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+         return false;
+      }
+      PodSummary that = (PodSummary) o;
+      return restarts == that.restarts && Objects.equals(customResourceUid, that.customResourceUid)
+            && Objects.equals(module, that.module) && Objects.equals(lastTerminationReason, that.lastTerminationReason)
+            && Objects.equals(waitingReason, that.waitingReason) && Objects.equals(memoryLimit, that.memoryLimit);
+   }
+
+   @Override
+   public int hashCode() {
+      return Objects.hash(customResourceUid, module, restarts, lastTerminationReason, waitingReason, memoryLimit);
+   }
+
+   @Override
+   public String toString() {
+      return "PodSummary{module=" + module + ", restarts=" + restarts + ", lastTerminationReason=" + lastTerminationReason
+            + ", waitingReason=" + waitingReason + ", memoryLimit=" + memoryLimit + '}';
+   }
+}
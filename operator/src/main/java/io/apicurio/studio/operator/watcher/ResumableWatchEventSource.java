@@ -0,0 +1,303 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.watcher;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.KubernetesResourceList;
+import io.fabric8.kubernetes.api.model.ListOptions;
+import io.fabric8.kubernetes.api.model.ListOptionsBuilder;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.WatcherException;
+import io.fabric8.kubernetes.client.dsl.FilterWatchListDeletable;
+import io.javaoperatorsdk.operator.processing.event.AbstractEventSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Base of event sources watching resources created by the operator. The watch is resumed from the
+ * last seen resource version (kept fresh by watch bookmarks) with a bounded exponential backoff when
+ * the connection is lost. A full list is done only when resume is impossible (HTTP 410 Gone): events
+ * missed in between are then synthesized by comparing the list with the known resources.
+ * @param <T> The type of watched resources
+ * @author laurent.broudoux@gmail.com
+ */
+public abstract class ResumableWatchEventSource<T extends HasMetadata> extends AbstractEventSource implements Watcher<T> {
+
+   /** Delay before first reconnection attempt. */
+   public static final long MIN_BACKOFF_MILLIS = 500;
+   /** Maximum delay between 2 reconnection attempts. */
+   public static final long MAX_BACKOFF_MILLIS = 60_000;
+
+   /** Get a JBoss logging logger. */
+   private final Logger logger = Logger.getLogger(getClass());
+
+   private final Map<String, T> knownResources = new ConcurrentHashMap<>();
+   private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+   private final Counter reconnects;
+   private final Counter relists;
+
+   private volatile String lastResourceVersion;
+   private volatile Watch watch;
+   private volatile boolean closed = false;
+   private int failures = 0;
+
+   /**
+    * Initialize watch metrics.
+    * @param kind The kind of watched resources, used as metrics tag
+    * @param registry The registry where to publish reconnects and relists metrics
+    */
+   protected ResumableWatchEventSource(String kind, MeterRegistry registry) {
+      this.reconnects = registry.counter("apicurio.studio.operator.watch.reconnects", "kind", kind);
+      this.relists = registry.counter("apicurio.studio.operator.watch.relists", "kind", kind);
+   }
+
+   /** @return The selection of resources to list and watch */
+   protected abstract FilterWatchListDeletable<T, ? extends KubernetesResourceList<T>> resources();
+
+   /**
+    * Handle an event on a watched resource, received or synthesized after a relist.
+    * @param action The event action (ADDED, MODIFIED or DELETED)
+    * @param resource The resource
+    */
+   protected abstract void handleEvent(Action action, T resource);
+
+   /**
+    * List the current resources. Default is to list the {@link #resources()} selection.
+    * @return The resources list, holding the resource version to watch from
+    */
+   protected KubernetesResourceList<T> list() {
+      return resources().list();
+   }
+
+   /**
+    * Start watching resources, notifying this event source. Default is to watch the {@link #resources()} selection.
+    * @param options The options holding the resource version to watch from
+    * @return The started watch
+    */
+   protected Watch watch(ListOptions options) {
+      return resources().watch(options, this);
+   }
+
+   /**
+    * Schedule a reconnection or relist attempt. Default is to run it on the event source scheduler thread.
+    * @param task The attempt to run
+    * @param delayMillis The delay before running it
+    */
+   protected void schedule(Runnable task, long delayMillis) {
+      scheduler.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+   }
+
+   /**
+    * Tell if a watched or relisted resource changed in a way worth an event. Default is to consider every
+    * new version as a change; implementations may compare only the fields they read.
+    * @param previous The resource as previously cached
+    * @param resource The new version of the resource, as pruned
+    * @return True if event should be handled
+    */
+   protected boolean isChanged(T previous, T resource) {
+      return true;
+   }
+
+   /**
+    * Transform a resource before it's cached and handled. Implementations should prune the fields
+    * the operator never reads to keep heap usage low. Default is to keep resource as is.
+    * @param resource The resource as received from API server
+    * @return The resource to cache and handle
+    */
+   protected T prune(T resource) {
+      return resource;
+   }
+
+   /**
+    * List current resources, raising ADDED events for them, and start watching from there. Must be called
+    * once event source has been registered so that an event handler is available.
+    */
+   public synchronized void startWatch() {
+      relist();
+   }
+
+   /** Stop watching and release threads. */
+   public void close() {
+      closed = true;
+      scheduler.shutdownNow();
+      if (watch != null) {
+         watch.close();
+      }
+   }
+
+   /**
+    * Get a resource as last listed or watched.
+    * @param name The resource name
+    * @return The resource or null if not known
+    */
+   public T getKnownResource(String name) {
+      return knownResources.get(name);
+   }
+
+   /**
+    * Find a resource as last listed or watched.
+    * @param predicate The predicate the resource must match
+    * @return The first matching resource or null if none is known
+    */
+   public T findKnownResource(Predicate<T> predicate) {
+      return knownResources.values().stream().filter(predicate).findFirst().orElse(null);
+   }
+
+   /**
+    * Find the resources as last listed or watched.
+    * @param predicate The predicate resources must match
+    * @return The matching resources, maybe empty
+    */
+   public List<T> findKnownResources(Predicate<T> predicate) {
+      return knownResources.values().stream().filter(predicate).collect(Collectors.toList());
+   }
+
+   @Override
+   public void eventReceived(Action action, T resource) {
+      // Compare by name as BOOKMARK is not known by every client version.
+      if ("BOOKMARK".equals(action.name())) {
+         lastResourceVersion = resource.getMetadata().getResourceVersion();
+         return;
+      }
+      if (action == Action.ERROR) {
+         logger.warnf("Skipping '%s' event for resource uid: '%s'", action, resource.getMetadata().getUid());
+         return;
+      }
+      synchronized (this) {
+         failures = 0;
+      }
+      lastResourceVersion = resource.getMetadata().getResourceVersion();
+      dispatch(action, prune(resource));
+   }
+
+   @Override
+   public void onClose(WatcherException e) {
+      if (e == null || closed) {
+         return;
+      }
+      if (e.isHttpGone()) {
+         logger.warnf("Watch resource version %s is gone, relisting", lastResourceVersion);
+         scheduleRelist(0);
+      } else {
+         scheduleReconnect(e);
+      }
+   }
+
+   private synchronized void scheduleReconnect(Exception cause) {
+      long delay = nextBackoff();
+      logger.warnf("Watch closed (%s), resuming from resource version %s in %d ms",
+            cause.getMessage(), lastResourceVersion, delay);
+      schedule(() -> {
+         reconnects.increment();
+         try {
+            watchFrom(lastResourceVersion);
+         } catch (KubernetesClientException kce) {
+            if (kce.getCode() == 410) {
+               scheduleRelist(0);
+            } else {
+               scheduleReconnect(kce);
+            }
+         }
+      }, delay);
+   }
+
+   private synchronized void scheduleRelist(long delay) {
+      schedule(() -> {
+         relists.increment();
+         try {
+            relist();
+         } catch (KubernetesClientException kce) {
+            logger.warnf("Relist failed (%s), retrying", kce.getMessage());
+            scheduleRelist(nextBackoff());
+         }
+      }, delay);
+   }
+
+   /** @return The delay before next attempt, doubling on each consecutive failure */
+   private synchronized long nextBackoff() {
+      long delay = Math.min(MAX_BACKOFF_MILLIS, MIN_BACKOFF_MILLIS << Math.min(failures, 16));
+      failures++;
+      return delay;
+   }
+
+   private synchronized void relist() {
+      if (closed) {
+         return;
+      }
+      KubernetesResourceList<T> list = list();
+      Map<String, T> current = new HashMap<>();
+      for (T resource : list.getItems()) {
+         current.put(resource.getMetadata().getName(), prune(resource));
+      }
+      // Synthesize events that may have been missed since the last known state.
+      for (T resource : current.values()) {
+         T previous = knownResources.get(resource.getMetadata().getName());
+         if (previous == null) {
+            dispatch(Action.ADDED, resource);
+         } else if (!Objects.equals(previous.getMetadata().getResourceVersion(), resource.getMetadata().getResourceVersion())) {
+            dispatch(Action.MODIFIED, resource);
+         }
+      }
+      for (T previous : new ArrayList<>(knownResources.values())) {
+         if (!current.containsKey(previous.getMetadata().getName())) {
+            dispatch(Action.DELETED, previous);
+         }
+      }
+      lastResourceVersion = list.getMetadata().getResourceVersion();
+      watchFrom(lastResourceVersion);
+   }
+
+   private synchronized void watchFrom(String resourceVersion) {
+      if (closed) {
+         return;
+      }
+      if (watch != null) {
+         watch.close();
+      }
+      ListOptions options = new ListOptionsBuilder()
+            .withResourceVersion(resourceVersion)
+            .withAllowWatchBookmarks(true)
+            .build();
+      watch = watch(options);
+   }
+
+   private void dispatch(Action action, T resource) {
+      if (action == Action.DELETED) {
+         knownResources.remove(resource.getMetadata().getName());
+         handleEvent(action, resource);
+         return;
+      }
+      T previous = knownResources.put(resource.getMetadata().getName(), resource);
+      if (previous == null || isChanged(previous, resource)) {
+         handleEvent(action, resource);
+      }
+   }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.health;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ *
+ */
+public class HealthStatsTest {
+
+   @Test
+   public void testStatsOverWindow() {
+      HealthStats stats = new HealthStats(4);
+      assertNull(stats.getErrorRate());
+      assertNull(stats.getAverageLatencyMillis());
+      assertTrue(stats.isHealthy(0.5));
+
+      stats.record(true, 10);
+      stats.record(false, 30);
+      assertEquals(0.5, stats.getErrorRate());
+      assertEquals(20L, stats.getAverageLatencyMillis());
+      assertTrue(stats.isHealthy(0.5));
+
+      stats.record(false, 50);
+      stats.record(false, 70);
+      assertEquals(0.75, stats.getErrorRate());
+      assertFalse(stats.isHealthy(0.5));
+
+      // Oldest samples are evicted from window.
+      stats.record(true, 10);
+      stats.record(true, 10);
+      stats.record(true, 10);
+      assertEquals(0.25, stats.getErrorRate());
+      assertEquals(25L, stats.getAverageLatencyMillis());
+      assertEquals(7, stats.getTotal());
+   }
+}
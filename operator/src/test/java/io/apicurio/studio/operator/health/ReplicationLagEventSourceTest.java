@@ -0,0 +1,58 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.health;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ *
+ */
+public class ReplicationLagEventSourceTest {
+
+   @Test
+   public void testRefreshOnlyReportsChanges() {
+      Deque<Long> samples = new ArrayDeque<>(Arrays.asList(3L, 3L, 0L, 0L));
+      ReplicationLagEventSource source = new ReplicationLagEventSource(null, 3600, 5000) {
+         @Override
+         protected Long sample(String namespace, Map<String, String> podLabels) {
+            return samples.poll();
+         }
+      };
+      try {
+         ReplicationLagEventSource.Target target = new ReplicationLagEventSource.Target("uid-1", "ns",
+               Map.of("app", "apicurio-sample", "module", "apicurio-studio-db-replica"));
+         assertNull(source.getLagSeconds("uid-1"));
+
+         assertTrue(source.refresh(target));
+         assertFalse(source.refresh(target));
+         assertTrue(source.refresh(target));
+         assertFalse(source.refresh(target));
+         // Replicas that cannot be measured anymore are reported too.
+         assertTrue(source.refresh(target));
+      } finally {
+         source.close();
+      }
+   }
+}
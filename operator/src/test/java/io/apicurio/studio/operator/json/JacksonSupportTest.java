@@ -0,0 +1,125 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.json;
+
+import io.apicurio.studio.operator.api.ApicurioStudio;
+import io.apicurio.studio.operator.api.ApicurioStudioSpec;
+import io.apicurio.studio.operator.api.ApicurioStudioStatus;
+import io.apicurio.studio.operator.api.ModuleSpec;
+import io.apicurio.studio.operator.api.ModuleStatus;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ *
+ */
+public class JacksonSupportTest {
+
+   @Test
+   public void testRoundTripIsUnchanged() throws Exception {
+      ObjectMapper reflective = new ObjectMapper();
+      ObjectMapper fastPath = JacksonSupport.withFastPath(new ObjectMapper());
+      String json = reflective.writeValueAsString(studio());
+
+      ApicurioStudio read = fastPath.readValue(json, ApicurioStudio.class);
+      assertEquals(reflective.readTree(json), reflective.readTree(fastPath.writeValueAsString(read)));
+      assertEquals(ApicurioStudioStatus.Phase.MODULES, read.getStatus().getPhase());
+      assertEquals(ApicurioStudioStatus.State.READY, read.getStatus().getApiModule().getState());
+   }
+
+   @Test
+   public void testFastPathMatchesReflective() throws Exception {
+      ObjectMapper reflective = new ObjectMapper();
+      ObjectMapper fastPath = JacksonSupport.withFastPath(new ObjectMapper());
+      ApicurioStudio studio = studio();
+
+      // Both paths write the same document...
+      String json = reflective.writeValueAsString(studio);
+      assertEquals(reflective.readTree(json), reflective.readTree(fastPath.writeValueAsString(studio)));
+
+      // ... and read it into the same model.
+      ApicurioStudio reflectiveRead = reflective.readValue(json, ApicurioStudio.class);
+      ApicurioStudio fastPathRead = fastPath.readValue(json, ApicurioStudio.class);
+      assertEquals(reflective.readTree(reflective.writeValueAsString(reflectiveRead)),
+            reflective.readTree(reflective.writeValueAsString(fastPathRead)));
+      assertEquals(studio.getStatus().getAppliedHashes(), fastPathRead.getStatus().getAppliedHashes());
+      assertEquals(studio.getStatus().getAppliedGenerations(), fastPathRead.getStatus().getAppliedGenerations());
+      assertEquals(studio.getSpec().getUrl(), fastPathRead.getSpec().getUrl());
+   }
+
+   @Test
+   public void testFastPathIsNotSlowerThanReflective() throws Exception {
+      ObjectMapper reflective = new ObjectMapper();
+      ObjectMapper fastPath = JacksonSupport.withFastPath(new ObjectMapper());
+      String json = reflective.writeValueAsString(studio());
+
+      // Warm up both mappers so that lambdas are generated and both paths are compiled before measuring.
+      roundTrips(reflective, json, 20_000);
+      roundTrips(fastPath, json, 20_000);
+
+      // Keep the best of interleaved runs to smooth out GC pauses and noisy neighbours.
+      long reflectiveNanos = Long.MAX_VALUE;
+      long fastPathNanos = Long.MAX_VALUE;
+      for (int run = 0; run < 5; run++) {
+         reflectiveNanos = Math.min(reflectiveNanos, roundTrips(reflective, json, 10_000));
+         fastPathNanos = Math.min(fastPathNanos, roundTrips(fastPath, json, 10_000));
+      }
+
+      // Blackbird gain on such a small model is modest: only guard against it making things worse.
+      assertTrue(fastPathNanos <= reflectiveNanos * 3 / 2,
+            "Expected fast path to be at most 1.5x the reflective time, got " + TimeUnit.NANOSECONDS.toMillis(fastPathNanos)
+                  + " ms vs " + TimeUnit.NANOSECONDS.toMillis(reflectiveNanos) + " ms");
+   }
+
+   /** Read and write back the studio as a watch event and status update would, and measure the elapsed time. */
+   private static long roundTrips(ObjectMapper mapper, String json, int count) throws Exception {
+      long start = System.nanoTime();
+      for (int i = 0; i < count; i++) {
+         mapper.writeValueAsString(mapper.readValue(json, ApicurioStudio.class));
+      }
+      return System.nanoTime() - start;
+   }
+
+   private static ApicurioStudio studio() {
+      ApicurioStudio studio = new ApicurioStudio();
+      studio.setMetadata(new ObjectMetaBuilder().withName("apicurio-sample").withNamespace("apicurio")
+            .withUid("1234").withResourceVersion("5678").build());
+      ApicurioStudioSpec spec = new ApicurioStudioSpec();
+      spec.setName("apicurio-sample");
+      spec.setUrl("apicurio.example.com");
+      spec.setApiModule(new ModuleSpec());
+      spec.setWsModule(new ModuleSpec());
+      spec.setStudioModule(new ModuleSpec());
+      studio.setSpec(spec);
+      ApicurioStudioStatus status = new ApicurioStudioStatus();
+      status.setState(ApicurioStudioStatus.State.DEPLOYING);
+      status.setPhase(ApicurioStudioStatus.Phase.MODULES);
+      status.setStudioUrl("apicurio.example.com");
+      status.setApiModule(new ModuleStatus(ApicurioStudioStatus.State.READY));
+      status.setAppliedHashes(Map.of("apicurio-sample-api", "abc", "apicurio-sample-ws", "def"));
+      status.setAppliedGenerations(Map.of("apicurio-sample-api", 2L, "apicurio-sample-ws", 1L));
+      studio.setStatus(status);
+      return studio;
+   }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.json;
+
+import io.apicurio.studio.operator.api.ApicurioStudio;
+import io.apicurio.studio.operator.api.ApicurioStudioStatus;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ *
+ */
+public class ModelReflectionTest {
+
+   private static final String API_PACKAGE_PATH = ApicurioStudio.class.getPackageName().replace('.', '/') + "/";
+
+   @Test
+   public void testAllModelClassesAreRegistered() throws Exception {
+      Set<Class<?>> derived = ModelReflection.listModelClasses(ApicurioStudio.class);
+      // Nested enums are reached through the fields using them.
+      assertTrue(derived.contains(ApicurioStudioStatus.State.class));
+      assertTrue(derived.contains(ApicurioStudioStatus.Phase.class));
+
+      Set<String> registered = derived.stream()
+            .filter(modelClass -> modelClass.getEnclosingClass() == null)
+            .map(Class::getName)
+            .collect(Collectors.toCollection(TreeSet::new));
+      Set<String> modelClasses = listModelClasses();
+      assertFalse(modelClasses.isEmpty());
+      // A model class not referenced from the custom resource would not be registered.
+      assertEquals(modelClasses, registered);
+   }
+
+   /** List the model classes of api module, leaving aside nested and generated builder classes. */
+   private static Set<String> listModelClasses() throws Exception {
+      Set<String> entries = new TreeSet<>();
+      URL location = ApicurioStudio.class.getProtectionDomain().getCodeSource().getLocation();
+      File source = new File(location.toURI());
+      if (source.isDirectory()) {
+         Path root = source.toPath();
+         try (Stream<Path> paths = Files.list(root.resolve(API_PACKAGE_PATH))) {
+            paths.forEach(path -> entries.add(root.relativize(path).toString().replace(File.separatorChar, '/')));
+         }
+      } else {
+         try (JarFile jar = new JarFile(source)) {
+            Enumeration<JarEntry> jarEntries = jar.entries();
+            while (jarEntries.hasMoreElements()) {
+               entries.add(jarEntries.nextElement().getName());
+            }
+         }
+      }
+      return entries.stream()
+            .filter(entry -> entry.startsWith(API_PACKAGE_PATH) && entry.endsWith(".class"))
+            .map(entry -> entry.substring(0, entry.length() - ".class".length()))
+            .filter(entry -> entry.indexOf('/', API_PACKAGE_PATH.length()) < 0 && !entry.contains("$"))
+            .filter(entry -> !entry.endsWith("Builder") && !entry.endsWith("Fluent") && !entry.endsWith("FluentImpl"))
+            .map(entry -> entry.replace('/', '.'))
+            .collect(Collectors.toCollection(TreeSet::new));
+   }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.logging;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+
+import org.jboss.logging.MDC;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ *
+ */
+public class LogContextTest {
+
+   @Test
+   public void testWrappedTaskKeepsContext() throws Exception {
+      ExecutorService executor = Executors.newSingleThreadExecutor();
+      ConfigMap cr = new ConfigMapBuilder()
+            .withNewMetadata().withNamespace("apicurio").withName("apicurio-sample").withUid("1234").endMetadata()
+            .build();
+
+      Runnable task;
+      try (LogContext ignored = LogContext.of(cr)) {
+         task = LogContext.wrap(() -> {
+            assertEquals("apicurio", MDC.get(LogContext.NAMESPACE_KEY));
+            assertEquals("apicurio-sample", MDC.get(LogContext.NAME_KEY));
+            assertEquals("1234", MDC.get(LogContext.UID_KEY));
+         });
+      }
+      assertNull(MDC.get(LogContext.NAME_KEY));
+
+      // Runs on another thread, after the context of the calling thread has been closed.
+      CompletableFuture.runAsync(task, executor).get(5, TimeUnit.SECONDS);
+      // Context does not leak on the executor thread.
+      CompletableFuture.runAsync(() -> assertNull(MDC.get(LogContext.NAME_KEY)), executor).get(5, TimeUnit.SECONDS);
+      executor.shutdownNow();
+   }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.logging;
+
+import io.apicurio.studio.operator.api.ApicurioStudioStatus;
+import io.apicurio.studio.operator.api.ModuleStatus;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ *
+ */
+public class LogSamplerTest {
+
+   private static final long SECOND = 1_000_000_000L;
+
+   @Test
+   public void testSampling() {
+      LogSampler sampler = new LogSampler(10_000);
+
+      assertEquals(0, sampler.sample("api", 0));
+      assertEquals(-1, sampler.sample("api", SECOND));
+      assertEquals(-1, sampler.sample("api", 2 * SECOND));
+      // Other keys are sampled independently.
+      assertEquals(0, sampler.sample("ws", 2 * SECOND));
+      // Suppressed occurrences are reported with next logged line.
+      assertEquals(2, sampler.sample("api", 10 * SECOND));
+      assertEquals(-1, sampler.sample("api", 11 * SECOND));
+
+      sampler.forget("api");
+      assertEquals(0, sampler.sample("api", 12 * SECOND));
+   }
+
+   @Test
+   public void testLazyAllocations() {
+      ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+      assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "Thread allocation measurement is not supported");
+      com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+      Logger logger = Logger.getLogger(LogSamplerTest.class);
+      assumeTrue(!logger.isDebugEnabled(), "Debug logging must be disabled");
+
+      ApicurioStudioStatus status = new ApicurioStudioStatus();
+      status.setApiModule(new ModuleStatus(ApicurioStudioStatus.State.DEPLOYING));
+      int iterations = 10_000;
+
+      // Warm up both forms before measuring.
+      eager(logger, status, iterations);
+      lazy(logger, status, iterations);
+      long start = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+      eager(logger, status, iterations);
+      long eagerBytes = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - start;
+      start = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+      lazy(logger, status, iterations);
+      long lazyBytes = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - start;
+
+      assertTrue(lazyBytes * 10 < eagerBytes, "Lazy logging should allocate at least 10 times less");
+   }
+
+   private static void eager(Logger logger, ApicurioStudioStatus status, int iterations) {
+      for (int i = 0; i < iterations; i++) {
+         logger.debug("Handling modified Deployment for CR: " + ToStringBuilder.reflectionToString(status));
+      }
+   }
+
+   private static void lazy(Logger logger, ApicurioStudioStatus status, int iterations) {
+      for (int i = 0; i < iterations; i++) {
+         logger.debugf("Handling modified Deployment for CR: %s", Lazy.of(() -> ToStringBuilder.reflectionToString(status)));
+      }
+   }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.module;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ *
+ */
+public class ModulePipelineTest {
+
+   @Test
+   public void testIndependentModulesOverlap() throws Exception {
+      ExecutorService executor = Executors.newFixedThreadPool(2);
+      // Both modules have to be running at the same time to pass the barrier.
+      CyclicBarrier barrier = new CyclicBarrier(2);
+      List<String> done = Collections.synchronizedList(new ArrayList<>());
+
+      ModuleRegistry registry = new ModuleRegistry()
+            .register(new ModuleDescriptor("auth", (cr, snapshot) -> await(barrier, done, "auth"), null))
+            .register(new ModuleDescriptor("db", (cr, snapshot) -> await(barrier, done, "db"), null))
+            .register(new ModuleDescriptor("api", (cr, snapshot) -> done.add("api"), null, "auth", "db"))
+            .register(new ModuleDescriptor("ui", (cr, snapshot) -> done.add("ui"), null, "api"));
+
+      new ModulePipeline(registry, executor).reconcile(null, null).get(5, TimeUnit.SECONDS);
+
+      assertEquals(4, done.size());
+      assertEquals(List.of("api", "ui"), done.subList(2, 4));
+      executor.shutdownNow();
+   }
+
+   @Test
+   public void testFailureSkipsDependents() throws Exception {
+      ExecutorService executor = Executors.newFixedThreadPool(2);
+      List<String> done = Collections.synchronizedList(new ArrayList<>());
+
+      ModuleRegistry registry = new ModuleRegistry()
+            .register(new ModuleDescriptor("db", (cr, snapshot) -> {
+               throw new IllegalStateException("db is down");
+            }, null))
+            .register(new ModuleDescriptor("auth", (cr, snapshot) -> done.add("auth"), null))
+            .register(new ModuleDescriptor("api", (cr, snapshot) -> done.add("api"), null, "db"));
+
+      CompletableFuture<Void> pipeline = new ModulePipeline(registry, executor).reconcile(null, null);
+      ExecutionException ee = assertThrows(ExecutionException.class, () -> pipeline.get(5, TimeUnit.SECONDS));
+      assertEquals("db is down", ee.getCause().getMessage());
+      assertFalse(done.contains("api"));
+      executor.shutdownNow();
+   }
+
+   @Test
+   public void testSubsetOfModules() throws Exception {
+      ExecutorService executor = Executors.newFixedThreadPool(2);
+      List<String> done = Collections.synchronizedList(new ArrayList<>());
+
+      ModuleRegistry registry = new ModuleRegistry()
+            .register(new ModuleDescriptor("auth", (cr, snapshot) -> done.add("auth"), null))
+            .register(new ModuleDescriptor("db", (cr, snapshot) -> done.add("db"), null))
+            .register(new ModuleDescriptor("api", (cr, snapshot) -> done.add("api"), null, "auth", "db"))
+            .register(new ModuleDescriptor("ui", (cr, snapshot) -> done.add("ui"), null, "api"));
+
+      // Dependencies outside of the subset have been reconciled by a previous phase.
+      new ModulePipeline(registry, executor).reconcile(null, null, Set.of("api", "ui")).get(5, TimeUnit.SECONDS);
+
+      assertEquals(List.of("api", "ui"), done);
+      executor.shutdownNow();
+   }
+
+   @Test
+   public void testDirectExecutorRunsInOrderOnCallingThread() throws Exception {
+      Thread caller = Thread.currentThread();
+      List<String> done = new ArrayList<>();
+
+      ModuleRegistry registry = new ModuleRegistry()
+            .register(new ModuleDescriptor("auth", (cr, snapshot) -> record(caller, done, "auth"), null))
+            .register(new ModuleDescriptor("db", (cr, snapshot) -> record(caller, done, "db"), null))
+            .register(new ModuleDescriptor("api", (cr, snapshot) -> record(caller, done, "api"), null, "auth", "db"))
+            .register(new ModuleDescriptor("ui", (cr, snapshot) -> record(caller, done, "ui"), null, "api"));
+
+      CompletableFuture<Void> pipeline = new ModulePipeline(registry, Runnable::run).reconcile(null, null);
+
+      // Nothing is left to wait for once reconcile() returns.
+      assertTrue(pipeline.isDone());
+      assertEquals(List.of("auth", "db", "api", "ui"), done);
+   }
+
+   private static void record(Thread caller, List<String> done, String module) {
+      assertSame(caller, Thread.currentThread());
+      done.add(module);
+   }
+
+   private static void await(CyclicBarrier barrier, List<String> done, String module) {
+      try {
+         barrier.await(5, TimeUnit.SECONDS);
+      } catch (Exception e) {
+         throw new IllegalStateException("Modules did not overlap", e);
+      }
+      done.add(module);
+   }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.module;
+
+import io.apicurio.studio.operator.api.ApicurioStudioStatus;
+import io.apicurio.studio.operator.api.ModuleStatus;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ *
+ */
+public class ModuleRegistryTest {
+
+   @Test
+   public void testRegistrationOrder() {
+      List<String> reconciled = new ArrayList<>();
+      ModuleRegistry registry = new ModuleRegistry()
+            .register(new ModuleDescriptor("db", (cr, snapshot) -> reconciled.add("db"), ApicurioStudioStatus::getDatabaseModule))
+            .register(new ModuleDescriptor("pooler", (cr, snapshot) -> reconciled.add("pooler"), null, "db"))
+            .register(new ModuleDescriptor("api", (cr, snapshot) -> reconciled.add("api"), ApicurioStudioStatus::getApiModule, "db"));
+
+      registry.getModules().forEach(module -> module.reconcile(null, null));
+      assertEquals(List.of("db", "pooler", "api"), reconciled);
+      assertEquals(List.of("db", "pooler", "api"),
+            registry.getModules().stream().map(ModuleDescriptor::getName).collect(Collectors.toList()));
+
+      // Targeted reconciliation only touches one module.
+      reconciled.clear();
+      registry.get("api").reconcile(null, null);
+      assertEquals(List.of("api"), reconciled);
+      assertNull(registry.get("unknown"));
+      assertNull(registry.get(null));
+   }
+
+   @Test
+   public void testStatusAccessor() {
+      ApicurioStudioStatus status = new ApicurioStudioStatus();
+      ModuleStatus apiStatus = new ModuleStatus(ApicurioStudioStatus.State.DEPLOYING);
+      status.setApiModule(apiStatus);
+
+      ModuleDescriptor api = new ModuleDescriptor("api", (cr, snapshot) -> {}, ApicurioStudioStatus::getApiModule);
+      ModuleDescriptor pooler = new ModuleDescriptor("pooler", (cr, snapshot) -> {}, null);
+      assertSame(apiStatus, api.getStatus(status));
+      assertNull(api.getStatus(null));
+      assertNull(pooler.getStatus(status));
+   }
+
+   @Test
+   public void testInvalidRegistrations() {
+      ModuleRegistry registry = new ModuleRegistry()
+            .register(new ModuleDescriptor("db", (cr, snapshot) -> {}, null));
+      assertThrows(IllegalStateException.class, () -> registry.register(new ModuleDescriptor("db", (cr, snapshot) -> {}, null)));
+      assertThrows(IllegalStateException.class, () -> registry.register(new ModuleDescriptor("ui", (cr, snapshot) -> {}, null, "api")));
+   }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.reconcile;
+
+import io.apicurio.studio.operator.reconcile.FairReconcileQueue.Item;
+import io.apicurio.studio.operator.reconcile.FairReconcileQueue.Priority;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ *
+ */
+public class FairReconcileQueueTest {
+
+   @Test
+   public void testBusyStudioHoldsASinglePlace() throws Exception {
+      FairReconcileQueue<String> queue = new FairReconcileQueue<>((a, b) -> a + "+" + b, new SimpleMeterRegistry());
+      // A studio receiving a burst of events before others.
+      queue.submit("busy", Priority.UPDATE, "busy-0");
+      queue.submit("cr-0", Priority.UPDATE, "cr-0");
+      for (int i = 1; i < 5; i++) {
+         queue.submit("busy", Priority.UPDATE, "busy-" + i);
+      }
+      queue.submit("cr-1", Priority.UPDATE, "cr-1");
+
+      assertEquals(List.of("busy-0+busy-1+busy-2+busy-3+busy-4", "cr-0", "cr-1"), drain(queue, 3));
+   }
+
+   @Test
+   public void testRepairsComeFirst() throws Exception {
+      FairReconcileQueue<String> queue = new FairReconcileQueue<>((a, b) -> b, new SimpleMeterRegistry());
+      queue.submit("cr-0", Priority.PROVISIONING, "provision-0");
+      queue.submit("cr-1", Priority.UPDATE, "update-1");
+      queue.submit("cr-2", Priority.REPAIR, "repair-2");
+
+      assertEquals(List.of("repair-2", "update-1", "provision-0"), drain(queue, 3));
+   }
+
+   @Test
+   public void testPendingWorkIsDeduplicated() throws Exception {
+      FairReconcileQueue<String> queue = new FairReconcileQueue<>((a, b) -> a + "+" + b, new SimpleMeterRegistry());
+      queue.submit("cr-0", Priority.PROVISIONING, "a");
+      queue.submit("cr-1", Priority.PROVISIONING, "b");
+      queue.submit("cr-0", Priority.REPAIR, "c");
+      assertEquals(2, queue.getPendingCount());
+
+      Item<String> first = queue.take();
+      assertEquals("a+c", first.getWork());
+      assertEquals(Priority.REPAIR, first.getPriority());
+   }
+
+   @Test
+   public void testRunningKeyIsNotHandedOut() throws Exception {
+      FairReconcileQueue<String> queue = new FairReconcileQueue<>((a, b) -> a + "+" + b, new SimpleMeterRegistry());
+      queue.submit("cr-0", Priority.UPDATE, "a");
+      Item<String> running = queue.take();
+
+      // Submitted while running, must wait for the first one to be done.
+      queue.submit("cr-0", Priority.UPDATE, "b");
+      queue.submit("cr-1", Priority.UPDATE, "c");
+      Item<String> next = queue.take();
+      assertEquals("c", next.getWork());
+      queue.done(next.getKey());
+
+      queue.done(running.getKey());
+      Item<String> last = queue.take();
+      assertEquals("b", last.getWork());
+      assertEquals(0, queue.getPendingCount());
+   }
+
+   private static List<String> drain(FairReconcileQueue<String> queue, int count) throws InterruptedException {
+      List<String> works = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+         Item<String> item = queue.take();
+         works.add(item.getWork());
+         queue.done(item.getKey());
+      }
+      return works;
+   }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.reconcile;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ *
+ */
+public class ReconcileExecutorTest {
+
+   @Test
+   public void testSameKeyIsSerialized() throws Exception {
+      ReconcileExecutor executor = new ReconcileExecutor(Executors.newCachedThreadPool(), 8);
+      List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+      AtomicInteger running = new AtomicInteger();
+      AtomicInteger overlaps = new AtomicInteger();
+
+      List<CompletableFuture<Void>> futures = new ArrayList<>();
+      for (int i = 0; i < 20; i++) {
+         final int index = i;
+         futures.add(executor.submit("cr-uid", () -> {
+            if (running.incrementAndGet() > 1) {
+               overlaps.incrementAndGet();
+            }
+            sleep(2);
+            order.add(index);
+            running.decrementAndGet();
+         }));
+      }
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+      assertEquals(0, overlaps.get());
+      for (int i = 0; i < 20; i++) {
+         assertEquals(i, order.get(i));
+      }
+      executor.close();
+   }
+
+   @Test
+   public void testFailureDoesNotBlockKey() throws Exception {
+      ReconcileExecutor executor = new ReconcileExecutor(Executors.newCachedThreadPool(), 2);
+      CompletableFuture<Void> failing = executor.submit("cr-uid", () -> {
+         throw new IllegalStateException("boom");
+      });
+      AtomicInteger runs = new AtomicInteger();
+      executor.submit("cr-uid", runs::incrementAndGet).get(5, TimeUnit.SECONDS);
+
+      assertTrue(failing.isCompletedExceptionally());
+      assertEquals(1, runs.get());
+      executor.close();
+   }
+
+   @Test
+   public void testGlobalConcurrencyIsBounded() throws Exception {
+      ReconcileExecutor executor = new ReconcileExecutor(Executors.newCachedThreadPool(), 4);
+      assertBoundedAndSerialized(executor, 4);
+      executor.close();
+   }
+
+   @Test
+   public void testVirtualThreadsKeepSemantics() throws Exception {
+      ReconcileExecutor executor = ReconcileExecutor.withVirtualThreads(4);
+      assumeTrue(executor != null, "Virtual threads are not supported by this runtime");
+      assertBoundedAndSerialized(executor, 4);
+      executor.close();
+   }
+
+   @Test
+   public void testForkedStagesShareThePermits() throws Exception {
+      ReconcileExecutor executor = new ReconcileExecutor(Executors.newCachedThreadPool(), 2);
+      AtomicInteger running = new AtomicInteger();
+      AtomicInteger maxRunning = new AtomicInteger();
+      Runnable apiCall = () -> {
+         maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+         sleep(10);
+         running.decrementAndGet();
+      };
+
+      // Every task takes a permit then waits for 3 forked stages: all permits end up held by waiting tasks
+      // unless they lend them to their stages.
+      List<CompletableFuture<Void>> futures = new ArrayList<>();
+      for (int key = 0; key < 6; key++) {
+         futures.add(executor.submit("cr-" + key, () -> {
+            apiCall.run();
+            executor.await(CompletableFuture.allOf(
+                  CompletableFuture.runAsync(apiCall, executor.stageExecutor()),
+                  CompletableFuture.runAsync(apiCall, executor.stageExecutor()),
+                  CompletableFuture.runAsync(apiCall, executor.stageExecutor())));
+            apiCall.run();
+         }));
+      }
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+      // Forked stages did not escape the bound, and waiting tasks did not deadlock it.
+      assertTrue(maxRunning.get() <= 2, "At most 2 API calls expected at once, got " + maxRunning.get());
+      executor.close();
+   }
+
+   @Test
+   public void testBoundedConcurrencyBeatsSerialOnSlowApi() throws Exception {
+      long serialMillis = runSlowApiCalls(new ReconcileExecutor(Executors.newCachedThreadPool(), 1));
+      long boundedMillis = runSlowApiCalls(new ReconcileExecutor(Executors.newCachedThreadPool(), 8));
+
+      // 8 permits would ideally be 8 times faster, only ask for a fraction of it to stay stable on busy hosts.
+      assertTrue(serialMillis >= 3 * boundedMillis,
+            "Expected 8 permits to be at least 3x faster than 1, got " + boundedMillis + " ms vs " + serialMillis + " ms");
+   }
+
+   @Test
+   public void testVirtualThreadsBeatSerialOnSlowApi() throws Exception {
+      ReconcileExecutor virtual = ReconcileExecutor.withVirtualThreads(8);
+      assumeTrue(virtual != null, "Virtual threads are not supported by this runtime");
+      long virtualMillis = runSlowApiCalls(virtual);
+      long serialMillis = runSlowApiCalls(new ReconcileExecutor(Executors.newCachedThreadPool(), 1));
+
+      assertTrue(serialMillis >= 3 * virtualMillis,
+            "Expected 8 permits on virtual threads to be at least 3x faster than 1, got " + virtualMillis + " ms vs " + serialMillis + " ms");
+   }
+
+   /** Reconcile 32 studios whose reconciliation blocks 20 ms on the API server, and measure the elapsed time. */
+   private long runSlowApiCalls(ReconcileExecutor executor) throws Exception {
+      long start = System.nanoTime();
+      List<CompletableFuture<Void>> futures = new ArrayList<>();
+      for (int key = 0; key < 32; key++) {
+         futures.add(executor.submit("cr-" + key, () -> sleep(20)));
+      }
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+      executor.close();
+      return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+   }
+
+   /** Run tasks of many keys and check permits are all used but never exceeded, and each key runs in order. */
+   private void assertBoundedAndSerialized(ReconcileExecutor executor, int maxConcurrency) throws Exception {
+      AtomicInteger running = new AtomicInteger();
+      AtomicInteger maxRunning = new AtomicInteger();
+      CountDownLatch saturated = new CountDownLatch(maxConcurrency);
+      Map<String, List<Integer>> orders = new ConcurrentHashMap<>();
+
+      List<CompletableFuture<Void>> futures = new ArrayList<>();
+      for (int i = 0; i < 5; i++) {
+         for (int key = 0; key < 10; key++) {
+            final int index = i;
+            final String uid = "cr-" + key;
+            futures.add(executor.submit(uid, () -> {
+               maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+               saturated.countDown();
+               try {
+                  // Hold permits until all of them are taken so that the bound is actually reached.
+                  saturated.await(5, TimeUnit.SECONDS);
+               } catch (InterruptedException ie) {
+                  Thread.currentThread().interrupt();
+               }
+               orders.computeIfAbsent(uid, k -> Collections.synchronizedList(new ArrayList<>())).add(index);
+               running.decrementAndGet();
+            }));
+         }
+      }
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+      assertEquals(maxConcurrency, maxRunning.get());
+      assertEquals(10, orders.size());
+      orders.values().forEach(order -> assertEquals(List.of(0, 1, 2, 3, 4), order));
+   }
+
+   private static void sleep(long millis) {
+      try {
+         Thread.sleep(millis);
+      } catch (InterruptedException ie) {
+         Thread.currentThread().interrupt();
+      }
+   }
+}
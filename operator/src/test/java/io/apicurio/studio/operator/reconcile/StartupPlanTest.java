@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.reconcile;
+
+import io.apicurio.studio.operator.api.ApicurioStudio;
+import io.apicurio.studio.operator.api.ApicurioStudioStatus;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ *
+ */
+public class StartupPlanTest {
+
+   @Test
+   public void testNotReadyFirst() {
+      List<ApicurioStudio> studios = List.of(studio("ready-1", ApicurioStudioStatus.State.READY, false),
+            studio("deploying", ApicurioStudioStatus.State.DEPLOYING, false),
+            studio("ready-2", ApicurioStudioStatus.State.READY, false),
+            studio("error", ApicurioStudioStatus.State.DEPLOYING, true),
+            studio("new", null, false));
+
+      StartupPlan plan = new StartupPlan(studios, 2, 1000, 60_000, 0);
+
+      // Error and not ready ones are released in 2 batches of 2 and 1.
+      assertEquals(0, plan.getRemainingDelay("error", 0));
+      assertEquals(0, plan.getRemainingDelay("deploying", 0));
+      assertEquals(1000, plan.getRemainingDelay("new", 0));
+      // Ready ones are spread over the window, after them.
+      assertEquals(2000, plan.getRemainingDelay("ready-1", 0));
+      assertEquals(32_000, plan.getRemainingDelay("ready-2", 0));
+      assertEquals(5, plan.getPendingCount());
+   }
+
+   @Test
+   public void testShortWindowKeepsConcurrency() {
+      List<ApicurioStudio> studios = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+         studios.add(studio("ready-" + i, ApicurioStudioStatus.State.READY, false));
+      }
+
+      StartupPlan plan = new StartupPlan(studios, 10, 1000, 0, 0);
+
+      // No more than 10 studios per batch interval even with no window.
+      assertEquals(0, plan.getRemainingDelay("ready-9", 0));
+      assertEquals(1000, plan.getRemainingDelay("ready-10", 0));
+      assertEquals(9000, plan.getRemainingDelay("ready-99", 0));
+   }
+
+   @Test
+   public void testReleaseOnce() {
+      StartupPlan plan = new StartupPlan(List.of(studio("deploying", ApicurioStudioStatus.State.DEPLOYING, false)),
+            10, 1000, 60_000, 0);
+
+      assertTrue(plan.isPlanned("deploying"));
+      assertTrue(plan.release("deploying"));
+      assertFalse(plan.release("deploying"));
+      assertFalse(plan.isPlanned("deploying"));
+      assertEquals(0, plan.getRemainingDelay("deploying", 0));
+   }
+
+   private static ApicurioStudio studio(String uid, ApicurioStudioStatus.State state, boolean error) {
+      ApicurioStudio studio = new ApicurioStudio();
+      studio.setMetadata(new ObjectMetaBuilder().withName(uid).withUid(uid).build());
+      if (state != null) {
+         studio.setStatus(new ApicurioStudioStatus());
+         studio.getStatus().setState(state);
+         studio.getStatus().setError(error);
+      }
+      return studio;
+   }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.resource;
+
+import io.apicurio.studio.operator.api.ApicurioStudioSpec;
+import io.apicurio.studio.operator.api.ApicurioStudioStatus;
+import io.apicurio.studio.operator.api.ModuleSpec;
+import io.fabric8.kubernetes.api.model.PodSpec;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ *
+ */
+public class ApicurioStudioResourcesTest {
+
+   @Test
+   public void testGetDependenciesWithoutPooler() {
+      ApicurioStudioSpec spec = new ApicurioStudioSpec();
+      spec.setName("apicurio-sample");
+
+      assertEquals(List.of("apicurio-sample-db:5432", "apicurio-sample-auth:8080"),
+            ApicurioStudioResources.getDependencies(spec, true));
+      assertEquals(List.of("apicurio-sample-db:5432"), ApicurioStudioResources.getDependencies(spec, false));
+
+      // Database provided outside of operator is not gated.
+      spec.getDatabase().setInstall(false);
+      assertEquals(List.of(), ApicurioStudioResources.getDependencies(spec, false));
+   }
+
+   @Test
+   public void testGetDependenciesWithPooler() {
+      ApicurioStudioSpec spec = new ApicurioStudioSpec();
+      spec.setName("apicurio-sample");
+      spec.getDatabase().getPooler().setEnabled(true);
+
+      // Pooler accepts connections before database is ready, both are waited for.
+      assertEquals(List.of("apicurio-sample-db:5432", "apicurio-sample-db-pooler:5432"),
+            ApicurioStudioResources.getDependencies(spec, false));
+      assertEquals(List.of("apicurio-sample-db:5432", "apicurio-sample-db-pooler:5432", "apicurio-sample-auth:8080"),
+            ApicurioStudioResources.getDependencies(spec, true));
+   }
+
+   @Test
+   public void testWSDrainDelayDefault() {
+      ApicurioStudioSpec spec = new ApicurioStudioSpec();
+      spec.setName("apicurio-sample");
+
+      // WS pods keep serving editing sessions while being removed from endpoints.
+      assertDrainDelay(ApicurioStudioResources.prepareWSDeployment(spec), ApicurioStudioResources.WS_PRE_STOP_DELAY_SECONDS);
+
+      // Default is kept when custom resource overrides the WS module without setting a drain delay.
+      ModuleSpec wsModule = new ModuleSpec("apicurio/apicurio-studio-ws:custom");
+      wsModule.getRollout().setMaxSurge("25%");
+      spec.setWsModule(wsModule);
+      Deployment deployment = ApicurioStudioResources.prepareWSDeployment(spec);
+      assertDrainDelay(deployment, ApicurioStudioResources.WS_PRE_STOP_DELAY_SECONDS);
+      assertEquals("25%", deployment.getSpec().getStrategy().getRollingUpdate().getMaxSurge().getStrVal());
+
+      // An explicit value wins, including disabling the drain.
+      wsModule.getRollout().setPreStopDelaySeconds(30);
+      assertDrainDelay(ApicurioStudioResources.prepareWSDeployment(spec), 30);
+      wsModule.getRollout().setPreStopDelaySeconds(0);
+      PodSpec pod = ApicurioStudioResources.prepareWSDeployment(spec).getSpec().getTemplate().getSpec();
+      assertNull(pod.getContainers().get(0).getLifecycle());
+
+      // Other modules have no drain delay by default.
+      pod = ApicurioStudioResources.prepareAPIDeployment(spec, new ApicurioStudioStatus()).getSpec().getTemplate().getSpec();
+      assertNull(pod.getContainers().get(0).getLifecycle());
+   }
+
+   private static void assertDrainDelay(Deployment deployment, int seconds) {
+      PodSpec pod = deployment.getSpec().getTemplate().getSpec();
+      assertEquals(List.of("sh", "-c", "sleep " + seconds),
+            pod.getContainers().get(0).getLifecycle().getPreStop().getExec().getCommand());
+      assertEquals(seconds + 30L, pod.getTerminationGracePeriodSeconds());
+   }
+}
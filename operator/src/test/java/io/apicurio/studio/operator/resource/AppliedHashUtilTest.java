@@ -0,0 +1,112 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.resource;
+
+import io.apicurio.studio.operator.Constants;
+import io.apicurio.studio.operator.api.ApicurioStudio;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ *
+ */
+public class AppliedHashUtilTest {
+
+   @Test
+   public void testHashIsStable() {
+      Map<String, String> labels = new LinkedHashMap<>();
+      labels.put("app", "apicurio-sample");
+      labels.put("module", "apicurio-studio-api");
+      Map<String, String> reversed = new LinkedHashMap<>();
+      reversed.put("module", "apicurio-studio-api");
+      reversed.put("app", "apicurio-sample");
+
+      // Map ordering must not change the hash.
+      assertEquals(AppliedHashUtil.hash(deployment("api", labels, 1)), AppliedHashUtil.hash(deployment("api", reversed, 1)));
+      assertNotEquals(AppliedHashUtil.hash(deployment("api", labels, 1)), AppliedHashUtil.hash(deployment("api", labels, 2)));
+   }
+
+   @Test
+   public void testFindDiverging() {
+      Deployment api = deployment("api", Map.of("app", "apicurio-sample"), 1);
+      Deployment ws = deployment("ws", Map.of("app", "apicurio-sample"), 1);
+      api.getMetadata().setAnnotations(Map.of(Constants.APPLIED_HASH_ANNOTATION, "abc"));
+      api.getMetadata().setGeneration(2L);
+      ws.getMetadata().setAnnotations(Map.of(Constants.APPLIED_HASH_ANNOTATION, "def"));
+      ws.getMetadata().setGeneration(1L);
+      Map<String, Deployment> live = Map.of("api", api, "ws", ws);
+      Map<String, Long> generations = Map.of("api", 2L, "ws", 1L);
+
+      assertTrue(AppliedHashUtil.findDiverging(Map.of("api", "abc", "ws", "def"), generations, live::get).isEmpty());
+      assertEquals(List.of("ws"), AppliedHashUtil.findDiverging(Map.of("api", "abc", "ws", "xyz"), generations, live::get));
+      // Missing resources are diverging too.
+      assertEquals(List.of("ui"), AppliedHashUtil.findDiverging(Map.of("ui", "abc"), generations, live::get));
+      // Unknown generations cannot tell if resources have been changed.
+      assertEquals(List.of("api"), AppliedHashUtil.findDiverging(Map.of("api", "abc"), null, live::get));
+   }
+
+   @Test
+   public void testOutOfBandEditIsNotApplied() {
+      Deployment api = deployment("api", Map.of("app", "apicurio-sample"), 1);
+      api.getMetadata().setAnnotations(Map.of(Constants.APPLIED_HASH_ANNOTATION, "abc"));
+      api.getMetadata().setGeneration(2L);
+      assertTrue(AppliedHashUtil.isApplied(api, "abc", 2L));
+
+      // Someone edited the pod template, hash annotation is unchanged but generation moved on.
+      api.getMetadata().setGeneration(3L);
+      assertFalse(AppliedHashUtil.isApplied(api, "abc", 2L));
+      assertFalse(AppliedHashUtil.isApplied(null, "abc", 2L));
+   }
+
+   @Test
+   public void testGenerationObserved() {
+      ApicurioStudio studio = new ApicurioStudio();
+      studio.setMetadata(new ObjectMetaBuilder().withName("apicurio-sample").withGeneration(3L).build());
+      assertTrue(AppliedHashUtil.isGenerationObserved(studio, 3L));
+
+      // Spec edited after being provisioned, or provisioned before generation was recorded.
+      assertFalse(AppliedHashUtil.isGenerationObserved(studio, 2L));
+      assertFalse(AppliedHashUtil.isGenerationObserved(studio, null));
+
+      // Without any generation there is nothing to compare with.
+      studio.getMetadata().setGeneration(null);
+      assertTrue(AppliedHashUtil.isGenerationObserved(studio, 2L));
+   }
+
+   private static Deployment deployment(String name, Map<String, String> labels, int replicas) {
+      return new DeploymentBuilder()
+            .withNewMetadata().withName(name).endMetadata()
+            .withNewSpec()
+               .withReplicas(replicas)
+               .withNewTemplate()
+                  .withNewMetadata().withLabels(labels).endMetadata()
+               .endTemplate()
+            .endSpec()
+            .build();
+   }
+}
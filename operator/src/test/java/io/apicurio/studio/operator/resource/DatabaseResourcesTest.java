@@ -17,10 +17,28 @@ package io.apicurio.studio.operator.resource;
 
 import io.apicurio.studio.operator.api.ApicurioStudioSpec;
 import io.apicurio.studio.operator.api.DatabaseSpec;
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.EnvVar;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.VolumeMount;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 /**
  *
@@ -37,4 +55,193 @@ public class DatabaseResourcesTest {
       String connectionUrl = DatabaseResources.getDatabaseConnectionUrl(spec);
       assertEquals("jdbc:postgresql://apicurio-sample-db:5432/apicuriodb", connectionUrl);
    }
+
+   @Test
+   public void testGetDatabaseConnectionUrlWithPooler() {
+      ApicurioStudioSpec spec = new ApicurioStudioSpec();
+      spec.setName("apicurio-sample");
+      spec.setDatabase(new DatabaseSpec());
+      spec.getDatabase().getPooler().setEnabled(true);
+
+      String connectionUrl = DatabaseResources.getDatabaseConnectionUrl(spec);
+      assertEquals("jdbc:postgresql://apicurio-sample-db-pooler:5432/apicuriodb?prepareThreshold=0", connectionUrl);
+
+      // Pool is shared among pooler replicas.
+      spec.getDatabase().getPooler().setReplicas(2);
+      assertEquals(47, DatabaseResources.getDatabasePoolSize(spec));
+      assertEquals(470, DatabaseResources.getDatabasePoolerMaxClientConnections(spec));
+
+      // Pooler is not available for mysql.
+      spec.getDatabase().setDriver(DatabaseResources.MYSQL_TYPE);
+      connectionUrl = DatabaseResources.getDatabaseConnectionUrl(spec);
+      assertEquals("jdbc:mysql://apicurio-sample-db:3306/apicuriodb", connectionUrl);
+   }
+
+   @Test
+   public void testPrepareDatabaseConfigMap() {
+      ApicurioStudioSpec spec = new ApicurioStudioSpec();
+      spec.setName("apicurio-sample");
+      spec.setDatabase(new DatabaseSpec());
+
+      // Default resources are 512Mi and 1 cpu.
+      ConfigMap config = DatabaseResources.prepareDatabaseConfigMap(spec);
+      assertEquals("apicurio-sample-db-config", config.getMetadata().getName());
+      String tuning = config.getData().get(DatabaseResources.POSTGRESQL_TUNING_FILE);
+      assertTrue(tuning.contains("max_connections = 100\n"));
+      assertTrue(tuning.contains("shared_buffers = 128MB\n"));
+      assertTrue(tuning.contains("effective_cache_size = 384MB\n"));
+      assertTrue(tuning.contains("max_wal_size = 256MB\n"));
+      String checksum = ChecksumUtil.checksum(config.getData());
+
+      // Growing memory changes tuning and checksum.
+      spec.getDatabase().getResources().setLimits(Map.of("cpu", new Quantity("2"), "memory", new Quantity("2Gi")));
+      config = DatabaseResources.prepareDatabaseConfigMap(spec);
+      tuning = config.getData().get(DatabaseResources.POSTGRESQL_TUNING_FILE);
+      assertTrue(tuning.contains("max_connections = 400\n"));
+      assertTrue(tuning.contains("shared_buffers = 512MB\n"));
+      assertTrue(tuning.contains("max_worker_processes = 2\n"));
+      assertNotEquals(checksum, ChecksumUtil.checksum(config.getData()));
+
+      // Mysql has its own settings.
+      spec.getDatabase().setDriver(DatabaseResources.MYSQL_TYPE);
+      config = DatabaseResources.prepareDatabaseConfigMap(spec);
+      tuning = config.getData().get(DatabaseResources.MYSQL_TUNING_FILE);
+      assertTrue(tuning.contains("innodb_buffer_pool_size = 1024M\n"));
+      assertTrue(tuning.contains("innodb_log_file_size = 256M\n"));
+   }
+
+   @Test
+   public void testGetDatabaseReadConnectionUrl() {
+      ApicurioStudioSpec spec = new ApicurioStudioSpec();
+      spec.setName("apicurio-sample");
+      spec.setDatabase(new DatabaseSpec());
+
+      // Without replicas, read connections go to primary.
+      assertEquals("jdbc:postgresql://apicurio-sample-db:5432/apicuriodb", DatabaseResources.getDatabaseReadConnectionUrl(spec));
+
+      spec.getDatabase().getReadReplicas().setReplicas(2);
+      assertTrue(DatabaseResources.isReadReplicasEnabled(spec));
+      assertEquals("jdbc:postgresql://apicurio-sample-db-read:5432/apicuriodb", DatabaseResources.getDatabaseReadConnectionUrl(spec));
+      assertEquals("jdbc:postgresql://apicurio-sample-db:5432/apicuriodb", DatabaseResources.getDatabaseConnectionUrl(spec));
+   }
+
+   @Test
+   public void testReplicaReadinessCommand() throws Exception {
+      String command = DatabaseResources.getReplicaReadinessCommand(10);
+      assertTrue(command.contains(DatabaseResources.REPLICATION_LAG_QUERY));
+      assertFalse(command.contains("1/0"));
+
+      // Run the probe against a fake psql printing the lag.
+      assumeTrue(new File("/bin/sh").canExecute(), "A POSIX shell is required");
+      assertEquals(0, runProbe(command, "echo 3"));
+      assertEquals(0, runProbe(command, "echo 10"));
+      assertNotEquals(0, runProbe(command, "echo 30"));
+      // Lag cannot be measured, replica is not ready.
+      assertNotEquals(0, runProbe(command, "exit 2"));
+   }
+
+   @Test
+   public void testPrepareDatabaseWalPVC() {
+      ApicurioStudioSpec spec = new ApicurioStudioSpec();
+      spec.setName("apicurio-sample");
+      spec.setDatabase(new DatabaseSpec());
+      spec.getDatabase().setStorageClassName("fast-ssd");
+      assertFalse(DatabaseResources.isWalVolumeEnabled(spec));
+      assertEquals("fast-ssd", DatabaseResources.prepareDatabasePVC(spec).getSpec().getStorageClassName());
+
+      spec.getDatabase().setWalVolumeSize("2Gi");
+      assertTrue(DatabaseResources.isWalVolumeEnabled(spec));
+      PersistentVolumeClaim wal = DatabaseResources.prepareDatabaseWalPVC(spec);
+      assertEquals("apicurio-sample-db-wal-claim", wal.getMetadata().getName());
+      assertEquals("fast-ssd", wal.getSpec().getStorageClassName());
+      assertEquals(new Quantity("2Gi"), wal.getSpec().getResources().getRequests().get("storage"));
+
+      // Dedicated storage class for WAL overrides the data one.
+      spec.getDatabase().setWalStorageClassName("ultra-ssd");
+      assertEquals("ultra-ssd", DatabaseResources.prepareDatabaseWalPVC(spec).getSpec().getStorageClassName());
+
+      // Pre-start script is only shipped for PostgreSQL.
+      assertTrue(DatabaseResources.prepareDatabaseConfigMap(spec).getData().containsKey(DatabaseResources.POSTGRESQL_WAL_SCRIPT));
+      spec.getDatabase().setDriver(DatabaseResources.MYSQL_TYPE);
+      ConfigMap config = DatabaseResources.prepareDatabaseConfigMap(spec);
+      assertFalse(config.getData().containsKey(DatabaseResources.POSTGRESQL_WAL_SCRIPT));
+      assertTrue(config.getData().get("apicurio-tuning.cnf").contains("innodb_log_group_home_dir"));
+   }
+
+   @Test
+   public void testWithContainerEnv() {
+      Deployment deployment = new DeploymentBuilder()
+            .withNewSpec()
+               .withNewTemplate()
+                  .withNewSpec()
+                     .addNewContainer()
+                        .withName("postgresql")
+                        .addNewEnv().withName("POSTGRESQL_DATABASE").withValue("legacydb").endEnv()
+                        .addNewEnv().withName("TZ").withValue("UTC").endEnv()
+                     .endContainer()
+                  .endSpec()
+               .endTemplate()
+            .endSpec()
+            .build();
+
+      deployment = DatabaseResources.withContainerEnv(deployment, List.of(
+            new EnvVar("POSTGRESQL_DATABASE", "apicuriodb", null),
+            new EnvVar("POSTGRESQL_MASTER_USER", DatabaseResources.REPLICATION_USER, null)));
+      deployment = DatabaseResources.withContainerEnv(deployment, List.of(
+            new EnvVar("POSTGRESQL_MASTER_USER", DatabaseResources.REPLICATION_USER, null)));
+
+      // Existing variables are replaced in place and never declared twice.
+      List<EnvVar> env = deployment.getSpec().getTemplate().getSpec().getContainers().get(0).getEnv();
+      assertEquals(List.of("POSTGRESQL_DATABASE", "TZ", "POSTGRESQL_MASTER_USER"),
+            env.stream().map(EnvVar::getName).collect(Collectors.toList()));
+      assertEquals("apicuriodb", env.get(0).getValue());
+   }
+
+   @Test
+   public void testCompleteDatabaseDeploymentMountsTuning() {
+      ApicurioStudioSpec spec = new ApicurioStudioSpec();
+      spec.setName("apicurio-sample");
+      spec.setDatabase(new DatabaseSpec());
+
+      Deployment deployment = new DeploymentBuilder()
+            .withNewMetadata().withName("apicurio-studio-db").endMetadata()
+            .withNewSpec()
+               .withNewSelector().endSelector()
+               .withNewTemplate()
+                  .withNewMetadata().endMetadata()
+                  .withNewSpec()
+                     .addNewContainer()
+                        .withName("postgresql")
+                        .addNewVolumeMount().withName("postgresql-apicurio").withMountPath("/var/lib/pgsql/data").endVolumeMount()
+                     .endContainer()
+                  .endSpec()
+               .endTemplate()
+            .endSpec()
+            .build();
+
+      deployment = DatabaseResources.completeDatabaseDeployment(deployment, spec, "apicurio-sample-db",
+            DatabaseResources.POSTGRESQL_CONFIG_DIR, DatabaseResources.POSTGRESQL_TUNING_FILE);
+      assertEquals("apicurio-sample-db", deployment.getMetadata().getName());
+
+      // Tuning goes where the Postgresql image reads extending configuration, beside the data mount.
+      List<VolumeMount> mounts = deployment.getSpec().getTemplate().getSpec().getContainers().get(0).getVolumeMounts();
+      assertEquals(2, mounts.size());
+      assertEquals("/var/lib/pgsql/data", mounts.get(0).getMountPath());
+      assertEquals("/opt/app-root/src/postgresql-cfg", mounts.get(1).getMountPath());
+      assertEquals(DatabaseResources.POSTGRESQL_TUNING_FILE,
+            deployment.getSpec().getTemplate().getSpec().getVolumes().get(0).getConfigMap().getItems().get(0).getPath());
+   }
+
+   private static int runProbe(String command, String fakePsql) throws Exception {
+      Path bin = Files.createTempDirectory("psql");
+      Path psql = bin.resolve("psql");
+      Files.writeString(psql, "#!/bin/sh\n" + fakePsql + "\n");
+      psql.toFile().setExecutable(true);
+      ProcessBuilder builder = new ProcessBuilder("/bin/sh", "-c", command).redirectErrorStream(true);
+      builder.environment().put("PATH", bin + File.pathSeparator + System.getenv("PATH"));
+      builder.environment().put("POSTGRESQL_DATABASE", "apicuriodb");
+      Process process = builder.start();
+      process.getInputStream().readAllBytes();
+      return process.waitFor();
+   }
 }
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.resource;
+
+import io.apicurio.studio.operator.api.ApicurioStudioSpec;
+import io.apicurio.studio.operator.api.ApicurioStudioStatus;
+import io.apicurio.studio.operator.api.ProbeSpec;
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.EnvVar;
+import io.fabric8.kubernetes.api.model.PodSpec;
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.client.DefaultKubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClient;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ *
+ */
+public class KeycloakResourcesTest {
+
+   @Test
+   public void testStandaloneDeployment() {
+      ApicurioStudioSpec spec = sampleSpec();
+      assertFalse(KeycloakResources.isHighAvailabilityEnabled(spec));
+
+      Deployment deployment = prepareDeployment(spec);
+      assertEquals(1, deployment.getSpec().getReplicas());
+      assertEquals("Recreate", deployment.getSpec().getStrategy().getType());
+
+      // Embedded H2 data are kept on the Keycloak volume.
+      PodSpec pod = deployment.getSpec().getTemplate().getSpec();
+      assertTrue(pod.getInitContainers().isEmpty());
+      assertEquals("/opt/jboss/keycloak/standalone/data", pod.getContainers().get(0).getVolumeMounts().get(0).getMountPath());
+      assertEquals(KeycloakResources.getKeycloakPVCName(spec), pod.getVolumes().get(0).getPersistentVolumeClaim().getClaimName());
+      assertNull(env(pod.getContainers().get(0), "DB_VENDOR"));
+
+      // Keycloak keeps its longer startup budget even when probes only override other timings.
+      assertEquals(KeycloakResources.KEYCLOAK_STARTUP_FAILURE_THRESHOLD, pod.getContainers().get(0).getStartupProbe().getFailureThreshold());
+      spec.getKeycloak().setProbes(new ProbeSpec());
+      spec.getKeycloak().getProbes().setReadinessPeriodSeconds(7);
+      Container keycloak = prepareDeployment(spec).getSpec().getTemplate().getSpec().getContainers().get(0);
+      assertEquals(KeycloakResources.KEYCLOAK_STARTUP_FAILURE_THRESHOLD, keycloak.getStartupProbe().getFailureThreshold());
+      assertEquals(7, keycloak.getReadinessProbe().getPeriodSeconds());
+   }
+
+   @Test
+   public void testHighAvailabilityRequiresInstalledDatabase() {
+      ApicurioStudioSpec spec = sampleSpec();
+      spec.getKeycloak().getHighAvailability().setEnabled(true);
+      assertTrue(KeycloakResources.isHighAvailabilityEnabled(spec));
+
+      spec.getDatabase().setInstall(false);
+      assertFalse(KeycloakResources.isHighAvailabilityEnabled(spec));
+   }
+
+   @Test
+   public void testHighAvailabilityDeploymentOnPostgresql() {
+      ApicurioStudioSpec spec = sampleSpec();
+      spec.getKeycloak().getHighAvailability().setEnabled(true);
+      spec.getKeycloak().getHighAvailability().setReplicas(3);
+
+      Deployment deployment = prepareDeployment(spec);
+      assertEquals(3, deployment.getSpec().getReplicas());
+      assertEquals("RollingUpdate", deployment.getSpec().getStrategy().getType());
+      assertEquals(0, deployment.getSpec().getStrategy().getRollingUpdate().getMaxUnavailable().getIntVal());
+
+      PodSpec pod = deployment.getSpec().getTemplate().getSpec();
+      assertTrue(pod.getVolumes().isEmpty());
+      Container keycloak = pod.getContainers().get(0);
+      assertTrue(keycloak.getVolumeMounts().isEmpty());
+      assertTrue(keycloak.getPorts().stream().anyMatch(port -> port.getContainerPort() == KeycloakResources.JGROUPS_PORT));
+
+      // Replicas discover each other through the headless ping Service.
+      assertEquals("dns.DNS_PING", env(keycloak, "JGROUPS_DISCOVERY_PROTOCOL").getValue());
+      assertEquals("dns_query=apicurio-sample-auth-ping.$(POD_NAMESPACE).svc.cluster.local",
+            env(keycloak, "JGROUPS_DISCOVERY_PROPERTIES").getValue());
+      assertEquals("metadata.namespace", env(keycloak, "POD_NAMESPACE").getValueFrom().getFieldRef().getFieldPath());
+      assertEquals("2", env(keycloak, "CACHE_OWNERS_COUNT").getValue());
+
+      // Data go to a dedicated schema of the managed database, created before Keycloak starts.
+      assertEquals("postgres", env(keycloak, "DB_VENDOR").getValue());
+      assertEquals(DatabaseResources.getDatabaseDeploymentName(spec), env(keycloak, "DB_ADDR").getValue());
+      assertEquals("5432", env(keycloak, "DB_PORT").getValue());
+      assertEquals("apicuriodb", env(keycloak, "DB_DATABASE").getValue());
+      assertEquals("keycloak", env(keycloak, "DB_SCHEMA").getValue());
+      assertEquals("database-user", env(keycloak, "DB_USER").getValueFrom().getSecretKeyRef().getKey());
+
+      assertEquals(1, pod.getInitContainers().size());
+      Container init = pod.getInitContainers().get(0);
+      assertEquals("create-schema", init.getName());
+      assertTrue(init.getCommand().get(2).contains("CREATE SCHEMA IF NOT EXISTS \"keycloak\""));
+      assertEquals("database-password", env(init, "PGPASSWORD").getValueFrom().getSecretKeyRef().getKey());
+   }
+
+   @Test
+   public void testHighAvailabilityDeploymentOnMysql() {
+      ApicurioStudioSpec spec = sampleSpec();
+      spec.getDatabase().setDriver(DatabaseResources.MYSQL_TYPE);
+      spec.getKeycloak().getHighAvailability().setEnabled(true);
+
+      PodSpec pod = prepareDeployment(spec).getSpec().getTemplate().getSpec();
+      Container keycloak = pod.getContainers().get(0);
+      assertEquals("mysql", env(keycloak, "DB_VENDOR").getValue());
+      assertEquals("3306", env(keycloak, "DB_PORT").getValue());
+      // Mysql has no schemas: Keycloak gets its own database rather than sharing the studio one.
+      assertEquals("keycloak", env(keycloak, "DB_DATABASE").getValue());
+      assertNull(env(keycloak, "DB_SCHEMA"));
+
+      assertEquals(1, pod.getInitContainers().size());
+      Container init = pod.getInitContainers().get(0);
+      assertEquals("create-database", init.getName());
+      assertEquals(KeycloakResources.getMysqlDatabaseInitCommand(DatabaseResources.getDatabaseDeploymentName(spec), "keycloak"),
+            init.getCommand().get(2));
+      assertEquals("database-rootPassword", env(init, "MYSQL_PWD").getValueFrom().getSecretKeyRef().getKey());
+      assertEquals("database-user", env(init, "DB_USER").getValueFrom().getSecretKeyRef().getKey());
+   }
+
+   @Test
+   public void testMysqlDatabaseInitCommand() throws Exception {
+      assumeTrue(new File("/bin/sh").canExecute());
+      String command = KeycloakResources.getMysqlDatabaseInitCommand("apicurio-sample-db", "keycloak");
+
+      // Fake client records the statement it receives and succeeds right away.
+      Path bin = Files.createTempDirectory("mysql");
+      Path out = bin.resolve("statement");
+      Path mysql = bin.resolve("mysql");
+      Files.writeString(mysql, "#!/bin/sh\nprintf '%s' \"$6\" > " + out + "\n");
+      mysql.toFile().setExecutable(true);
+      ProcessBuilder builder = new ProcessBuilder("/bin/sh", "-c", command).redirectErrorStream(true);
+      builder.environment().put("PATH", bin + File.pathSeparator + System.getenv("PATH"));
+      builder.environment().put("DB_USER", "studio");
+      Process process = builder.start();
+      process.getInputStream().readAllBytes();
+      assertEquals(0, process.waitFor());
+
+      assertEquals("CREATE DATABASE IF NOT EXISTS `keycloak`; GRANT ALL PRIVILEGES ON `keycloak`.* TO 'studio'@'%';",
+            Files.readString(out));
+   }
+
+   @Test
+   public void testPingService() {
+      ApicurioStudioSpec spec = sampleSpec();
+      Service service = KeycloakResources.prepareKeycloakPingService(spec);
+
+      assertEquals("apicurio-sample-auth-ping", service.getMetadata().getName());
+      assertEquals("None", service.getSpec().getClusterIP());
+      assertTrue(service.getSpec().getPublishNotReadyAddresses());
+      assertEquals(KeycloakResources.JGROUPS_PORT, service.getSpec().getPorts().get(0).getPort());
+      assertEquals(KeycloakResources.APICURIO_STUDIO_AUTH_MODULE, service.getSpec().getSelector().get("module"));
+      assertEquals("apicurio-sample", service.getSpec().getSelector().get("app"));
+   }
+
+   private static ApicurioStudioSpec sampleSpec() {
+      ApicurioStudioSpec spec = new ApicurioStudioSpec();
+      spec.setName("apicurio-sample");
+      return spec;
+   }
+
+   private static Deployment prepareDeployment(ApicurioStudioSpec spec) {
+      ApicurioStudioStatus status = new ApicurioStudioStatus();
+      status.setStudioUrl("apicurio-sample.example.com");
+      // Loading the Deployment template does not contact any cluster.
+      try (KubernetesClient client = new DefaultKubernetesClient()) {
+         return KeycloakResources.prepareKeycloakDeployment(client, spec, status);
+      }
+   }
+
+   private static EnvVar env(Container container, String name) {
+      List<EnvVar> env = container.getEnv();
+      return env.stream().filter(var -> name.equals(var.getName())).findFirst().orElse(null);
+   }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.resource;
+
+import io.apicurio.studio.operator.api.ProbeSpec;
+import io.fabric8.kubernetes.api.model.HTTPGetAction;
+import io.fabric8.kubernetes.api.model.IntOrString;
+import io.fabric8.kubernetes.api.model.Probe;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ *
+ */
+public class ProbeSpecUtilTest {
+
+   @Test
+   public void testDefaultProbes() {
+      HTTPGetAction action = ProbeSpecUtil.httpGet("/system/ready");
+      assertEquals("/system/ready", action.getPath());
+      assertEquals(new IntOrString(8080), action.getPort());
+      assertEquals("HTTP", action.getScheme());
+
+      // Startup polls often with a large failure budget, others need no initial delay.
+      Probe startup = ProbeSpecUtil.startupProbe(action, null);
+      assertEquals(action, startup.getHttpGet());
+      assertEquals(2, startup.getPeriodSeconds());
+      assertEquals(90, startup.getFailureThreshold());
+      assertEquals(3, startup.getTimeoutSeconds());
+      assertEquals(1, startup.getSuccessThreshold());
+      assertNull(startup.getInitialDelaySeconds());
+
+      Probe readiness = ProbeSpecUtil.readinessProbe(action, null);
+      assertEquals(5, readiness.getPeriodSeconds());
+      assertEquals(3, readiness.getFailureThreshold());
+      assertNull(readiness.getInitialDelaySeconds());
+
+      Probe liveness = ProbeSpecUtil.livenessProbe(action, null);
+      assertEquals(10, liveness.getPeriodSeconds());
+      assertEquals(3, liveness.getFailureThreshold());
+      assertNull(liveness.getInitialDelaySeconds());
+   }
+
+   @Test
+   public void testProbesFromSpec() {
+      ProbeSpec spec = new ProbeSpec();
+      spec.setStartupFailureThreshold(150);
+      spec.setStartupPeriodSeconds(4);
+      spec.setReadinessPeriodSeconds(7);
+      spec.setLivenessPeriodSeconds(20);
+      spec.setTimeoutSeconds(5);
+      spec.setFailureThreshold(6);
+      HTTPGetAction action = ProbeSpecUtil.httpGet("/auth");
+
+      Probe startup = ProbeSpecUtil.startupProbe(action, spec);
+      assertEquals(4, startup.getPeriodSeconds());
+      assertEquals(150, startup.getFailureThreshold());
+      assertEquals(5, startup.getTimeoutSeconds());
+
+      Probe readiness = ProbeSpecUtil.readinessProbe(action, spec);
+      assertEquals(7, readiness.getPeriodSeconds());
+      assertEquals(6, readiness.getFailureThreshold());
+      assertEquals(5, readiness.getTimeoutSeconds());
+
+      Probe liveness = ProbeSpecUtil.livenessProbe(action, spec);
+      assertEquals(20, liveness.getPeriodSeconds());
+      assertEquals(6, liveness.getFailureThreshold());
+      assertEquals("/auth", liveness.getHttpGet().getPath());
+   }
+
+   @Test
+   public void testPartialSpecKeepsDefaults() {
+      // Only overriding readiness period must not reset other timings.
+      ProbeSpec spec = new ProbeSpec();
+      spec.setReadinessPeriodSeconds(7);
+      HTTPGetAction action = ProbeSpecUtil.httpGet("/ready");
+
+      Probe startup = ProbeSpecUtil.startupProbe(action, spec);
+      assertEquals(ProbeSpecUtil.DEFAULT_STARTUP_PERIOD_SECONDS, startup.getPeriodSeconds());
+      assertEquals(ProbeSpecUtil.DEFAULT_STARTUP_FAILURE_THRESHOLD, startup.getFailureThreshold());
+
+      Probe readiness = ProbeSpecUtil.readinessProbe(action, spec);
+      assertEquals(7, readiness.getPeriodSeconds());
+      assertEquals(ProbeSpecUtil.DEFAULT_FAILURE_THRESHOLD, readiness.getFailureThreshold());
+      assertEquals(ProbeSpecUtil.DEFAULT_TIMEOUT_SECONDS, readiness.getTimeoutSeconds());
+
+      Probe liveness = ProbeSpecUtil.livenessProbe(action, spec);
+      assertEquals(ProbeSpecUtil.DEFAULT_LIVENESS_PERIOD_SECONDS, liveness.getPeriodSeconds());
+   }
+
+   @Test
+   public void testModuleStartupDefault() {
+      HTTPGetAction action = ProbeSpecUtil.httpGet("/auth");
+
+      // Keycloak keeps its longer startup budget without probes or with probes not setting it.
+      assertEquals(150, ProbeSpecUtil.startupProbe(action, null, KeycloakResources.KEYCLOAK_STARTUP_FAILURE_THRESHOLD).getFailureThreshold());
+      ProbeSpec spec = new ProbeSpec();
+      spec.setTimeoutSeconds(5);
+      Probe startup = ProbeSpecUtil.startupProbe(action, spec, KeycloakResources.KEYCLOAK_STARTUP_FAILURE_THRESHOLD);
+      assertEquals(150, startup.getFailureThreshold());
+      assertEquals(5, startup.getTimeoutSeconds());
+
+      // An explicit value still wins over the module default.
+      spec.setStartupFailureThreshold(200);
+      assertEquals(200, ProbeSpecUtil.startupProbe(action, spec, KeycloakResources.KEYCLOAK_STARTUP_FAILURE_THRESHOLD).getFailureThreshold());
+   }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.resource;
+
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ *
+ */
+public class SecretPatchUtilTest {
+
+   @Test
+   public void testGeneratedCredentialsAreNotRotated() {
+      Secret existing = existing(Map.of("database-user", "Xy12abCd", "database-password", "generated-pwd"));
+      // Desired Secret comes with freshly generated values on every reconciliation.
+      Secret desired = desired(Map.of("database-user", "Qw98zzTt", "database-password", "other-generated"));
+
+      assertTrue(SecretPatchUtil.getDataPatch(existing, desired, Map.of()).isEmpty());
+   }
+
+   @Test
+   public void testOnlyChangedExplicitOrMissingEntriesArePatched() {
+      Secret existing = existing(Map.of("database-user", "studio", "database-password", "generated-pwd"));
+      Secret desired = desired(Map.of("database-user", "studio", "database-password", "new-pwd",
+            "database-rootPassword", "generated-root"));
+      Map<String, String> explicitData = Map.of("database-user", "studio", "database-password", "new-pwd");
+
+      // User is explicit but unchanged, password is explicit and changed, root password is missing.
+      Map<String, String> patch = SecretPatchUtil.getDataPatch(existing, desired, explicitData);
+      assertEquals(Map.of("database-password", encode("new-pwd"), "database-rootPassword", encode("generated-root")), patch);
+
+      Secret patched = SecretPatchUtil.applyDataPatch(existing, patch);
+      assertEquals(encode("studio"), patched.getData().get("database-user"));
+      assertEquals(encode("new-pwd"), patched.getData().get("database-password"));
+      assertTrue(SecretPatchUtil.getDataPatch(patched, desired, explicitData).isEmpty());
+   }
+
+   @Test
+   public void testChecksumChangesOnlyWithData() {
+      Secret existing = existing(Map.of("database-user", "studio", "database-password", "generated-pwd"));
+      String checksum = SecretPatchUtil.checksum(existing);
+
+      // Metadata changes and no-op patches keep the checksum, so pods are not rolled.
+      Secret relabeled = new SecretBuilder(existing)
+            .editMetadata().withResourceVersion("42").addToLabels("app", "apicurio-sample").endMetadata()
+            .build();
+      assertEquals(checksum, SecretPatchUtil.checksum(relabeled));
+      Map<String, String> noop = SecretPatchUtil.getDataPatch(existing,
+            desired(Map.of("database-user", "other", "database-password", "other")), Map.of());
+      assertEquals(checksum, SecretPatchUtil.checksum(SecretPatchUtil.applyDataPatch(existing, noop)));
+
+      // A changed credential does change it.
+      Map<String, String> patch = SecretPatchUtil.getDataPatch(existing,
+            desired(Map.of("database-user", "studio", "database-password", "new-pwd")), Map.of("database-password", "new-pwd"));
+      assertNotEquals(checksum, SecretPatchUtil.checksum(SecretPatchUtil.applyDataPatch(existing, patch)));
+   }
+
+   private static Secret existing(Map<String, String> values) {
+      SecretBuilder builder = new SecretBuilder().withNewMetadata().withName("apicurio-sample-db-secret").endMetadata();
+      values.forEach((key, value) -> builder.addToData(key, encode(value)));
+      return builder.build();
+   }
+
+   private static Secret desired(Map<String, String> values) {
+      return new SecretBuilder()
+            .withNewMetadata().withName("apicurio-sample-db-secret").endMetadata()
+            .withStringData(values)
+            .build();
+   }
+
+   private static String encode(String value) {
+      return Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+   }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.status;
+
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ *
+ */
+public class DeploymentRolloutTest {
+
+   @Test
+   public void testEvaluate() {
+      // Spec update not yet observed by Deployment controller.
+      Deployment deployment = buildDeployment(2L, 1L, 2, 2, 2, 2, null);
+      assertEquals(DeploymentRollout.Phase.PROGRESSING, DeploymentRollout.evaluate(deployment).getPhase());
+      assertEquals(0, DeploymentRollout.evaluate(deployment).getProgress());
+
+      // One replica updated on two.
+      deployment = buildDeployment(2L, 2L, 2, 3, 1, 2, null);
+      assertEquals(DeploymentRollout.Phase.PROGRESSING, DeploymentRollout.evaluate(deployment).getPhase());
+      assertEquals(50, DeploymentRollout.evaluate(deployment).getProgress());
+
+      // All updated but an old one is still terminating.
+      deployment = buildDeployment(2L, 2L, 2, 3, 2, 2, null);
+      assertEquals(DeploymentRollout.Phase.PROGRESSING, DeploymentRollout.evaluate(deployment).getPhase());
+      assertEquals(99, DeploymentRollout.evaluate(deployment).getProgress());
+
+      // Rollout done.
+      deployment = buildDeployment(2L, 2L, 2, 2, 2, 2, null);
+      assertEquals(DeploymentRollout.Phase.COMPLETE, DeploymentRollout.evaluate(deployment).getPhase());
+      assertEquals(100, DeploymentRollout.evaluate(deployment).getProgress());
+
+      // Stuck rollout.
+      deployment = buildDeployment(2L, 2L, 2, 3, 1, 2, DeploymentRollout.PROGRESS_DEADLINE_EXCEEDED);
+      assertEquals(DeploymentRollout.Phase.FAILED, DeploymentRollout.evaluate(deployment).getPhase());
+   }
+
+   private Deployment buildDeployment(Long generation, Long observedGeneration, int desired, int replicas,
+                                      int updated, int available, String progressingReason) {
+      DeploymentBuilder builder = new DeploymentBuilder()
+            .withNewMetadata().withName("test").withGeneration(generation).endMetadata()
+            .withNewSpec().withReplicas(desired).endSpec()
+            .withNewStatus()
+               .withObservedGeneration(observedGeneration)
+               .withReplicas(replicas)
+               .withUpdatedReplicas(updated)
+               .withAvailableReplicas(available)
+            .endStatus();
+      if (progressingReason != null) {
+         builder.editStatus()
+               .addNewCondition().withType("Progressing").withStatus("False").withReason(progressingReason).endCondition()
+               .endStatus();
+      }
+      return builder.build();
+   }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.status;
+
+import io.fabric8.kubernetes.api.model.Quantity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ *
+ */
+public class MemoryLimitPolicyTest {
+
+   @Test
+   public void testNextLimit() {
+      Quantity max = new Quantity("2Gi");
+      assertEquals(new Quantity("1250", "Mi"), MemoryLimitPolicy.nextLimit(new Quantity("1000Mi"), 25, max));
+      // Rounded up to the mebibyte.
+      assertEquals(new Quantity("2", "Mi"), MemoryLimitPolicy.nextLimit(new Quantity("1Mi"), 10, max));
+      // Bounded by maximum.
+      assertEquals(max, MemoryLimitPolicy.nextLimit(new Quantity("1800Mi"), 25, max));
+      assertNull(MemoryLimitPolicy.nextLimit(new Quantity("2Gi"), 25, max));
+   }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.status;
+
+import io.apicurio.studio.operator.api.ApicurioStudioStatus;
+import io.apicurio.studio.operator.api.ModuleStatus;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ *
+ */
+public class ModuleTransitionsTest {
+
+   @Test
+   public void testPassingCheckPromotesCompleteRollout() {
+      ModuleStatus status = new ModuleStatus(ApicurioStudioStatus.State.DEPLOYING);
+      status.updateLastTransitionTime();
+
+      // Rollout still in progress, checks alone do not make module ready.
+      assertFalse(ModuleTransitions.applyHealthCheck(status, true, 0.0, DeploymentRollout.evaluate(buildDeployment(1))));
+      assertFalse(ModuleTransitions.applyHealthCheck(status, true, 0.0, null));
+      assertEquals(ApicurioStudioStatus.State.DEPLOYING, status.getState());
+
+      // Rollout completed before checks were passing: first passing check promotes module.
+      DeploymentRollout complete = DeploymentRollout.evaluate(buildDeployment(2));
+      assertFalse(ModuleTransitions.applyHealthCheck(status, false, 0.8, complete));
+      assertTrue(ModuleTransitions.applyHealthCheck(status, true, 0.0, complete));
+      assertEquals(ApicurioStudioStatus.State.READY, status.getState());
+      assertFalse(status.isError());
+      assertEquals("2 ready replica(s)", status.getMessage());
+      assertNotNull(status.getTimeToReadySeconds());
+
+      // Already ready, nothing changes.
+      assertFalse(ModuleTransitions.applyHealthCheck(status, true, 0.0, complete));
+   }
+
+   @Test
+   public void testFailingChecksFlipReadyModule() {
+      ModuleStatus status = new ModuleStatus(ApicurioStudioStatus.State.READY);
+
+      assertTrue(ModuleTransitions.applyHealthCheck(status, false, 0.75, null));
+      assertEquals(ApicurioStudioStatus.State.ERROR, status.getState());
+      assertTrue(status.isError());
+      assertEquals("Health checks are failing (75% errors)", status.getMessage());
+      assertTrue(ModuleTransitions.isFailingHealthChecks(status));
+
+      assertTrue(ModuleTransitions.applyHealthCheck(status, true, 0.1, null));
+      assertEquals(ApicurioStudioStatus.State.READY, status.getState());
+      assertFalse(status.isError());
+
+      // Errors not raised by health checks are not cleared by them.
+      status = new ModuleStatus(ApicurioStudioStatus.State.ERROR, true, "Rollout exceeded its progress deadline");
+      assertFalse(ModuleTransitions.applyHealthCheck(status, true, 0.0, null));
+      assertEquals(ApicurioStudioStatus.State.ERROR, status.getState());
+   }
+
+   @Test
+   public void testCrashLoopIsClearedFromRollout() {
+      ModuleStatus status = new ModuleStatus(ApicurioStudioStatus.State.READY);
+
+      assertTrue(ModuleTransitions.applyCrashLoop(status, true, "OOMKilled", null));
+      assertEquals(ApicurioStudioStatus.State.ERROR, status.getState());
+      assertEquals("Containers are crash looping (OOMKilled)", status.getMessage());
+      assertFalse(ModuleTransitions.applyCrashLoop(status, true, "OOMKilled", null));
+
+      // Pods are being replaced, module is deploying again.
+      assertTrue(ModuleTransitions.applyCrashLoop(status, false, "OOMKilled", DeploymentRollout.evaluate(buildDeployment(1))));
+      assertEquals(ApicurioStudioStatus.State.DEPLOYING, status.getState());
+      assertFalse(status.isError());
+
+      // Containers recovered on a complete rollout, module is ready again.
+      status = new ModuleStatus(ApicurioStudioStatus.State.READY);
+      ModuleTransitions.applyCrashLoop(status, true, "Error", null);
+      assertTrue(ModuleTransitions.applyCrashLoop(status, false, "Error", DeploymentRollout.evaluate(buildDeployment(2))));
+      assertEquals(ApicurioStudioStatus.State.READY, status.getState());
+      assertEquals("2 ready replica(s)", status.getMessage());
+
+      // Errors not raised by crash loops are not cleared.
+      status = new ModuleStatus(ApicurioStudioStatus.State.ERROR, true, "Health checks are failing (80% errors)");
+      assertFalse(ModuleTransitions.applyCrashLoop(status, false, null, DeploymentRollout.evaluate(buildDeployment(2))));
+      assertEquals(ApicurioStudioStatus.State.ERROR, status.getState());
+   }
+
+   @Test
+   public void testAppliedModuleFollowsRollout() {
+      // First apply, Deployment is rolling out.
+      ModuleStatus status = ModuleTransitions.applyRollout(null, DeploymentRollout.evaluate(buildDeployment(1)), true);
+      assertEquals(ApicurioStudioStatus.State.DEPLOYING, status.getState());
+      assertEquals("1 of 2 updated replica(s) available", status.getMessage());
+      assertEquals(50, status.getRolloutProgress());
+
+      // Rollout completed but module is not healthy yet.
+      DeploymentRollout complete = DeploymentRollout.evaluate(buildDeployment(2));
+      assertSame(status, ModuleTransitions.applyRollout(status, complete, false));
+      assertEquals(ApicurioStudioStatus.State.DEPLOYING, status.getState());
+
+      assertSame(status, ModuleTransitions.applyRollout(status, complete, true));
+      assertEquals(ApicurioStudioStatus.State.READY, status.getState());
+      assertNotNull(status.getTimeToReadySeconds());
+
+      // Re-applying an unchanged Deployment keeps module ready.
+      String transition = status.getLastTransitionTime();
+      ModuleTransitions.applyRollout(status, complete, true);
+      assertEquals(ApicurioStudioStatus.State.READY, status.getState());
+      assertEquals(transition, status.getLastTransitionTime());
+
+      // A preexisting module now installed starts deploying.
+      status = ModuleTransitions.applyRollout(new ModuleStatus(ApicurioStudioStatus.State.PREEXISTING),
+            DeploymentRollout.evaluate(buildDeployment(1)), true);
+      assertEquals(ApicurioStudioStatus.State.DEPLOYING, status.getState());
+   }
+
+   @Test
+   public void testAppliedModuleKeepsRaisedErrors() {
+      ModuleStatus status = new ModuleStatus(ApicurioStudioStatus.State.ERROR, true, "Containers are crash looping (Error)");
+      assertTrue(ModuleTransitions.isCrashLooping(status));
+      ModuleTransitions.applyRollout(status, DeploymentRollout.evaluate(buildDeployment(2)), true);
+      assertEquals(ApicurioStudioStatus.State.ERROR, status.getState());
+
+      status = new ModuleStatus(ApicurioStudioStatus.State.ERROR, true, "Health checks are failing (80% errors)");
+      ModuleTransitions.applyRollout(status, DeploymentRollout.evaluate(buildDeployment(2)), false);
+      assertEquals(ApicurioStudioStatus.State.ERROR, status.getState());
+   }
+
+   @Test
+   public void testSteadyChecksDoNotChangeStatus() {
+      ModuleStatus status = new ModuleStatus(ApicurioStudioStatus.State.READY);
+      DeploymentRollout complete = DeploymentRollout.evaluate(buildDeployment(2));
+      assertTrue(ModuleTransitions.applyHealthMetrics(status, 40L, 0.0));
+
+      // Healthy checks of a ready module with close metrics are not worth a write.
+      assertFalse(ModuleTransitions.isHealthCheckTransition(status, true, complete));
+      assertFalse(ModuleTransitions.isHealthMetricsChange(status, 35L, 0.05));
+      assertFalse(ModuleTransitions.applyHealthMetrics(status, 35L, 0.05));
+      assertEquals(40L, status.getLatencyMillis());
+      assertEquals(0.0, status.getErrorRate());
+
+      // Doubling latency or crossing a 10% error rate step is.
+      assertTrue(ModuleTransitions.isHealthMetricsChange(status, 80L, 0.0));
+      assertTrue(ModuleTransitions.applyHealthMetrics(status, 80L, 0.0));
+      assertEquals(80L, status.getLatencyMillis());
+      assertTrue(ModuleTransitions.applyHealthMetrics(status, 80L, 0.2));
+      assertEquals(0.2, status.getErrorRate());
+      assertFalse(ModuleTransitions.applyHealthMetrics(status, 100L, 0.25));
+   }
+
+   @Test
+   public void testHealthCheckTransitionMatchesApply() {
+      DeploymentRollout complete = DeploymentRollout.evaluate(buildDeployment(2));
+
+      // Only a flip is a transition: failing ready module, recovering one, or completed rollout.
+      ModuleStatus status = new ModuleStatus(ApicurioStudioStatus.State.READY);
+      assertTrue(ModuleTransitions.isHealthCheckTransition(status, false, complete));
+      assertTrue(ModuleTransitions.applyHealthCheck(status, false, 0.8, complete));
+      assertFalse(ModuleTransitions.isHealthCheckTransition(status, false, complete));
+      assertFalse(ModuleTransitions.applyHealthCheck(status, false, 0.9, complete));
+      assertTrue(ModuleTransitions.isHealthCheckTransition(status, true, complete));
+      assertTrue(ModuleTransitions.applyHealthCheck(status, true, 0.0, complete));
+      assertEquals(ApicurioStudioStatus.State.READY, status.getState());
+
+      status = new ModuleStatus(ApicurioStudioStatus.State.DEPLOYING);
+      assertFalse(ModuleTransitions.isHealthCheckTransition(status, true, null));
+      assertTrue(ModuleTransitions.isHealthCheckTransition(status, true, complete));
+      assertFalse(ModuleTransitions.isHealthCheckTransition(status, false, complete));
+   }
+
+   private Deployment buildDeployment(int available) {
+      return new DeploymentBuilder()
+            .withNewMetadata().withName("apicurio-sample-api").withGeneration(1L).endMetadata()
+            .withNewSpec().withReplicas(2).endSpec()
+            .withNewStatus()
+               .withObservedGeneration(1L)
+               .withReplicas(2)
+               .withUpdatedReplicas(2)
+               .withAvailableReplicas(available)
+            .endStatus()
+            .build();
+   }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.status;
+
+import io.apicurio.studio.operator.api.ApicurioStudioStatus;
+import io.apicurio.studio.operator.api.ModuleStatus;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ *
+ */
+public class StatusWriterTest {
+
+   private final ObjectMapper mapper = new ObjectMapper();
+
+   @Test
+   public void testMergePatchOnlyHoldsChanges() throws Exception {
+      JsonNode source = mapper.readTree("{\"state\":\"DEPLOYING\",\"apiUrl\":\"api.example.com\","
+            + "\"apiModule\":{\"state\":\"DEPLOYING\",\"rolloutProgress\":50}}");
+      JsonNode target = mapper.readTree("{\"state\":\"DEPLOYING\",\"apiUrl\":\"api.example.com\","
+            + "\"apiModule\":{\"state\":\"READY\",\"rolloutProgress\":100}}");
+
+      JsonNode patch = StatusWriter.mergePatch(source, target);
+      assertEquals(mapper.readTree("{\"apiModule\":{\"state\":\"READY\",\"rolloutProgress\":100}}"), patch);
+   }
+
+   @Test
+   public void testMergePatchRemovedFields() throws Exception {
+      JsonNode source = mapper.readTree("{\"state\":\"DEPLOYING\",\"databaseReplicaModule\":{\"state\":\"READY\"}}");
+      JsonNode target = mapper.readTree("{\"state\":\"DEPLOYING\"}");
+
+      JsonNode patch = StatusWriter.mergePatch(source, target);
+      assertTrue(patch.get("databaseReplicaModule").isNull());
+      assertFalse(patch.has("state"));
+   }
+
+   @Test
+   public void testMergePatchNoChange() throws Exception {
+      ApicurioStudioStatus status = new ApicurioStudioStatus();
+      status.setApiModule(new ModuleStatus(ApicurioStudioStatus.State.READY));
+
+      assertNull(StatusWriter.mergePatch(mapper.valueToTree(status), mapper.valueToTree(status)));
+      assertNull(StatusWriter.mergePatch(NullNode.getInstance(), NullNode.getInstance()));
+   }
+
+   @Test
+   public void testMergePatchFromNothing() throws Exception {
+      JsonNode target = mapper.readTree("{\"state\":\"DEPLOYING\"}");
+      assertSame(target, StatusWriter.mergePatch(NullNode.getInstance(), target));
+   }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.watcher;
+
+import io.apicurio.studio.operator.Constants;
+import io.fabric8.kubernetes.api.model.ContainerStatusBuilder;
+import io.fabric8.kubernetes.api.model.EnvVar;
+import io.fabric8.kubernetes.api.model.FieldsV1Builder;
+import io.fabric8.kubernetes.api.model.ManagedFieldsEntryBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import io.fabric8.kubernetes.client.utils.Serialization;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ *
+ */
+public class CachePrunerTest {
+
+   private static final List<String> MODULES = List.of("apicurio-studio-api", "apicurio-studio-ws",
+         "apicurio-studio-ui", "apicurio-studio-auth", "apicurio-studio-db");
+
+   @Test
+   public void testPruneDeploymentKeepsWhatIsRead() {
+      Deployment pruned = CachePruner.pruneDeployment(deployment("apicurio-sample", "apicurio-studio-api"));
+
+      assertEquals("apicurio-sample-api", pruned.getMetadata().getName());
+      assertEquals("apicurio-studio-api", pruned.getMetadata().getLabels().get("module"));
+      assertEquals("apicurio-sample", pruned.getMetadata().getOwnerReferences().get(0).getName());
+      assertEquals("abc", pruned.getMetadata().getAnnotations().get(Constants.APPLIED_HASH_ANNOTATION));
+      assertEquals(2, pruned.getSpec().getReplicas());
+      assertEquals(2, pruned.getStatus().getReadyReplicas());
+      assertEquals(3L, pruned.getMetadata().getGeneration());
+      // What the operator never reads is dropped.
+      assertTrue(pruned.getMetadata().getManagedFields() == null || pruned.getMetadata().getManagedFields().isEmpty());
+      assertEquals(1, pruned.getMetadata().getAnnotations().size());
+      assertNull(pruned.getSpec().getTemplate());
+   }
+
+   @Test
+   public void testPrunePodKeepsSummary() {
+      Pod pod = pod("apicurio-sample", "apicurio-studio-api", 0);
+      Pod pruned = CachePruner.prunePod(pod);
+
+      assertEquals(PodSummary.of(pod), PodSummary.of(pruned));
+      assertEquals("apicurio-sample-uid", pruned.getMetadata().getAnnotations().get(Constants.OWNER_UID_ANNOTATION));
+      assertEquals(1, pruned.getMetadata().getAnnotations().size());
+      assertEquals(new Quantity("800Mi"), pruned.getSpec().getContainers().get(0).getResources().getLimits().get("memory"));
+      assertNull(pruned.getStatus().getPodIP());
+      assertTrue(pruned.getMetadata().getManagedFields() == null || pruned.getMetadata().getManagedFields().isEmpty());
+      assertTrue(pruned.getSpec().getContainers().get(0).getEnv() == null
+            || pruned.getSpec().getContainers().get(0).getEnv().isEmpty());
+   }
+
+   @Test
+   public void testPruningShrinksCacheOfThousandStudios() {
+      // Serialized size of cached resources, as a stable proxy of the heap they retain.
+      long unprunedBytes = 0;
+      long prunedBytes = 0;
+      for (int i = 0; i < 1000; i++) {
+         String studio = "apicurio-sample-" + i;
+         for (String module : MODULES) {
+            Deployment deployment = deployment(studio, module);
+            Pod pod = pod(studio, module, i % 3);
+            unprunedBytes += serializedSize(deployment) + serializedSize(pod);
+            prunedBytes += serializedSize(CachePruner.pruneDeployment(deployment)) + serializedSize(CachePruner.prunePod(pod));
+         }
+      }
+
+      assertTrue(prunedBytes * 4 < unprunedBytes,
+            "Pruned cache should be at least 4 times smaller, got " + prunedBytes + " bytes vs " + unprunedBytes + " bytes");
+   }
+
+   private static long serializedSize(Object resource) {
+      return Serialization.asJson(resource).getBytes(StandardCharsets.UTF_8).length;
+   }
+
+   private static Deployment deployment(String studio, String module) {
+      String name = studio + module.substring("apicurio-studio".length());
+      return new DeploymentBuilder()
+            .withNewMetadata()
+               .withName(name)
+               .withNamespace("apicurio")
+               .withUid(name + "-uid")
+               .withResourceVersion("12345")
+               .withGeneration(3L)
+               .addToLabels("app", studio)
+               .addToLabels("module", module)
+               .addToLabels(Constants.MANAGED_BY_LABEL, Constants.OPERATOR_ID)
+               .addToAnnotations(Constants.APPLIED_HASH_ANNOTATION, "abc")
+               .addToAnnotations("deployment.kubernetes.io/revision", "3")
+               .addToAnnotations("kubectl.kubernetes.io/last-applied-configuration", "{\"apiVersion\":\"apps/v1\",\"kind\":\"Deployment\"}")
+               .addNewOwnerReference().withName(studio).withUid(studio + "-uid").withKind("ApicurioStudio").endOwnerReference()
+               .withManagedFields(new ManagedFieldsEntryBuilder()
+                     .withManager("kube-controller-manager")
+                     .withOperation("Update")
+                     .withFieldsType("FieldsV1")
+                     .withFieldsV1(new FieldsV1Builder().withAdditionalProperties(fields(40)).build())
+                     .build())
+            .endMetadata()
+            .withNewSpec()
+               .withReplicas(2)
+               .withNewSelector().addToMatchLabels("app", studio).addToMatchLabels("module", module).endSelector()
+               .withNewTemplate()
+                  .withNewMetadata()
+                     .addToLabels("app", studio)
+                     .addToLabels("module", module)
+                     .addToAnnotations(Constants.OWNER_UID_ANNOTATION, studio + "-uid")
+                  .endMetadata()
+                  .withNewSpec()
+                     .addNewContainer()
+                        .withName(module)
+                        .withImage("quay.io/apicurio/" + module + ":latest-release")
+                        .withEnv(env(20))
+                        .withNewResources()
+                           .addToLimits("memory", new Quantity("800Mi"))
+                           .addToRequests("memory", new Quantity("600Mi"))
+                        .endResources()
+                        .withNewReadinessProbe().withNewHttpGet().withPath("/system/ready").endHttpGet().endReadinessProbe()
+                        .withNewLivenessProbe().withNewHttpGet().withPath("/system/ready").endHttpGet().endLivenessProbe()
+                     .endContainer()
+                  .endSpec()
+               .endTemplate()
+            .endSpec()
+            .withNewStatus()
+               .withReplicas(2)
+               .withReadyReplicas(2)
+               .withAvailableReplicas(2)
+               .withUpdatedReplicas(2)
+               .withObservedGeneration(3L)
+            .endStatus()
+            .build();
+   }
+
+   private static Pod pod(String studio, String module, int restarts) {
+      String name = studio + module.substring("apicurio-studio".length()) + "-97666ccdf-vqfb8";
+      return new PodBuilder()
+            .withNewMetadata()
+               .withName(name)
+               .withNamespace("apicurio")
+               .withUid(name + "-uid")
+               .withResourceVersion("12345")
+               .addToLabels("app", studio)
+               .addToLabels("module", module)
+               .addToLabels(Constants.MANAGED_BY_LABEL, Constants.OPERATOR_ID)
+               .addToAnnotations(Constants.OWNER_UID_ANNOTATION, studio + "-uid")
+               .addToAnnotations(Constants.SECRET_CHECKSUM_ANNOTATION, "def")
+               .withManagedFields(new ManagedFieldsEntryBuilder()
+                     .withManager("kubelet")
+                     .withOperation("Update")
+                     .withFieldsType("FieldsV1")
+                     .withFieldsV1(new FieldsV1Builder().withAdditionalProperties(fields(40)).build())
+                     .build())
+            .endMetadata()
+            .withNewSpec()
+               .addNewContainer()
+                  .withName(module)
+                  .withImage("quay.io/apicurio/" + module + ":latest-release")
+                  .withEnv(env(20))
+                  .withNewResources().addToLimits("memory", new Quantity("800Mi")).endResources()
+               .endContainer()
+            .endSpec()
+            .withNewStatus()
+               .withPhase("Running")
+               .withPodIP("10.0.0.1")
+               .withContainerStatuses(new ContainerStatusBuilder()
+                     .withName(module)
+                     .withRestartCount(restarts)
+                     .withReady(true)
+                     .withNewState().withNewRunning().withStartedAt("2021-06-01T00:00:00Z").endRunning().endState()
+                     .build())
+            .endStatus()
+            .build();
+   }
+
+   private static List<EnvVar> env(int count) {
+      List<EnvVar> env = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+         env.add(new EnvVar("APICURIO_ENV_VARIABLE_" + i, "some-value-for-variable-" + i, null));
+      }
+      return env;
+   }
+
+   private static Map<String, Object> fields(int count) {
+      Map<String, Object> fields = new HashMap<>();
+      for (int i = 0; i < count; i++) {
+         fields.put("f:spec.template.spec.containers.k:{\"name\":\"container\"}.f:env.k:{\"name\":\"VAR_" + i + "\"}", Map.of());
+      }
+      return fields;
+   }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.apicurio.studio.operator.watcher;
+
+import io.fabric8.kubernetes.api.model.KubernetesResourceList;
+import io.fabric8.kubernetes.api.model.ListOptions;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import io.fabric8.kubernetes.api.model.apps.DeploymentList;
+import io.fabric8.kubernetes.api.model.apps.DeploymentListBuilder;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.WatcherException;
+import io.fabric8.kubernetes.client.dsl.FilterWatchListDeletable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ *
+ */
+public class ResumableWatchEventSourceTest {
+
+   @Test
+   public void testResumeFromLastResourceVersion() {
+      TestEventSource source = new TestEventSource();
+      try {
+         source.lists.add(list("10", deployment("api", "5")));
+         source.startWatch();
+         assertEquals(List.of("ADDED api"), source.events);
+         assertEquals(List.of("10"), source.watchedVersions);
+
+         source.eventReceived(Watcher.Action.MODIFIED, deployment("api", "12"));
+         assertEquals(List.of("ADDED api", "MODIFIED api"), source.events);
+
+         // Connection lost: watch is resumed from the last seen version, without listing again.
+         source.onClose(new WatcherException("Connection reset"));
+         assertEquals(List.of(ResumableWatchEventSource.MIN_BACKOFF_MILLIS), source.delays);
+         source.runScheduled();
+         assertEquals(List.of("10", "12"), source.watchedVersions);
+         assertTrue(source.watches.get(0).closed);
+         assertTrue(source.lists.isEmpty());
+         assertEquals(2, source.events.size());
+      } finally {
+         source.close();
+      }
+   }
+
+   @Test
+   public void testBackoffOnErrors() {
+      TestEventSource source = new TestEventSource();
+      try {
+         source.lists.add(list("10"));
+         source.startWatch();
+
+         // Each failed attempt doubles the delay before the next one.
+         source.watchFailures.add(new KubernetesClientException("Unavailable", 503, null));
+         source.watchFailures.add(new KubernetesClientException("Unavailable", 503, null));
+         source.onClose(new WatcherException("Connection reset"));
+         source.runScheduled();
+         source.runScheduled();
+         source.runScheduled();
+         assertEquals(List.of(500L, 1000L, 2000L), source.delays);
+         assertEquals(List.of("10", "10"), source.watchedVersions);
+
+         // A received event means the watch is healthy again, backoff restarts from its minimum.
+         source.eventReceived(Watcher.Action.ADDED, deployment("api", "11"));
+         source.onClose(new WatcherException("Connection reset"));
+         assertEquals(ResumableWatchEventSource.MIN_BACKOFF_MILLIS, source.delays.get(3));
+
+         // Delay is bounded however long the API server is unreachable.
+         for (int i = 0; i < 12; i++) {
+            source.watchFailures.add(new KubernetesClientException("Unavailable", 503, null));
+            source.runScheduled();
+         }
+         assertEquals(ResumableWatchEventSource.MAX_BACKOFF_MILLIS, source.delays.get(source.delays.size() - 1));
+      } finally {
+         source.close();
+      }
+   }
+
+   @Test
+   public void testRelistAfterGone() {
+      TestEventSource source = new TestEventSource();
+      try {
+         source.lists.add(list("10", deployment("api", "5")));
+         source.startWatch();
+
+         // Resource version is too old to resume from, list again right away and watch from the new one.
+         source.lists.add(list("42", deployment("api", "5")));
+         source.onClose(new WatcherException("Gone", new KubernetesClientException("Gone", 410, null)));
+         assertEquals(List.of(0L), source.delays);
+         source.runScheduled();
+         assertEquals(List.of("10", "42"), source.watchedVersions);
+
+         // Same when resuming a lost connection finds the version gone.
+         source.onClose(new WatcherException("Connection reset"));
+         source.watchFailures.add(new KubernetesClientException("Gone", 410, null));
+         source.lists.add(list("50", deployment("api", "5")));
+         source.runScheduled();
+         source.runScheduled();
+         assertEquals(List.of("10", "42", "50"), source.watchedVersions);
+         assertEquals(List.of("ADDED api"), source.events);
+      } finally {
+         source.close();
+      }
+   }
+
+   @Test
+   public void testSynthesizedEventsAfterRelist() {
+      TestEventSource source = new TestEventSource();
+      try {
+         source.lists.add(list("10", deployment("api", "1"), deployment("ws", "1"), deployment("ui", "1")));
+         source.startWatch();
+         source.events.clear();
+
+         // While disconnected, ws has been modified, ui deleted and db created.
+         source.lists.add(list("20", deployment("api", "1"), deployment("ws", "3"), deployment("db", "2")));
+         source.onClose(new WatcherException("Gone", new KubernetesClientException("Gone", 410, null)));
+         source.runScheduled();
+
+         assertEquals(3, source.events.size());
+         assertEquals(Set.of("MODIFIED ws", "DELETED ui", "ADDED db"), new HashSet<>(source.events));
+         assertEquals("3", source.getKnownResource("ws").getMetadata().getResourceVersion());
+         assertEquals("2", source.getKnownResource("db").getMetadata().getResourceVersion());
+         assertNull(source.getKnownResource("ui"));
+      } finally {
+         source.close();
+      }
+   }
+
+   @Test
+   public void testUnchangedResourcesAreCachedWithoutEvent() {
+      // Only the name is read here: new versions are cached but not worth an event.
+      TestEventSource source = new TestEventSource() {
+         @Override
+         protected boolean isChanged(Deployment previous, Deployment resource) {
+            return false;
+         }
+      };
+      try {
+         source.lists.add(list("10", deployment("api", "1")));
+         source.startWatch();
+         source.eventReceived(Watcher.Action.MODIFIED, deployment("api", "2"));
+         assertEquals(List.of("ADDED api"), source.events);
+         assertEquals("2", source.getKnownResource("api").getMetadata().getResourceVersion());
+
+         source.eventReceived(Watcher.Action.DELETED, deployment("api", "3"));
+         assertEquals(List.of("ADDED api", "DELETED api"), source.events);
+         assertNull(source.getKnownResource("api"));
+      } finally {
+         source.close();
+      }
+   }
+
+   private static Deployment deployment(String name, String resourceVersion) {
+      return new DeploymentBuilder()
+            .withNewMetadata().withName(name).withResourceVersion(resourceVersion).endMetadata()
+            .build();
+   }
+
+   private static DeploymentList list(String resourceVersion, Deployment... items) {
+      return new DeploymentListBuilder()
+            .withNewMetadata().withResourceVersion(resourceVersion).endMetadata()
+            .withItems(items)
+            .build();
+   }
+
+   /** Event source with a mocked API server and a manually driven scheduler. */
+   private static class TestEventSource extends ResumableWatchEventSource<Deployment> {
+
+      final Deque<DeploymentList> lists = new ArrayDeque<>();
+      final Deque<KubernetesClientException> watchFailures = new ArrayDeque<>();
+      final List<String> watchedVersions = new ArrayList<>();
+      final List<FakeWatch> watches = new ArrayList<>();
+      final List<Long> delays = new ArrayList<>();
+      final Deque<Runnable> tasks = new ArrayDeque<>();
+      final List<String> events = new ArrayList<>();
+
+      TestEventSource() {
+         super("Deployment", new SimpleMeterRegistry());
+      }
+
+      void runScheduled() {
+         tasks.poll().run();
+      }
+
+      @Override
+      protected FilterWatchListDeletable<Deployment, ? extends KubernetesResourceList<Deployment>> resources() {
+         throw new UnsupportedOperationException("API server is mocked");
+      }
+
+      @Override
+      protected KubernetesResourceList<Deployment> list() {
+         return lists.poll();
+      }
+
+      @Override
+      protected Watch watch(ListOptions options) {
+         if (!watchFailures.isEmpty()) {
+            throw watchFailures.poll();
+         }
+         watchedVersions.add(options.getResourceVersion());
+         FakeWatch watch = new FakeWatch();
+         watches.add(watch);
+         return watch;
+      }
+
+      @Override
+      protected void schedule(Runnable task, long delayMillis) {
+         delays.add(delayMillis);
+         tasks.add(task);
+      }
+
+      @Override
+      protected void handleEvent(Action action, Deployment resource) {
+         events.add(action + " " + resource.getMetadata().getName());
+      }
+   }
+
+   private static class FakeWatch implements Watch {
+
+      boolean closed = false;
+
+      @Override
+      public void close() {
+         closed = true;
+      }
+   }
+}